@@ -2,8 +2,12 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.4.4"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
+// ships with the Boot plugin but has no marker on the plugin portal, so it is applied by id
+apply(plugin = "org.springframework.boot.aot")
+
 group = "com.bright"
 version = "0.0.1-SNAPSHOT"
 
@@ -13,10 +17,30 @@ java {
 	}
 }
 
+// The reactive stack (WebFlux on R2DBC, the "reactive" profile) is its own source set, so the servlet
+// application neither ships nor scans it. It publishes no EmployeeChangedEvent: the cache, department
+// counts, search index and change feed that consume those events only exist in the servlet stack.
+val reactive: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+val reactiveTest: SourceSet by sourceSets.creating {
+	compileClasspath += reactive.output + sourceSets.main.get().output
+	runtimeClasspath += reactive.output + sourceSets.main.get().output
+}
+
 configurations {
 	compileOnly {
 		extendsFrom(configurations.annotationProcessor.get())
 	}
+	named("reactiveImplementation") { extendsFrom(configurations.implementation.get()) }
+	named("reactiveRuntimeOnly") { extendsFrom(configurations.runtimeOnly.get()) }
+	named("reactiveCompileOnly") { extendsFrom(configurations.compileOnly.get()) }
+	named("reactiveAnnotationProcessor") { extendsFrom(configurations.annotationProcessor.get()) }
+	named("reactiveTestImplementation") { extendsFrom(configurations["reactiveImplementation"], configurations.testImplementation.get()) }
+	named("reactiveTestRuntimeOnly") { extendsFrom(configurations["reactiveRuntimeOnly"], configurations.testRuntimeOnly.get()) }
+	named("jmhImplementation") { extendsFrom(configurations["reactiveImplementation"]) }
+	named("jmhRuntimeOnly") { extendsFrom(configurations["reactiveRuntimeOnly"]) }
 }
 
 repositories {
@@ -24,14 +48,26 @@ repositories {
 }
 
 dependencies {
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-aop")
+	implementation("org.springframework.boot:spring-boot-starter-cache")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+	implementation("org.hibernate.orm:hibernate-micrometer")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	compileOnly("org.projectlombok:lombok")
 	runtimeOnly("com.h2database:h2")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	"reactiveImplementation"("org.springframework.boot:spring-boot-starter-data-r2dbc")
+	"reactiveImplementation"("org.springframework.boot:spring-boot-starter-webflux")
+	"reactiveRuntimeOnly"("io.r2dbc:r2dbc-h2")
+	"jmhImplementation"(reactive.output)
 }
 
 tasks.withType<Test> {
@@ -42,3 +78,123 @@ tasks.withType<Test> {
 	}
 }
 
+val reactiveTestTask = tasks.register<Test>("reactiveTest") {
+	group = "verification"
+	description = "Runs the tests of the reactive source set."
+	testClassesDirs = reactiveTest.output.classesDirs
+	classpath = reactiveTest.runtimeClasspath
+	shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+	dependsOn(reactiveTestTask)
+}
+
+tasks.register<JavaExec>("bootRunReactive") {
+	group = "application"
+	description = "Runs the application on the reactive stack (WebFlux on R2DBC)."
+	classpath = reactive.runtimeClasspath
+	mainClass = "com.bright.ems.EmsApplication"
+	args("--spring.profiles.active=reactive")
+}
+
+
+// The plugin's jmhJar flattens every META-INF/spring.factories into one, which breaks
+// Spring Boot auto-configuration, so benchmarks run from the unpacked jmh classpath instead.
+tasks.register<JavaExec>("benchmark") {
+	group = "benchmark"
+	description = "Runs the JMH benchmarks and writes build/reports/jmh/results.json. Pass JMH options with -PbenchmarkArgs=\"<regex> -p rows=1000\"."
+	dependsOn("jmhCompileGeneratedClasses")
+	classpath = files(
+		layout.buildDirectory.dir("jmh-generated-classes"),
+		layout.buildDirectory.dir("jmh-generated-resources")
+	) + sourceSets["jmh"].runtimeClasspath
+	mainClass = "org.openjdk.jmh.Main"
+	val results = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+	doFirst { results.parentFile.mkdirs() }
+	args = listOf("-rf", "json", "-rff", results.absolutePath) +
+			(findProperty("benchmarkArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList())
+}
+
+tasks.register<JavaExec>("loadTest") {
+	group = "benchmark"
+	description = "Compares latency percentiles of the platform-thread and virtual-thread modes. Pass options with -PloadTestArgs=\"--clients=5000 --requests=20\"."
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "com.bright.ems.benchmark.EmployeeLoadTest"
+	args = findProperty("loadTestArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+tasks.register<JavaExec>("rebalanceShards") {
+	group = "application"
+	description = "Moves employees to the shard the consistent-hash ring assigns them after the shard count changes. Pass options with -PrebalanceArgs=\"--shards=<url>,<url> --shard-count=2\"."
+	classpath = sourceSets["main"].runtimeClasspath
+	mainClass = "com.bright.ems.shard.ShardRebalancerTool"
+	args = findProperty("rebalanceArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+tasks.register<JavaExec>("firstRequestProbe") {
+	group = "benchmark"
+	description = "Measures how long a freshly started application takes to serve fast requests, per profile. Pass options with -PprobeArgs=\"--profiles=default,prod --rows=2000\"."
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "com.bright.ems.benchmark.FirstRequestProbe"
+	args = findProperty("probeArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+// Cold-start builds. bootJar already carries the AOT-generated context (processAot); it is only used
+// when the JVM runs with -Dspring.aot.enabled=true, and then the profiles and @Conditional outcomes are
+// the ones processAot saw, so pass -PaotProfiles=prod to build for a profile other than the default.
+findProperty("aotProfiles")?.let { profiles ->
+	tasks.named<JavaExec>("processAot") { args("--spring.profiles.active=$profiles") }
+}
+
+// Generated bean definitions use raw types we cannot change; javac's hidden -XDsuppressNotes drops the
+// "unchecked or unsafe operations" note they would print on every bootJar build.
+tasks.withType<JavaCompile>().matching { it.name.startsWith("compileAot") }.configureEach {
+	options.compilerArgs.add("-XDsuppressNotes")
+}
+
+// The plugin also generates and compiles an AOT context for every test class and puts it on the test
+// classpath, although tests only use it under -Dspring.aot.enabled=true. Generating it refreshes every test
+// context once more before `test` runs, so it is opt-in: pass -PaotTests to build it.
+if (!hasProperty("aotTests")) {
+	tasks.named("processTestAot") { enabled = false }
+	tasks.named("compileAotTestJava") { enabled = false }
+	tasks.named("processAotTestResources") { enabled = false }
+}
+
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val cdsJar = cdsDirectory.map { it.file("${project.name}-${project.version}.jar") }
+val cdsJava = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(21) }.map { it.executablePath.asFile.absolutePath }
+
+tasks.register<Exec>("extractBootJar") {
+	group = "build"
+	description = "Extracts the boot jar into build/cds, the jar-plus-lib layout a CDS archive can map."
+	dependsOn(tasks.bootJar)
+	inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+	outputs.dir(cdsDirectory)
+	doFirst { delete(cdsDirectory) }
+	executable(cdsJava.get())
+	args("-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath, "extract", "--destination", cdsDirectory.get().asFile.absolutePath)
+}
+
+tasks.register<Exec>("cdsArchive") {
+	group = "build"
+	description = "Training run: starts the extracted jar with AOT enabled until the context is refreshed and dumps the loaded classes to build/cds/application.jsa."
+	dependsOn("extractBootJar")
+	outputs.file(cdsDirectory.map { it.file("application.jsa") })
+	workingDir(cdsDirectory)
+	executable(cdsJava.get())
+	args("-XX:ArchiveClassesAtExit=application.jsa", "-Dspring.context.exit=onRefresh", "-Dspring.aot.enabled=true", "-jar", cdsJar.get().asFile.name)
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+	group = "benchmark"
+	description = "Compares time-to-ready and RSS of the fat jar, extracted jar, AOT and AOT plus CDS. Pass options with -PstartupArgs=\"--runs=10\"."
+	dependsOn("cdsArchive")
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "com.bright.ems.benchmark.StartupBenchmark"
+	args = listOf(
+		"--boot-jar=" + tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+		"--extracted-jar=" + cdsJar.get().asFile.absolutePath
+	) + (findProperty("startupArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList())
+}
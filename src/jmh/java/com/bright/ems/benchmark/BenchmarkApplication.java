@@ -0,0 +1,39 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.EmsApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+/**
+ * Boots the application on a random port so benchmarks can drive the
+ * service and repository beans against the in-memory H2 database.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    // properties are passed as command-line arguments so they override application.properties
+    static ConfigurableApplicationContext start(String... properties) {
+        String[] defaults = {
+                "logging.level.root=WARN",
+                "spring.jpa.show-sql=false",
+                "spring.main.banner-mode=off",
+                "server.port=0",
+                // the reactive source set puts R2DBC on this classpath, and its connection factory would
+                // stand in for the DataSource; the reactive profile overrides this with its own excludes
+                "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration"
+        };
+        return new SpringApplicationBuilder(EmsApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .properties(defaults)
+                .run(Stream.of(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code POST /api/v1/employees/batch} (one set-based duplicate check and
+ * JDBC-batched inserts) against the same rows created one {@code createEmployee} at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmployeeBatchCreateBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private List<EmployeeRequestDto> employeeRequestDtos;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeRequestDtos = EmployeeSeeder.requests(0, size);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearEmployees() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeBatchResultDto> batchCreate() {
+        return employeeService.createEmployees(employeeRequestDtos);
+    }
+
+    @Benchmark
+    public void singleCreates(Blackhole blackhole) {
+        for (EmployeeRequestDto employeeRequestDto : employeeRequestDtos) {
+            blackhole.consume(employeeService.createEmployee(employeeRequestDto));
+        }
+    }
+}
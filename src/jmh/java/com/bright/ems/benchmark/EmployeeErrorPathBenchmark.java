@@ -0,0 +1,83 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request throughput of the employee endpoints when 90% of the traffic is rejected: out of
+ * every ten requests one reads an existing employee and the rest are unknown-email reads,
+ * duplicate creates and invalid payloads, in equal parts. Run with {@code -prof gc} to see the
+ * allocation per request as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 25, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class EmployeeErrorPathBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest[] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        EmployeeSeeder.seed(context.getBean(EmployeeService.class), ROWS);
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/employees";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        List<HttpRequest> mix = new ArrayList<>();
+        mix.add(HttpRequest.newBuilder(URI.create(baseUrl + "/" + EmployeeSeeder.email(1))).GET().build());
+        for (int i = 0; i < 3; i++) {
+            mix.add(HttpRequest.newBuilder(URI.create(baseUrl + "/unknown" + i + "@ems.com")).GET().build());
+            mix.add(post(baseUrl, "{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\"" + EmployeeSeeder.email(i) + "\",\"departmentCode\":\"D1\"}"));
+            mix.add(post(baseUrl, "{\"firstName\":\"\",\"lastName\":\"\",\"email\":\"not-an-email\",\"departmentCode\":\"D1\"}"));
+        }
+        requests = mix.toArray(HttpRequest[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int mixedRequest() throws IOException, InterruptedException {
+        HttpRequest request = requests[next];
+        next = (next + 1) % requests.length;
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
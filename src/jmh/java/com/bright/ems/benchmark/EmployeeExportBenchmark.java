@@ -0,0 +1,64 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.service.EmployeeExportService;
+import com.bright.ems.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to export the whole table by number of parallel range scans. On a machine with N cores
+ * the time should fall until {@code parallelism} reaches N (or the connection pool size).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmployeeExportBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"CSV", "NDJSON"})
+    private EmployeeExportService.Format format;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeExportService employeeExportService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("ems.export.parallelism=" + parallelism);
+        employeeExportService = context.getBean(EmployeeExportService.class);
+        EmployeeSeeder.seed(context.getBean(EmployeeService.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void export() throws IOException {
+        employeeExportService.export(format, OutputStream.nullOutputStream());
+    }
+}
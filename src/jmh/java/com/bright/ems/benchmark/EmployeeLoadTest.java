@@ -0,0 +1,135 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.service.EmployeeService;
+import com.bright.ems.service.ReactiveEmployeeService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop load test: {@code clients} concurrent clients each issue {@code requests}
+ * keyset-page reads against each profile in turn: the default platform-thread Tomcat,
+ * {@code virtual} (virtual threads plus the database bulkhead) and {@code reactive}
+ * (WebFlux on Netty with R2DBC).
+ * <p>
+ * {@code gradle loadTest -PloadTestArgs="--clients=5000 --requests=20 --rows=10000 --profiles=default,virtual,reactive"}
+ * <p>
+ * {@code --properties=ems.rate-limit.enabled=true,...} is passed to every run, e.g. to compare the
+ * latency of admitted requests with and without load shedding; rejected requests count as errors.
+ */
+public final class EmployeeLoadTest {
+
+    private EmployeeLoadTest() {
+    }
+
+    record Result(String profile, int clients, long requests, long errors, double seconds, long p50, long p99, long max) {
+        @Override
+        public String toString() {
+            return String.format("%-10s clients=%-6d requests=%-8d errors=%-6d throughput=%8.1f req/s  p50=%6.1f ms  p99=%7.1f ms  max=%7.1f ms",
+                    profile, clients, requests, errors, requests / seconds, p50 / 1e6, p99 / 1e6, max / 1e6);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "5000"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20"));
+        int rows = Integer.parseInt(options.getOrDefault("rows", "10000"));
+        String[] properties = options.containsKey("properties") ? options.get("properties").split(",") : new String[0];
+        List<Result> results = new ArrayList<>();
+        for (String profile : options.getOrDefault("profiles", "default,virtual,reactive").split(",")) {
+            results.add(run(profile, clients, requests, rows, properties));
+        }
+        results.forEach(System.out::println);
+    }
+
+    static Result run(String profile, int clients, int requests, int rows, String... properties) throws Exception {
+        String[] startProperties = Stream.concat(Stream.of("spring.profiles.active=" + profile), Stream.of(properties)).toArray(String[]::new);
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(startProperties)) {
+            if ("reactive".equals(profile)) {
+                EmployeeSeeder.seed(context.getBean(ReactiveEmployeeService.class), rows);
+            } else {
+                EmployeeSeeder.seed(context.getBean(EmployeeService.class), rows);
+            }
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/employees?limit=20&after=";
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            drive(httpClient, baseUrl, Math.min(clients, 100), 5, rows);
+            return measure(profile, httpClient, baseUrl, clients, requests, rows);
+        }
+    }
+
+    private static Result measure(String profile, HttpClient httpClient, String baseUrl, int clients, int requests, int rows) throws Exception {
+        long started = System.nanoTime();
+        List<long[]> latencies = drive(httpClient, baseUrl, clients, requests, rows);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).filter(latency -> latency >= 0).sorted().toArray();
+        long errors = (long) clients * requests - all.length;
+        return new Result(profile, clients, (long) clients * requests, errors, seconds,
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    // a failed request is recorded as -1 so it is counted as an error rather than a latency
+    private static List<long[]> drive(HttpClient httpClient, String baseUrl, int clients, int requests, int rows) throws Exception {
+        AtomicLong failures = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[requests];
+                    for (int i = 0; i < requests; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ThreadLocalRandom.current().nextInt(rows))).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[i] = response.statusCode() == 200 ? System.nanoTime() - start : -1;
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                            latencies[i] = -1;
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        List<long[]> latencies = new ArrayList<>(clients);
+        for (Future<long[]> future : futures) {
+            latencies.add(future.get());
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.model.Employee;
+import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data-size scaling of the case-insensitive finders. {@code indexed*} go through the
+ * normalized, indexed columns; {@code scan*} run the {@code upper(col) = upper(?)}
+ * predicate the derived IgnoreCase queries used to generate. The indexed variants should
+ * stay flat as {@code rows} grows while the scans grow linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmployeeLookupScalingBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        EmployeeSeeder.seed(context.getBean(EmployeeService.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> indexedFirstNameLookup() {
+        return employeeRepository.findByFirstNameIgnoreCase(randomFirstName().toUpperCase());
+    }
+
+    @Benchmark
+    public List<Employee> indexedDepartmentLookup() {
+        return employeeRepository.findByDepartmentCodeIgnoreCase("d7");
+    }
+
+    @Benchmark
+    public List<Employee> scanFirstNameLookup() {
+        List<Employee> employees = entityManager.createQuery("select e from employees e where upper(e.firstName) = upper(:firstName)", Employee.class)
+                .setParameter("firstName", randomFirstName())
+                .getResultList();
+        entityManager.clear();
+        return employees;
+    }
+
+    private String randomFirstName() {
+        return "First" + ThreadLocalRandom.current().nextInt(rows);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.service.EmployeeService;
+import com.bright.ems.service.ReactiveEmployeeService;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fills the database through the batch create path with predictable rows:
+ * {@code employee<i>@ems.com}, {@code First<i>}, {@code Last<i>} and 20 departments.
+ */
+final class EmployeeSeeder {
+
+    static final int DEPARTMENTS = 20;
+    private static final int CHUNK_SIZE = 10_000;
+
+    private EmployeeSeeder() {
+    }
+
+    static void seed(EmployeeService employeeService, int rows) {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            employeeService.createEmployees(requests(from, Math.min(from + CHUNK_SIZE, rows)));
+        }
+    }
+
+    static void seed(ReactiveEmployeeService employeeService, int rows) {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            employeeService.createEmployees(requests(from, Math.min(from + CHUNK_SIZE, rows))).blockLast();
+        }
+    }
+
+    static List<EmployeeRequestDto> requests(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(EmployeeSeeder::request)
+                .toList();
+    }
+
+    static EmployeeRequestDto request(int i) {
+        return new EmployeeRequestDto("First" + i, "Last" + i, email(i), "D" + (i % DEPARTMENTS));
+    }
+
+    static String email(int i) {
+        return "employee" + i + "@ems.com";
+    }
+}
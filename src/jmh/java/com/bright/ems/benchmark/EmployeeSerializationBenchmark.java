@@ -0,0 +1,82 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of the {@code GET /api/v1/employees} payload with the same
+ * builder defaults Spring Boot applies to its {@link ObjectMapper}, for each format the
+ * endpoint negotiates, with and without the gzip the server applies above its size threshold.
+ * The payload size of each combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeResponseDto> employeeResponseDtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        employeeResponseDtos = IntStream.range(0, size)
+                .mapToObj(i -> new EmployeeResponseDto("First" + i, "Last" + i, "D" + (i % EmployeeSeeder.DEPARTMENTS)))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportPayloadSize() throws IOException {
+        System.out.printf("%n%s x %d: %d bytes, %d bytes gzipped%n", format, size, serializeList().length, serializeListGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return objectMapper.writeValueAsBytes(employeeResponseDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeListGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, employeeResponseDtos);
+        }
+        return bytes.toByteArray();
+    }
+}
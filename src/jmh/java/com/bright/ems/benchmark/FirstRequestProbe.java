@@ -0,0 +1,187 @@
+package com.bright.ems.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Time-to-first-fast-request: starts the application in a fresh JVM per profile, seeds it over
+ * plain JDBC (so no request path is warmed by the seeding) and then issues a sequential mix of
+ * email lookups, first-name and department searches and PATCHes, reporting how slow the first
+ * requests are and how long it takes until {@code window} consecutive requests all finish under
+ * {@code threshold-ms}.
+ * <p>
+ * {@code gradle firstRequestProbe -PprobeArgs="--profiles=default,prod --rows=2000 --requests=400"}
+ */
+public final class FirstRequestProbe {
+
+    private static final String READY = "READY ";
+
+    private FirstRequestProbe() {
+    }
+
+    record Result(String profile, long startupMillis, long[] latencies, int fastAfter, long fastAfterMillis) {
+        @Override
+        public String toString() {
+            long[] firstRound = Arrays.copyOf(latencies, 4);
+            long[] first20 = Arrays.copyOf(latencies, Math.min(20, latencies.length));
+            long[] last100 = Arrays.copyOfRange(latencies, Math.max(0, latencies.length - 100), latencies.length);
+            Arrays.sort(first20);
+            Arrays.sort(last100);
+            return String.format("%-8s startup=%6d ms  first email/department/firstName/patch=%6.1f/%6.1f/%6.1f/%6.1f ms  p50(first 20)=%5.1f ms  p50(last 100)=%5.1f ms  fast after %s",
+                    profile, startupMillis, firstRound[0] / 1e6, firstRound[1] / 1e6, firstRound[2] / 1e6, firstRound[3] / 1e6,
+                    first20[first20.length / 2] / 1e6, last100[last100.length / 2] / 1e6,
+                    fastAfter < 0 ? "never" : fastAfter + " requests (" + fastAfterMillis + " ms after ready)");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int rows = Integer.parseInt(options.getOrDefault("rows", "2000"));
+        if (options.containsKey("serve")) {
+            serve(options.get("serve"), rows);
+            return;
+        }
+        int requests = Integer.parseInt(options.getOrDefault("requests", "400"));
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.getOrDefault("threshold-ms", "5")));
+        int window = Integer.parseInt(options.getOrDefault("window", "20"));
+        warmUpClient();
+        List<Result> results = new ArrayList<>();
+        for (String profile : options.getOrDefault("profiles", "default,prod").split(",")) {
+            results.add(probe(profile, rows, requests, thresholdNanos, window));
+        }
+        results.forEach(System.out::println);
+    }
+
+    static Result probe(String profile, int rows, int requests, long thresholdNanos, int window) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), FirstRequestProbe.class.getName(), "--serve=" + profile, "--rows=" + rows)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + awaitPort(process) + "/api/v1/employees";
+            long ready = System.nanoTime();
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            long[] latencies = new long[requests];
+            long[] finishedAt = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                HttpRequest request = request(baseUrl, i, rows);
+                long start = System.nanoTime();
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                finishedAt[i] = System.nanoTime();
+                latencies[i] = finishedAt[i] - start;
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+                }
+            }
+            int fastAfter = -1;
+            for (int i = 0, fastRun = 0; i < requests && fastAfter < 0; i++) {
+                fastRun = latencies[i] < thresholdNanos ? fastRun + 1 : 0;
+                if (fastRun == window) {
+                    fastAfter = i + 1 - window;
+                }
+            }
+            long fastAfterMillis = fastAfter < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(finishedAt[fastAfter] - latencies[fastAfter] - ready);
+            return new Result(profile, TimeUnit.NANOSECONDS.toMillis(ready - launched), latencies, fastAfter, fastAfterMillis);
+        } finally {
+            process.getOutputStream().close();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // the same four request kinds in turn, each on an employee the previous ones have not touched
+    private static HttpRequest request(String baseUrl, int i, int rows) {
+        int employee = i % rows;
+        return switch (i % 4) {
+            case 0 -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + EmployeeSeeder.email(employee))).GET().build();
+            case 1 -> HttpRequest.newBuilder(URI.create(baseUrl + "?departmentCode=D" + (i / 4 % EmployeeSeeder.DEPARTMENTS))).GET().build();
+            case 2 -> HttpRequest.newBuilder(URI.create(baseUrl + "?firstName=First" + employee)).GET().build();
+            default -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + EmployeeSeeder.email(employee)))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"departmentCode\":\"D" + (i % EmployeeSeeder.DEPARTMENTS) + "\"}"))
+                    .build();
+        };
+    }
+
+    // the probe's own HttpClient starts cold too; warm it against a trivial local server so only the application's warm-up is measured
+    private static void warmUpClient() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/api/v1/employees";
+            for (int i = 0; i < 2000; i++) {
+                httpClient.send(request(baseUrl, i, 100), HttpResponse.BodyHandlers.discarding());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static int awaitPort(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(READY)) {
+                return Integer.parseInt(line.substring(READY.length()).trim());
+            }
+        }
+        throw new IllegalStateException("Application exited before it was ready, exit code " + process.onExit().join().exitValue());
+    }
+
+    // child side: boot, seed, report the port, and stay up until the parent closes stdin
+    private static void serve(String profile, int rows) throws IOException {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start("spring.profiles.active=" + profile)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(javax.sql.DataSource.class));
+            jdbcTemplate.batchUpdate(
+                    "insert into employees (id, first_name, last_name, email, department_code, normalized_first_name, normalized_last_name, normalized_department_code, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                    IntStream.range(0, rows).mapToObj(i -> new Object[]{
+                            i + 1L, "First" + i, "Last" + i, EmployeeSeeder.email(i), "D" + (i % EmployeeSeeder.DEPARTMENTS),
+                            "first" + i, "last" + i, "d" + (i % EmployeeSeeder.DEPARTMENTS)
+                    }).toList());
+            // keep Hibernate's pooled id allocation clear of the seeded ids
+            jdbcTemplate.execute("alter sequence employees_seq restart with " + (rows + 100));
+            System.out.println(READY + context.getEnvironment().getProperty("local.server.port"));
+            System.out.flush();
+            while (System.in.read() != -1) {
+                // wait for the parent to close stdin
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read latency of the off-heap service against the JPA one over the same rows. Point reads pick
+ * random emails, so the JPA side mostly misses its email cache and goes to H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class OffHeapEmployeeServiceBenchmark {
+
+    @Param({"jpa", "off-heap"})
+    private String backend;
+
+    @Param({"200000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        context = BenchmarkApplication.start(
+                "ems.off-heap.enabled=" + backend.equals("off-heap"),
+                "ems.off-heap.snapshot-file=" + Files.createTempDirectory("ems-off-heap").resolve("employees.snapshot"));
+        employeeService = context.getBean(EmployeeService.class);
+        EmployeeSeeder.seed(employeeService, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<EmployeeResponseDto> pointRead() {
+        return employeeService.findByEmail(EmployeeSeeder.email(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> firstNameQuery() {
+        return employeeService.findByFirstName("first" + ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> departmentQuery() {
+        return employeeService.findByDepartmentCode("D" + ThreadLocalRandom.current().nextInt(EmployeeSeeder.DEPARTMENTS));
+    }
+}
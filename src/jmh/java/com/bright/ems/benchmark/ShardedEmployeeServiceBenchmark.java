@@ -0,0 +1,86 @@
+package com.bright.ems.benchmark;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the sharded service as {@code shards} grows, with 8 threads issuing point reads,
+ * versionless partial updates and a department query that gathers from every shard. Each shard
+ * is its own in-memory H2 database, so the shards share this machine's CPUs: what scales here
+ * is the per-database contention and index size, not hardware.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ShardedEmployeeServiceBenchmark {
+
+    @Param({"1", "2", "4"})
+    private int shards;
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        String database = UUID.randomUUID().toString();
+        List<String> properties = new ArrayList<>(List.of("ems.sharding.enabled=true"));
+        for (int i = 0; i < shards; i++) {
+            properties.add("ems.sharding.shards[" + i + "].url=jdbc:h2:mem:" + database + "-" + i + ";DB_CLOSE_DELAY=-1");
+            properties.add("ems.sharding.shards[" + i + "].username=sa");
+        }
+        context = BenchmarkApplication.start(properties.toArray(String[]::new));
+        employeeService = context.getBean(EmployeeService.class);
+        EmployeeSeeder.seed(employeeService, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<EmployeeResponseDto> pointRead() {
+        return employeeService.findByEmail(EmployeeSeeder.email(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public Optional<EmployeeResponseDto> pointWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return employeeService.updateEmployeePartially(EmployeeSeeder.email(random.nextInt(rows)), new EmployeePatchDto(null, null, "D" + random.nextInt(EmployeeSeeder.DEPARTMENTS)));
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> departmentQuery() {
+        return employeeService.findByDepartmentCode("D" + ThreadLocalRandom.current().nextInt(EmployeeSeeder.DEPARTMENTS));
+    }
+}
@@ -0,0 +1,138 @@
+package com.bright.ems.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start comparison of the packaging variants built by {@code extractBootJar} and
+ * {@code cdsArchive}: the fat jar, the extracted jar, the extracted jar with the AOT-generated
+ * context, and that plus the CDS archive. Each run starts a fresh JVM and reports the time from
+ * launch until {@code /actuator/health} answers 200, and the process RSS at that point (Linux only).
+ * Variants are interleaved so background noise spreads evenly; the median over all runs is reported.
+ * <p>
+ * {@code gradle startupBenchmark -PstartupArgs="--runs=5"}
+ */
+public final class StartupBenchmark {
+
+    private StartupBenchmark() {
+    }
+
+    record Sample(long readyMillis, long rssKilobytes) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Path bootJar = Path.of(options.get("boot-jar"));
+        Path extractedJar = Path.of(options.get("extracted-jar"));
+        // every JVM runs in the extracted directory: CDS only maps the archive when the jar is
+        // named exactly as in the training run, which used the bare file name
+        Path workingDirectory = extractedJar.toAbsolutePath().getParent();
+        String jar = extractedJar.getFileName().toString();
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("jar", List.of("-jar", bootJar.toAbsolutePath().toString()));
+        variants.put("extracted", List.of("-jar", jar));
+        variants.put("extracted+aot", List.of("-Dspring.aot.enabled=true", "-jar", jar));
+        variants.put("extracted+aot+cds", List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true", "-jar", jar));
+
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        variants.keySet().forEach(variant -> samples.put(variant, new ArrayList<>()));
+        for (int run = 0; run < runs; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                samples.get(variant.getKey()).add(start(workingDirectory, variant.getValue()));
+            }
+        }
+        samples.forEach((variant, variantSamples) -> System.out.printf("%-18s ready=%6d ms  rss=%7d KB  (median of %d)%n",
+                variant, median(variantSamples.stream().mapToLong(Sample::readyMillis)), median(variantSamples.stream().mapToLong(Sample::rssKilobytes)), variantSamples.size()));
+    }
+
+    static Sample start(Path workingDirectory, List<String> launchArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(launchArgs);
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).GET().build();
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(5);
+            }
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+            return new Sample(readyMillis, rssKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long rssKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(LongStream values) {
+        long[] sorted = values.sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
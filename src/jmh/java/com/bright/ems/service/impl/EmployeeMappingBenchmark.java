@@ -0,0 +1,51 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of {@link EmployeeServiceImpl#mapToResponse(Employee)} over the list sizes the list endpoint returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmployeeMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private EmployeeServiceImpl employeeService;
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        // mapping touches none of the collaborators
+        employeeService = new EmployeeServiceImpl(null, null, null);
+        employees = IntStream.range(0, size)
+                .mapToObj(i -> new Employee("First" + i, "Last" + i, "employee" + i + "@ems.com", "D" + (i % 20)))
+                .toList();
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> mapToResponse() {
+        return employees.stream().map(employeeService::mapToResponse).toList();
+    }
+}
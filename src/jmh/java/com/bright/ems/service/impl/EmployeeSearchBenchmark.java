@@ -0,0 +1,64 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Type-ahead latency of {@link EmployeeSearchServiceImpl#search(String, int)} for the default
+ * top-10, with the index filled directly instead of through the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmployeeSearchBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    private EmployeeSearchServiceImpl employeeSearchService;
+
+    @Setup
+    public void setUp() {
+        employeeSearchService = new EmployeeSearchServiceImpl(null);
+        IntStream.range(0, rows).parallel()
+                .mapToObj(i -> new EmployeeSummaryDto("employee" + i + "@ems.com", "First" + i, "Last" + i, "D" + (i % 20)))
+                .forEach(employeeSearchService::index);
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDto> oneLetter() {
+        return employeeSearchService.search("f", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDto> narrowPrefix() {
+        return employeeSearchService.search("first12345", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDto> twoWords() {
+        return employeeSearchService.search("first9 last99", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDto> noMatch() {
+        return employeeSearchService.search("zz", 10);
+    }
+}
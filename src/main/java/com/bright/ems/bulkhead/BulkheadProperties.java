@@ -0,0 +1,13 @@
+package com.bright.ems.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("ems.bulkhead")
+public record BulkheadProperties(
+        boolean enabled,
+        int maxConcurrentCalls,
+        Duration maxWait
+) {
+}
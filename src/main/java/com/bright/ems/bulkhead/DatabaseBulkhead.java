@@ -0,0 +1,56 @@
+package com.bright.ems.bulkhead;
+
+import com.bright.ems.exception.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many callers may hold a database connection at once. With virtual threads the
+ * servlet container no longer limits concurrency, so without this every request would queue
+ * inside Hikari until its connection timeout instead of being turned away quickly.
+ */
+public class DatabaseBulkhead {
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws Throwable;
+    }
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+
+    public DatabaseBulkhead(int maxConcurrentCalls, Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWait = maxWait;
+    }
+
+    public <T> T execute(Call<T> call) throws Throwable {
+        acquire();
+        try {
+            return call.call();
+        } finally {
+            release();
+        }
+    }
+
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new BulkheadFullException("Database is saturated, no connection available within " + maxWait.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Interrupted while waiting for a database connection");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,87 @@
+package com.bright.ems.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Caffeine cache that drops a put when its key was evicted after the caller missed. Without the
+ * check a reader that loaded a row just before a concurrent write committed and evicted would put
+ * the old row back, where it stays until it expires.
+ *
+ * <p>Evictions bump a generation per key stripe; a miss remembers the generation it saw and the
+ * put that follows on the same thread only stores the value if it is unchanged. Keys sharing a
+ * stripe can drop a put they did not have to, never keep one they should not.
+ */
+public class GenerationCheckedCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+    public GenerationCheckedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, generations.get(stripe(key))));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        if (miss == null || !miss.key().equals(key)) {
+            super.put(key, value);
+            return;
+        }
+        lastMiss.remove();
+        Object storeValue = toStoreValue(value);
+        // compared under the entry's lock, so an eviction either sees the value or fails the check
+        getNativeCache().asMap().compute(key, (k, current) ->
+                generations.get(stripe(k)) == miss.generation() ? storeValue : current);
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generations.incrementAndGet(stripe(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        advanceAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        advanceAll();
+        return super.invalidate();
+    }
+
+    private void advanceAll() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private record Miss(Object key, long generation) {
+    }
+}
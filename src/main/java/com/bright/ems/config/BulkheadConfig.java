@@ -0,0 +1,48 @@
+package com.bright.ems.config;
+
+import com.bright.ems.bulkhead.BulkheadDataSource;
+import com.bright.ems.bulkhead.BulkheadProperties;
+import com.bright.ems.bulkhead.DatabaseBulkhead;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(name = "ems.bulkhead.enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    @Bean
+    public DatabaseBulkhead databaseBulkhead(BulkheadProperties bulkheadProperties) {
+        return new DatabaseBulkhead(bulkheadProperties.maxConcurrentCalls(), bulkheadProperties.maxWait());
+    }
+
+    // wraps the application data source itself, so every path to the database takes a permit with
+    // its connection; the replica configuration wraps each of its pools and is left alone
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<DatabaseBulkhead> databaseBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource) || isBehindBulkhead(dataSource)) {
+                    return bean;
+                }
+                return new BulkheadDataSource(dataSource, databaseBulkhead.getObject());
+            }
+        };
+    }
+
+    private static boolean isBehindBulkhead(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(BulkheadDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bright.ems.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+// sharding, off-heap and write-behind each put their own primary EmployeeService in front of the
+// API, and write-behind applies its patches through the JPA service, so at most one may be on
+@Configuration
+@Profile("!reactive")
+public class EmployeeBackendConfig {
+
+    static final List<String> EXCLUSIVE_MODES = List.of("ems.sharding.enabled", "ems.off-heap.enabled", "ems.write-behind.enabled");
+
+    // a static post-processor runs before any bean is resolved, so the conflict is reported instead of an ambiguous primary
+    @Bean
+    static BeanFactoryPostProcessor exclusiveEmployeeBackendModes(Environment environment) {
+        return beanFactory -> {
+            List<String> enabled = EXCLUSIVE_MODES.stream()
+                    .filter(mode -> environment.getProperty(mode, Boolean.class, false))
+                    .toList();
+            if (enabled.size() > 1) {
+                throw new IllegalStateException(String.join(" and ", enabled) + " cannot be combined; each replaces the EmployeeService the API uses, so enable at most one of " + EXCLUSIVE_MODES);
+            }
+        };
+    }
+}
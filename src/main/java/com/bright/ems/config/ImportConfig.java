@@ -0,0 +1,20 @@
+package com.bright.ems.config;
+
+import com.bright.ems.importer.ImportCheckpointStore;
+import com.bright.ems.importer.ImportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportConfig {
+
+    @Bean
+    public ImportCheckpointStore importCheckpointStore(ImportProperties importProperties, ObjectMapper objectMapper) {
+        return new ImportCheckpointStore(importProperties.checkpointDirectory(), objectMapper);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bright.ems.config;
+
+import com.bright.ems.metrics.RepositoryRowsAspect;
+import com.bright.ems.metrics.StatementCounter;
+import com.bright.ems.metrics.StatementCountingFilter;
+import com.bright.ems.warmup.WarmUpRequests;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+@Configuration
+public class MetricsConfig {
+
+    // backs the class-level @Timed on EmployeeServiceImpl
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public RepositoryRowsAspect repositoryRowsAspect(MeterRegistry meterRegistry) {
+        return new RepositoryRowsAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    // keeps the warm-up's loopback requests out of http.server.requests
+    @Bean
+    @Profile("!reactive")
+    public ObservationPredicate warmUpObservationPredicate() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext && WarmUpRequests.isWarmUp(serverContext.getCarrier()));
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public StatementCountingFilter statementCountingFilter(MeterRegistry meterRegistry) {
+        return new StatementCountingFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bright.ems.config;
+
+import com.bright.ems.offheap.EmployeeTable;
+import com.bright.ems.offheap.OffHeapEmployeeService;
+import com.bright.ems.offheap.OffHeapProperties;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(OffHeapProperties.class)
+@ConditionalOnProperty(name = "ems.off-heap.enabled", havingValue = "true")
+public class OffHeapConfig {
+
+    // loading reads the employees table, which Hibernate creates along with the entity manager factory
+    @Bean
+    @Primary
+    @DependsOn("entityManagerFactory")
+    public OffHeapEmployeeService offHeapEmployeeService(OffHeapProperties offHeapProperties, DataSource dataSource, Validator validator, ApplicationEventPublisher eventPublisher) {
+        return new OffHeapEmployeeService(new EmployeeTable(dataSource), offHeapProperties.snapshotFile(), validator, eventPublisher);
+    }
+}
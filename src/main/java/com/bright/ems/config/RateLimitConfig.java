@@ -0,0 +1,42 @@
+package com.bright.ems.config;
+
+import com.bright.ems.ratelimit.AdaptiveConcurrencyLimiter;
+import com.bright.ems.ratelimit.RateLimitInterceptor;
+import com.bright.ems.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "ems.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitConfig(RateLimitProperties rateLimitProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.rateLimitInterceptor = new RateLimitInterceptor(rateLimitProperties);
+        meterRegistry.ifAvailable(registry -> {
+            registerLimitGauge(registry, "reads", rateLimitInterceptor.readLimiter());
+            registerLimitGauge(registry, "writes", rateLimitInterceptor.writeLimiter());
+        });
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/v1/**");
+    }
+
+    private static void registerLimitGauge(MeterRegistry registry, String budget, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("ems.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .tag("budget", budget)
+                .register(registry);
+    }
+}
@@ -0,0 +1,103 @@
+package com.bright.ems.config;
+
+import com.bright.ems.bulkhead.BulkheadDataSource;
+import com.bright.ems.bulkhead.BulkheadProperties;
+import com.bright.ems.bulkhead.DatabaseBulkhead;
+import com.bright.ems.replica.ReadReplicaProperties;
+import com.bright.ems.replica.ReadYourWritesFilter;
+import com.bright.ems.replica.ReplicaLagCacheEvictor;
+import com.bright.ems.replica.ReplicaReadAspect;
+import com.bright.ems.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(name = "ems.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // spring.datasource.* still describes the primary
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // with the bulkhead on, the primary shares its permits with everything else and each replica pool gets permits of its own
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReadReplicaProperties readReplicaProperties, MeterRegistry meterRegistry,
+                                                             ObjectProvider<DatabaseBulkhead> databaseBulkhead, ObjectProvider<BulkheadProperties> bulkheadProperties) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReadReplicaProperties.Replica replica : Objects.requireNonNullElse(readReplicaProperties.replicas(), List.<ReadReplicaProperties.Replica>of())) {
+            HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            replicaDataSource.setPoolName("replica-" + replicas.size());
+            replicaDataSource.setMaximumPoolSize(readReplicaProperties.maximumPoolSize());
+            replicaDataSource.setReadOnly(true);
+            replicaDataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            BulkheadProperties bulkhead = bulkheadProperties.getIfAvailable();
+            replicas.add(bulkhead == null ? replicaDataSource
+                    : new BulkheadDataSource(replicaDataSource, new DatabaseBulkhead(readReplicaProperties.maximumPoolSize(), bulkhead.maxWait())));
+        }
+        DatabaseBulkhead primaryBulkhead = databaseBulkhead.getIfAvailable();
+        return new ReplicaRoutingDataSource(primaryBulkhead == null ? primaryDataSource : new BulkheadDataSource(primaryDataSource, primaryBulkhead), replicas);
+    }
+
+    // the lazy proxy defers the routing decision to the first statement, when the replica-read flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties readReplicaProperties) {
+        return new ReadYourWritesFilter(readReplicaProperties.cookieName(), readReplicaProperties.readYourWritesWindow(), cookieSecret(readReplicaProperties.cookieSecret()));
+    }
+
+    // without a configured secret each instance signs with a random one of its own
+    private static byte[] cookieSecret(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+
+    @Bean
+    public ReplicaLagCacheEvictor replicaLagCacheEvictor(CacheManager cacheManager, TaskScheduler taskScheduler, ReadReplicaProperties readReplicaProperties) {
+        return new ReplicaLagCacheEvictor(cacheManager, taskScheduler, readReplicaProperties.readYourWritesWindow());
+    }
+}
@@ -0,0 +1,60 @@
+package com.bright.ems.config;
+
+import com.bright.ems.bulkhead.BulkheadDataSource;
+import com.bright.ems.bulkhead.BulkheadProperties;
+import com.bright.ems.bulkhead.DatabaseBulkhead;
+import com.bright.ems.shard.ConsistentHashRing;
+import com.bright.ems.shard.EmployeeShard;
+import com.bright.ems.shard.ShardedEmployeeService;
+import com.bright.ems.shard.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// the service is the primary EmployeeService and EmployeeScanSource, so search, stats, export and import all see the shards
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "ems.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    // closing the service closes the shard pools
+    @Bean
+    @Primary
+    public ShardedEmployeeService shardedEmployeeService(ShardingProperties shardingProperties, MeterRegistry meterRegistry, Validator validator, ApplicationEventPublisher eventPublisher,
+                                                         ObjectProvider<BulkheadProperties> bulkheadProperties) {
+        List<EmployeeShard> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : shardingProperties.shards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            dataSource.setPoolName("shard-" + shards.size());
+            dataSource.setMaximumPoolSize(shardingProperties.maximumPoolSize());
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            // each shard pool gets bulkhead permits of its own, sized like the pool
+            BulkheadProperties bulkhead = bulkheadProperties.getIfAvailable();
+            EmployeeShard employeeShard = new EmployeeShard(shards.size(), bulkhead == null ? dataSource
+                    : new BulkheadDataSource(dataSource, new DatabaseBulkhead(shardingProperties.maximumPoolSize(), bulkhead.maxWait())),
+                    shardingProperties.maximumPoolSize());
+            employeeShard.initializeSchema();
+            shards.add(employeeShard);
+        }
+        return new ShardedEmployeeService(shards, new ConsistentHashRing(shards.size(), shardingProperties.virtualNodes()), validator, eventPublisher);
+    }
+}
@@ -0,0 +1,53 @@
+package com.bright.ems.config;
+
+import com.bright.ems.service.impl.EmployeeServiceImpl;
+import com.bright.ems.writebehind.PatchLog;
+import com.bright.ems.writebehind.WriteBehindEmployeeService;
+import com.bright.ems.writebehind.WriteBehindHealthIndicator;
+import com.bright.ems.writebehind.WriteBehindProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty(name = "ems.write-behind.enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    @Bean
+    public PatchLog patchLog(WriteBehindProperties writeBehindProperties, ObjectMapper objectMapper) {
+        return new PatchLog(writeBehindProperties.logDirectory(), writeBehindProperties.fsync(), objectMapper);
+    }
+
+    // the controllers get the write-behind view; the JPA service stays injectable by type as its delegate,
+    // and EmployeeBackendConfig keeps sharding and off-heap, which would bypass it, from being on at the same time
+    @Bean
+    @Primary
+    public WriteBehindEmployeeService writeBehindEmployeeService(EmployeeServiceImpl employeeServiceImpl, PatchLog patchLog, CacheManager cacheManager, WriteBehindProperties writeBehindProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        WriteBehindEmployeeService writeBehindEmployeeService = new WriteBehindEmployeeService(employeeServiceImpl, patchLog, cacheManager,
+                writeBehindProperties.maxPending(), writeBehindProperties.batchSize(), writeBehindProperties.maxAttempts(), writeBehindProperties.flushInterval());
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("ems.write-behind.pending", writeBehindEmployeeService, WriteBehindEmployeeService::pendingCount)
+                    .description("Acknowledged patches not applied yet")
+                    .register(registry);
+            Gauge.builder("ems.write-behind.held-back", writeBehindEmployeeService, WriteBehindEmployeeService::heldBackCount)
+                    .description("Acknowledged patches the database rejected, retried with backoff")
+                    .register(registry);
+        });
+        return writeBehindEmployeeService;
+    }
+
+    @Bean
+    public WriteBehindHealthIndicator writeBehindHealthIndicator(WriteBehindEmployeeService writeBehindEmployeeService) {
+        return new WriteBehindHealthIndicator(writeBehindEmployeeService);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.CacheStatsResponseDto;
+import com.bright.ems.service.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/caches")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponseDto>> getCacheStats() {
+        List<CacheStatsResponseDto> cacheStatsResponseDtos = cacheStatsService.getCacheStats();
+        return ResponseEntity.status(HttpStatus.OK).body(cacheStatsResponseDtos);
+    }
+}
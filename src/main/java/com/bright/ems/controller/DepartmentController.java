@@ -0,0 +1,28 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.service.DepartmentStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/departments")
+@RequiredArgsConstructor
+public class DepartmentController {
+
+    private final DepartmentStatsService departmentStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<DepartmentStatsResponseDto>> getDepartmentStats() {
+        List<DepartmentStatsResponseDto> departmentStatsResponseDtos = departmentStatsService.getDepartmentStats();
+        return ResponseEntity.status(HttpStatus.OK).body(departmentStatsResponseDtos);
+    }
+}
@@ -0,0 +1,38 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.EmployeeChangeDto;
+import com.bright.ems.service.EmployeeChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/employees/changes")
+@RequiredArgsConstructor
+public class EmployeeChangeController {
+
+    private final EmployeeChangeFeedService employeeChangeFeedService;
+
+    @GetMapping
+    public ResponseEntity<List<EmployeeChangeDto>> getChanges(@RequestParam(defaultValue = "0") Long since, @RequestParam(defaultValue = "100") int limit) {
+        List<EmployeeChangeDto> employeeChangeDtos = employeeChangeFeedService.getChanges(since, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(employeeChangeDtos);
+    }
+
+    // a reconnecting EventSource sends Last-Event-ID, which resumes like ?since=
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since, @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return employeeChangeFeedService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
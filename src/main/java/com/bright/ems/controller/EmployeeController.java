@@ -3,29 +3,86 @@ package com.bright.ems.controller;
 
 import com.bright.ems.dto.request.EmployeePatchDto;
 import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
 import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.exception.GlobalExceptionHandler;
+import com.bright.ems.service.EmployeeOutcome;
 import com.bright.ems.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/employees")
 @RequiredArgsConstructor
 public class EmployeeController {
 
+    static final int BATCH_CHUNK_SIZE = 1000;
+
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final GlobalExceptionHandler globalExceptionHandler;
 
     @PostMapping
-    public ResponseEntity<EmployeeResponseDto> createEmployee(@Valid @RequestBody EmployeeRequestDto employeeRequestDto) {
-        EmployeeResponseDto employeeResponseDto = employeeService.createEmployee(employeeRequestDto).orElseThrow();
-        return ResponseEntity.status(HttpStatus.CREATED).body(employeeResponseDto);
+    public ResponseEntity<?> createEmployee(@Valid @RequestBody EmployeeRequestDto employeeRequestDto, HttpServletRequest request) {
+        return respond(employeeService.tryCreateEmployee(employeeRequestDto), HttpStatus.CREATED, request);
+    }
+
+    // read element by element and created a chunk at a time, so neither the whole array nor all its entities sit in memory
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<EmployeeBatchResultDto>> createEmployees(InputStream inputStream) throws IOException {
+        return ResponseEntity.status(HttpStatus.OK).body(createInChunks(inputStream));
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<EmployeeBatchResultDto>> createEmployeesFromNdjson(InputStream inputStream) throws IOException {
+        return ResponseEntity.status(HttpStatus.OK).body(createInChunks(inputStream));
+    }
+
+    // a JSON array is walked element by element, NDJSON value by value; nulls are passed on for the service to report
+    private List<EmployeeBatchResultDto> createInChunks(InputStream inputStream) throws IOException {
+        List<EmployeeBatchResultDto> employeeBatchResultDtos = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            List<EmployeeRequestDto> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                chunk.add(token == JsonToken.VALUE_NULL ? null : objectMapper.readValue(parser, EmployeeRequestDto.class));
+                if (chunk.size() == BATCH_CHUNK_SIZE) {
+                    employeeBatchResultDtos.addAll(employeeService.createEmployees(chunk));
+                    chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+                }
+                token = parser.nextToken();
+            }
+            if (!chunk.isEmpty()) {
+                employeeBatchResultDtos.addAll(employeeService.createEmployees(chunk));
+            }
+        }
+        return employeeBatchResultDtos;
     }
 
     @GetMapping
@@ -34,21 +91,91 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.OK).body(employeeResponseDtos);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<EmployeePageResponseDto> getEmployeesPage(@RequestParam int limit, @RequestParam(required = false) Long after) {
+        EmployeePageResponseDto employeePageResponseDto = employeeService.getEmployees(after, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(employeePageResponseDto);
+    }
+
+    @GetMapping(params = "firstName")
+    public ResponseEntity<List<EmployeeResponseDto>> getEmployeesByFirstName(@RequestParam String firstName) {
+        List<EmployeeResponseDto> employeeResponseDtos = employeeService.findByFirstName(firstName);
+        return ResponseEntity.status(HttpStatus.OK).body(employeeResponseDtos);
+    }
+
+    @GetMapping(params = "lastName")
+    public ResponseEntity<List<EmployeeResponseDto>> getEmployeesByLastName(@RequestParam String lastName) {
+        List<EmployeeResponseDto> employeeResponseDtos = employeeService.findByLastName(lastName);
+        return ResponseEntity.status(HttpStatus.OK).body(employeeResponseDtos);
+    }
+
+    @GetMapping(params = "departmentCode")
+    public ResponseEntity<List<EmployeeResponseDto>> getEmployeesByDepartmentCode(@RequestParam String departmentCode) {
+        List<EmployeeResponseDto> employeeResponseDtos = employeeService.findByDepartmentCode(departmentCode);
+        return ResponseEntity.status(HttpStatus.OK).body(employeeResponseDtos);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                employeeService.streamAllEmployees(employeeResponseDto -> writeEmployee(generator, employeeResponseDto));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/{email}")
+    public ResponseEntity<?> getEmployee(@PathVariable String email, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, HttpServletRequest request) {
+        Optional<EmployeeResponseDto> found = employeeService.findByEmail(email);
+        if (found.isEmpty()) {
+            return globalExceptionHandler.handleFailure(new EmployeeOutcome.NotFound(email), request);
+        }
+        EmployeeResponseDto employeeResponseDto = found.get();
+        if (ifNoneMatch != null && employeeResponseDto.version() != null && EmployeeETags.eTagMatches(ifNoneMatch, employeeResponseDto.version())) {
+            return EmployeeETags.withETag(ResponseEntity.status(HttpStatus.NOT_MODIFIED), employeeResponseDto).build();
+        }
+        return EmployeeETags.withETag(ResponseEntity.status(HttpStatus.OK), employeeResponseDto).body(employeeResponseDto);
+    }
+
     @PatchMapping("/{email}")
-    public ResponseEntity<EmployeeResponseDto> updateEmployee(@PathVariable String email, @Valid @RequestBody EmployeePatchDto employeePatchDto) {
-        EmployeeResponseDto employeeResponseDto = employeeService.updateEmployeePartially(email, employeePatchDto).orElseThrow();
-        return ResponseEntity.status(HttpStatus.OK).body(employeeResponseDto);
+    public ResponseEntity<?> updateEmployee(@PathVariable String email, @Valid @RequestBody EmployeePatchDto employeePatchDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, HttpServletRequest request) {
+        Long expectedVersion = EmployeeETags.expectedVersion(email, ifMatch);
+        EmployeeOutcome employeeOutcome = employeeService.tryUpdateEmployeePartially(email, employeePatchDto, expectedVersion);
+        return respond(EmployeeETags.preconditionFailedIfMissing(employeeOutcome, email, ifMatch, expectedVersion), HttpStatus.OK, request);
     }
 
     @PutMapping("/{email}")
-    public ResponseEntity<EmployeeResponseDto> updateEmployeeEmail(@PathVariable String email, @Valid @RequestBody EmployeeRequestDto employeeRequestDto) {
-        EmployeeResponseDto employeeResponseDto = employeeService.updateEmployee(email, employeeRequestDto).orElseThrow();
-        return ResponseEntity.status(HttpStatus.OK).body(employeeResponseDto);
+    public ResponseEntity<?> updateEmployeeEmail(@PathVariable String email, @Valid @RequestBody EmployeeRequestDto employeeRequestDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, HttpServletRequest request) {
+        Long expectedVersion = EmployeeETags.expectedVersion(email, ifMatch);
+        EmployeeOutcome employeeOutcome = employeeService.tryUpdateEmployee(email, employeeRequestDto, expectedVersion);
+        return respond(EmployeeETags.preconditionFailedIfMissing(employeeOutcome, email, ifMatch, expectedVersion), HttpStatus.OK, request);
     }
 
     @DeleteMapping("/{email}")
-    public ResponseEntity<Void> deleteEmployee(@PathVariable String email) {
-        employeeService.deleteEmployee(email);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    public ResponseEntity<?> deleteEmployee(@PathVariable String email, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, HttpServletRequest request) {
+        Long expectedVersion = EmployeeETags.expectedVersion(email, ifMatch);
+        EmployeeOutcome employeeOutcome = employeeService.tryDeleteEmployee(email, expectedVersion);
+        return respond(EmployeeETags.preconditionFailedIfMissing(employeeOutcome, email, ifMatch, expectedVersion), HttpStatus.NO_CONTENT, request);
+    }
+
+    // expected failures come back as values, so a flood of bad requests never throws
+    private ResponseEntity<?> respond(EmployeeOutcome employeeOutcome, HttpStatus status, HttpServletRequest request) {
+        return switch (employeeOutcome) {
+            case EmployeeOutcome.Success(EmployeeResponseDto employeeResponseDto) ->
+                    EmployeeETags.withETag(ResponseEntity.status(status), employeeResponseDto).body(employeeResponseDto);
+            case EmployeeOutcome.Deleted deleted -> ResponseEntity.status(status).build();
+            case EmployeeOutcome.Failure failure -> globalExceptionHandler.handleFailure(failure, request);
+        };
+    }
+
+    private void writeEmployee(JsonGenerator generator, EmployeeResponseDto employeeResponseDto) {
+        try {
+            generator.writeObject(employeeResponseDto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
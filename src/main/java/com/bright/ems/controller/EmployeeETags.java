@@ -0,0 +1,62 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.employee.EmployeeVersionMismatchException;
+import com.bright.ems.service.EmployeeOutcome;
+import org.springframework.http.ResponseEntity;
+
+// the employee version rendered as a strong ETag, shared by the servlet and reactive controllers
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, EmployeeResponseDto employeeResponseDto) {
+        return employeeResponseDto.version() == null ? builder : builder.eTag(String.valueOf(employeeResponseDto.version()));
+    }
+
+    static boolean eTagMatches(String header, Long version) {
+        String eTag = "\"" + version + "\"";
+        for (String candidate : header.split(",")) {
+            String trimmed = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // null means "no precondition": the header is absent or "*" (which only requires the row to exist)
+    static Long expectedVersion(String email, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String trimmed = ifMatch.trim();
+        if (trimmed.length() < 3 || !trimmed.startsWith("\"") || !trimmed.endsWith("\"")) {
+            // weak or multiple tags can never satisfy the strong comparison If-Match requires
+            throw new EmployeeVersionMismatchException(email, null);
+        }
+        try {
+            return Long.valueOf(trimmed.substring(1, trimmed.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new EmployeeVersionMismatchException(email, null);
+        }
+    }
+
+    // RFC 9110: If-Match, "*" included, is false when the employee has no current representation, so 412 rather than 404
+    static EmployeeOutcome preconditionFailedIfMissing(EmployeeOutcome employeeOutcome, String email, String ifMatch, Long expectedVersion) {
+        if (ifMatch != null && employeeOutcome instanceof EmployeeOutcome.NotFound) {
+            return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+        }
+        return employeeOutcome;
+    }
+
+    static Throwable preconditionFailedIfMissing(Throwable error, String email, String ifMatch, Long expectedVersion) {
+        if (ifMatch != null && error instanceof EmployeeNotFoundException) {
+            return new EmployeeVersionMismatchException(email, expectedVersion);
+        }
+        return error;
+    }
+}
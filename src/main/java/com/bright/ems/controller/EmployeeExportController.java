@@ -0,0 +1,48 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.service.EmployeeExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.beans.PropertyEditorSupport;
+import java.util.Locale;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/employees/export")
+@RequiredArgsConstructor
+public class EmployeeExportController {
+
+    private final EmployeeExportService employeeExportService;
+
+    // ?format=csv as well as ?format=CSV
+    @InitBinder
+    void initBinder(WebDataBinder binder) {
+        binder.registerCustomEditor(EmployeeExportService.Format.class, new PropertyEditorSupport() {
+            @Override
+            public void setAsText(String text) {
+                setValue(EmployeeExportService.Format.valueOf(text.trim().toUpperCase(Locale.ROOT)));
+            }
+        });
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "csv") EmployeeExportService.Format format) {
+        StreamingResponseBody body = outputStream -> employeeExportService.export(format, outputStream);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("employees." + format.extension()).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.request.EmployeeImportRequestDto;
+import com.bright.ems.dto.response.EmployeeImportStatusDto;
+import com.bright.ems.service.EmployeeImportService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/employees/imports")
+@RequiredArgsConstructor
+public class EmployeeImportController {
+
+    private final EmployeeImportService employeeImportService;
+
+    @PostMapping
+    public ResponseEntity<EmployeeImportStatusDto> startImport(@Valid @RequestBody EmployeeImportRequestDto employeeImportRequestDto) {
+        EmployeeImportStatusDto employeeImportStatusDto = employeeImportService.startImport(employeeImportRequestDto.file());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(employeeImportStatusDto);
+    }
+
+    @GetMapping("/{file}")
+    public ResponseEntity<EmployeeImportStatusDto> getImportStatus(@PathVariable String file) {
+        return ResponseEntity.of(employeeImportService.getImportStatus(file));
+    }
+}
@@ -0,0 +1,29 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.service.EmployeeSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/employees")
+@RequiredArgsConstructor
+public class EmployeeSearchController {
+
+    private final EmployeeSearchService employeeSearchService;
+
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeSummaryDto>> searchEmployees(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        List<EmployeeSummaryDto> employeeSummaryDtos = employeeSearchService.search(q, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(employeeSummaryDtos);
+    }
+}
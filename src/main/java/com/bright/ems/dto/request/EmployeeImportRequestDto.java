@@ -0,0 +1,10 @@
+package com.bright.ems.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record EmployeeImportRequestDto(
+        // a file name inside ems.import.directory
+        @NotBlank(message = "Null/empty are not acceptable")
+        String file
+) {
+}
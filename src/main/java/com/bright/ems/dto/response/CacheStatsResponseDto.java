@@ -0,0 +1,11 @@
+package com.bright.ems.dto.response;
+
+public record CacheStatsResponseDto(
+        String name,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long estimatedSize
+) {
+}
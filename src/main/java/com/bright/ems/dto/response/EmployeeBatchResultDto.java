@@ -0,0 +1,14 @@
+package com.bright.ems.dto.response;
+
+public record EmployeeBatchResultDto(
+        String email,
+        Status status,
+        EmployeeResponseDto employee,
+        String message
+) {
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+}
@@ -0,0 +1,14 @@
+package com.bright.ems.dto.response;
+
+import com.bright.ems.event.EmployeeChangedEvent;
+
+import java.time.Instant;
+
+public record EmployeeChangeDto(
+        Long sequence,
+        EmployeeChangedEvent.Operation operation,
+        String email,
+        EmployeeResponseDto employee,
+        Instant changedAt
+) {
+}
@@ -0,0 +1,31 @@
+package com.bright.ems.dto.response;
+
+import java.util.List;
+
+public record EmployeeImportStatusDto(
+        String file,
+        State state,
+        long fileSize,
+        // byte offset up to which rows are committed
+        long offset,
+        long rowsRead,
+        long invalid,
+        long duplicates,
+        long created,
+        List<Stage> stages,
+        String error
+) {
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    // rowsPerSecond is per second of the stage's own work, so the slowest stage is the bottleneck;
+    // busyRatio is the share of the run it spent working rather than waiting on its queues
+    public record Stage(
+            String name,
+            long rows,
+            double rowsPerSecond,
+            double busyRatio
+    ) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.bright.ems.dto.response;
+
+import java.util.List;
+
+public record EmployeePageResponseDto(
+        List<EmployeeResponseDto> content,
+        Long nextCursor
+) {
+}
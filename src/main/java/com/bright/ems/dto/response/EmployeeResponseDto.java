@@ -1,8 +1,15 @@
 package com.bright.ems.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public record EmployeeResponseDto(
         String firstName,
         String lastName,
-        String departmentCode
+        String departmentCode,
+        // sent as the ETag header rather than in the body
+        @JsonIgnore Long version
 ) {
+    public EmployeeResponseDto(String firstName, String lastName, String departmentCode) {
+        this(firstName, lastName, departmentCode, null);
+    }
 }
@@ -0,0 +1,9 @@
+package com.bright.ems.dto.response;
+
+public record EmployeeSummaryDto(
+        String email,
+        String firstName,
+        String lastName,
+        String departmentCode
+) {
+}
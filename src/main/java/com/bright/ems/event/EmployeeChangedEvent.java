@@ -0,0 +1,32 @@
+package com.bright.ems.event;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+
+/**
+ * Published by the employee service for every committed write. {@code previous} is null
+ * for creates and {@code current} is null for deletes.
+ */
+public record EmployeeChangedEvent(
+        Operation operation,
+        String email,
+        EmployeeSummaryDto previous,
+        EmployeeSummaryDto current
+) {
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static EmployeeChangedEvent created(EmployeeSummaryDto current) {
+        return new EmployeeChangedEvent(Operation.CREATED, current.email(), null, current);
+    }
+
+    public static EmployeeChangedEvent updated(EmployeeSummaryDto previous, EmployeeSummaryDto current) {
+        return new EmployeeChangedEvent(Operation.UPDATED, current.email(), previous, current);
+    }
+
+    public static EmployeeChangedEvent deleted(String email, EmployeeSummaryDto previous) {
+        return new EmployeeChangedEvent(Operation.DELETED, email, previous, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bright.ems.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,26 +2,49 @@ package com.bright.ems.exception;
 
 import com.bright.ems.exception.employee.DuplicateEmailException;
 import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.employee.EmployeeVersionMismatchException;
+import com.bright.ems.service.EmployeeOutcome;
+import com.bright.ems.warmup.WarmUpRequests;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.View;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
+    static final String ERRORS_METRIC_NAME = "ems.errors";
+
     private final View error;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<ErrorKey, Counter> errorCounters = new ConcurrentHashMap<>();
 
-    public GlobalExceptionHandler(View error) {
+    public GlobalExceptionHandler(View error, ObjectProvider<MeterRegistry> meterRegistry) {
         this.error = error;
+        this.meterRegistry = meterRegistry;
     }
 
     @ExceptionHandler(DuplicateEmailException.class)
@@ -32,6 +55,7 @@ public class GlobalExceptionHandler {
                 HttpStatus.BAD_REQUEST.value(),
                 Instant.now()
         );
+        countError(e, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
@@ -43,22 +67,50 @@ public class GlobalExceptionHandler {
                 HttpStatus.CONFLICT.value(),
                 Instant.now()
         );
+        countError(e, HttpStatus.CONFLICT);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleMethodArgumentNotValidException(MethodArgumentNotValidException e, HttpServletRequest request) {
-        String message = e.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                .collect(Collectors.joining(","));
+        StringBuilder message = new StringBuilder();
+        for (FieldError fieldError : e.getBindingResult().getFieldErrors()) {
+            if (!message.isEmpty()) {
+                message.append(',');
+            }
+            message.append(fieldError.getField()).append(": ").append(fieldError.getDefaultMessage());
+        }
+        ApiError apiError = new ApiError(
+                message.toString(),
+                request.getRequestURI(),
+                HttpStatus.BAD_REQUEST.value(),
+                Instant.now()
+        );
+        countError(e, HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e, HttpServletRequest request) {
         ApiError apiError = new ApiError(
-                message,
+                "Invalid value for " + e.getName() + ": " + e.getValue(),
                 request.getRequestURI(),
                 HttpStatus.BAD_REQUEST.value(),
                 Instant.now()
         );
+        countError(e, HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
+    @ExceptionHandler(ImportFileException.class)
+    public ResponseEntity<ApiError> handleImportFileException(ImportFileException e, HttpServletRequest request) {
+        ApiError apiError = new ApiError(
+                e.getMessage(),
+                request.getRequestURI(),
+                HttpStatus.BAD_REQUEST.value(),
+                Instant.now()
+        );
+        countError(e, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
@@ -70,9 +122,93 @@ public class GlobalExceptionHandler {
                 HttpStatus.NOT_FOUND.value(),
                 Instant.now()
         );
+        countError(e, HttpStatus.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiError);
     }
 
+    @ExceptionHandler({EmployeeVersionMismatchException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ApiError> handlePreconditionFailed(RuntimeException e, HttpServletRequest request) {
+        ApiError apiError = new ApiError(
+                e instanceof EmployeeVersionMismatchException ? e.getMessage() : "Employee was modified concurrently. Fetch it again and retry.",
+                request.getRequestURI(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                Instant.now()
+        );
+        countError(e, HttpStatus.PRECONDITION_FAILED);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(apiError);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiError> handleBulkheadFullException(BulkheadFullException e, HttpServletRequest request) {
+        ApiError apiError = new ApiError(
+                e.getMessage(),
+                request.getRequestURI(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                Instant.now()
+        );
+        countError(e, HttpStatus.SERVICE_UNAVAILABLE);
+        // explicit, because a streaming response that is turned away has already preset its own type
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(apiError);
+    }
+
+    // a JPA transaction takes its connection on begin, so a full bulkhead arrives wrapped
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiError> handleCannotCreateTransactionException(CannotCreateTransactionException e, HttpServletRequest request) {
+        if (NestedExceptionUtils.getMostSpecificCause(e) instanceof BulkheadFullException bulkheadFullException) {
+            return handleBulkheadFullException(bulkheadFullException, request);
+        }
+        return handleException(e, request);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiError> handleRateLimitExceededException(RateLimitExceededException e, HttpServletRequest request) {
+        ApiError apiError = new ApiError(
+                e.getMessage(),
+                request.getRequestURI(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                Instant.now()
+        );
+        countError(e, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfter())).body(apiError);
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ApiError> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException e, HttpServletRequest request) {
+        ApiError apiError = new ApiError(
+                e.getMessage(),
+                request.getRequestURI(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                Instant.now()
+        );
+        countError(e, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(apiError);
+    }
+
+    /**
+     * Renders a failed {@link EmployeeOutcome} exactly as the handler for the matching domain
+     * exception would, for controllers that take the non-throwing service methods.
+     */
+    public ResponseEntity<ApiError> handleFailure(EmployeeOutcome.Failure failure, HttpServletRequest request) {
+        HttpStatus status = switch (failure) {
+            case EmployeeOutcome.NotFound notFound -> HttpStatus.NOT_FOUND;
+            case EmployeeOutcome.Duplicate duplicate -> HttpStatus.BAD_REQUEST;
+            case EmployeeOutcome.VersionMismatch versionMismatch -> HttpStatus.PRECONDITION_FAILED;
+        };
+        Class<? extends Exception> type = switch (failure) {
+            case EmployeeOutcome.NotFound notFound -> EmployeeNotFoundException.class;
+            case EmployeeOutcome.Duplicate duplicate -> DuplicateEmailException.class;
+            case EmployeeOutcome.VersionMismatch versionMismatch -> EmployeeVersionMismatchException.class;
+        };
+        ApiError apiError = new ApiError(
+                failure.message(),
+                request.getRequestURI(),
+                status.value(),
+                Instant.now()
+        );
+        countError(type, status);
+        return ResponseEntity.status(status).body(apiError);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleException(Exception e, HttpServletRequest request) {
         ApiError apiError = new ApiError(
@@ -81,7 +217,37 @@ public class GlobalExceptionHandler {
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 Instant.now()
         );
+        countError(e, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiError);
     }
 
+    // Retry-After only carries whole seconds, so round up rather than invite an immediate retry
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    private void countError(Exception e, HttpStatus status) {
+        countError(e.getClass(), status);
+    }
+
+    // counted by exception type so a storm of one kind of failure stands out; the counters are
+    // cached because looking one up by name and tags costs more than the increment
+    private void countError(Class<? extends Exception> type, HttpStatus status) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null || isWarmUp()) {
+            return;
+        }
+        errorCounters.computeIfAbsent(new ErrorKey(type, status), key -> registry.counter(ERRORS_METRIC_NAME,
+                "exception", type.getSimpleName(),
+                "status", String.valueOf(status.value()))).increment();
+    }
+
+    // the warm-up's 404s are deliberate
+    private static boolean isWarmUp() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && WarmUpRequests.isWarmUp(attributes.getRequest());
+    }
+
+    private record ErrorKey(Class<?> type, HttpStatus status) {
+    }
 }
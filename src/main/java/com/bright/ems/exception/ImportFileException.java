@@ -0,0 +1,7 @@
+package com.bright.ems.exception;
+
+public class ImportFileException extends RuntimeException {
+    public ImportFileException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,9 @@
 package com.bright.ems.exception.employee;
 
-public class DuplicateEmailException extends RuntimeException{
-    public DuplicateEmailException(String message) {
-        super(message);
+public class DuplicateEmailException extends RuntimeException {
+    public static final String MESSAGE_PREFIX = "Employee already exists with email: ";
+
+    public DuplicateEmailException(String email) {
+        super(MESSAGE_PREFIX + email, null, false, false);
     }
 }
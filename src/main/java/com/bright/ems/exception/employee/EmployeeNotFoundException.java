@@ -1,7 +1,10 @@
 package com.bright.ems.exception.employee;
 
+// stackless like the other domain exceptions: raised by bad input, so the trace would never be read
 public class EmployeeNotFoundException extends RuntimeException {
-    public EmployeeNotFoundException(String message) {
-        super("Employee not found with email: " + message);
+    public static final String MESSAGE_PREFIX = "Employee not found with email: ";
+
+    public EmployeeNotFoundException(String email) {
+        super(MESSAGE_PREFIX + email, null, false, false);
     }
 }
@@ -0,0 +1,13 @@
+package com.bright.ems.exception.employee;
+
+public class EmployeeVersionMismatchException extends RuntimeException {
+    public EmployeeVersionMismatchException(String email, Long expectedVersion) {
+        super(message(email, expectedVersion), null, false, false);
+    }
+
+    public static String message(String email, Long expectedVersion) {
+        return expectedVersion == null
+                ? "If-Match does not name a current version of employee with email: " + email
+                : "Employee with email " + email + " is no longer at version " + expectedVersion;
+    }
+}
@@ -0,0 +1,290 @@
+package com.bright.ems.importer;
+
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeImportStatusDto;
+import com.bright.ems.exception.ImportFileException;
+import com.bright.ems.service.EmployeeService;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * One run of a roster import: parse, validate, dedupe and persist stages, each on its own thread
+ * and connected by bounded queues of batches. Batches keep file order through every stage, so
+ * when the persist stage commits one, every row before its end offset is done and the offset is
+ * checkpointed. A rerun after a crash starts from the checkpoint; a batch committed just before
+ * the crash but not checkpointed is read again and its rows come out as duplicates.
+ */
+@Slf4j
+public class EmployeeImportJob implements Runnable {
+
+    private static final long POLL_MILLIS = 100;
+    private static final Batch END = new Batch(-1);
+
+    private static final class Batch {
+        private final List<EmployeeRequestDto> rows = new ArrayList<>();
+        private final long endOffset;
+        private int read;
+        private int invalid;
+        private int duplicates;
+
+        private Batch(long endOffset) {
+            this.endOffset = endOffset;
+        }
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+
+        private Stage(String name) {
+            this.name = name;
+        }
+
+        private void record(int batchRows, long startedNanos) {
+            rows.addAndGet(batchRows);
+            busyNanos.addAndGet(System.nanoTime() - startedNanos);
+        }
+
+        private EmployeeImportStatusDto.Stage toDto(long elapsedNanos) {
+            long busy = busyNanos.get();
+            return new EmployeeImportStatusDto.Stage(name, rows.get(),
+                    busy == 0 ? 0 : rows.get() * 1e9 / busy,
+                    elapsedNanos == 0 ? 0 : (double) busy / elapsedNanos);
+        }
+    }
+
+    private final Path file;
+    private final EmployeeService employeeService;
+    private final Validator validator;
+    private final ImportCheckpointStore checkpointStore;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    private final Stage parse = new Stage("parse");
+    private final Stage validate = new Stage("validate");
+    private final Stage dedupe = new Stage("dedupe");
+    private final Stage persist = new Stage("persist");
+    // emails let through by dedupe whose batch is not committed yet
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile EmployeeImportStatusDto.State state = EmployeeImportStatusDto.State.RUNNING;
+    private volatile ImportCheckpoint committed;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+
+    public EmployeeImportJob(Path file, EmployeeService employeeService, Validator validator,
+                             ImportCheckpointStore checkpointStore, int batchSize, int queueCapacity) throws IOException {
+        this.file = file;
+        this.employeeService = employeeService;
+        this.validator = validator;
+        this.checkpointStore = checkpointStore;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        String name = file.getFileName().toString();
+        long fileSize = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        this.committed = checkpointStore.load(name)
+                .filter(checkpoint -> checkpoint.fileSize() == fileSize && checkpoint.lastModified() == lastModified)
+                .orElse(new ImportCheckpoint(name, fileSize, lastModified, 0, 0, 0, 0, 0, false));
+    }
+
+    public String file() {
+        return committed.file();
+    }
+
+    public boolean isRunning() {
+        return state == EmployeeImportStatusDto.State.RUNNING;
+    }
+
+    public EmployeeImportStatusDto status() {
+        ImportCheckpoint checkpoint = committed;
+        long elapsedNanos = startedNanos == 0 ? 0 : (finishedNanos == 0 ? System.nanoTime() : finishedNanos) - startedNanos;
+        Throwable error = failure.get();
+        return new EmployeeImportStatusDto(checkpoint.file(), state, checkpoint.fileSize(), checkpoint.offset(),
+                checkpoint.rowsRead(), checkpoint.invalid(), checkpoint.duplicates(), checkpoint.created(),
+                List.of(parse.toDto(elapsedNanos), validate.toDto(elapsedNanos), dedupe.toDto(elapsedNanos), persist.toDto(elapsedNanos)),
+                error == null ? null : error.getMessage());
+    }
+
+    @Override
+    public void run() {
+        startedNanos = System.nanoTime();
+        if (committed.completed()) {
+            finish();
+            return;
+        }
+        BlockingQueue<Batch> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch> validated = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch> deduplicated = new ArrayBlockingQueue<>(queueCapacity);
+        List<Thread> threads = List.of(
+                stageThread(validate, parsed, validated, this::validate),
+                stageThread(dedupe, validated, deduplicated, this::dedupe),
+                stageThread(persist, deduplicated, null, this::persist)
+        );
+        try {
+            read(parsed);
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            }
+        }
+        finish();
+    }
+
+    private void finish() {
+        finishedNanos = System.nanoTime();
+        Throwable error = failure.get();
+        if (error != null) {
+            state = EmployeeImportStatusDto.State.FAILED;
+            log.error("Import of {} failed at offset {}, resubmit it to resume", committed.file(), committed.offset(), error);
+            return;
+        }
+        ImportCheckpoint last = committed;
+        committed = new ImportCheckpoint(last.file(), last.fileSize(), last.lastModified(), last.fileSize(),
+                last.rowsRead(), last.invalid(), last.duplicates(), last.created(), true);
+        checkpointStore.save(committed);
+        state = EmployeeImportStatusDto.State.COMPLETED;
+        log.info("Imported {}: {}", committed.file(), status());
+    }
+
+    // the parse stage runs on the job's own thread
+    private void read(BlockingQueue<Batch> parsed) throws IOException {
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            int[] columns = columns(reader.next());
+            reader.seek(Math.max(reader.position(), committed.offset()));
+            while (failure.get() == null) {
+                long started = System.nanoTime();
+                List<List<String>> records = new ArrayList<>(batchSize);
+                List<String> record;
+                while (records.size() < batchSize && (record = reader.next()) != null) {
+                    records.add(record);
+                }
+                if (records.isEmpty()) {
+                    break;
+                }
+                Batch batch = new Batch(reader.position());
+                batch.read = records.size();
+                for (List<String> fields : records) {
+                    if (fields.size() < columns.length) {
+                        batch.invalid++;
+                    } else {
+                        batch.rows.add(new EmployeeRequestDto(fields.get(columns[0]), fields.get(columns[1]), fields.get(columns[2]), fields.get(columns[3])));
+                    }
+                }
+                parse.record(batch.read, started);
+                put(parsed, batch);
+            }
+        } finally {
+            put(parsed, END);
+        }
+    }
+
+    private void validate(Batch batch) {
+        int before = batch.rows.size();
+        batch.rows.removeIf(row -> !validator.validate(row).isEmpty());
+        batch.invalid += before - batch.rows.size();
+    }
+
+    private void dedupe(Batch batch) {
+        Set<String> existing = employeeService.findExistingEmails(batch.rows.stream().map(EmployeeRequestDto::email).toList());
+        int before = batch.rows.size();
+        // inFlight also catches a repeat within this batch or one still waiting to be persisted
+        batch.rows.removeIf(row -> existing.contains(row.email()) || !inFlight.add(row.email()));
+        batch.duplicates += before - batch.rows.size();
+    }
+
+    private void persist(Batch batch) {
+        int created = batch.rows.isEmpty() ? 0 : employeeService.insertEmployees(batch.rows);
+        batch.rows.forEach(row -> inFlight.remove(row.email()));
+        ImportCheckpoint last = committed;
+        committed = new ImportCheckpoint(last.file(), last.fileSize(), last.lastModified(), batch.endOffset,
+                last.rowsRead() + batch.read, last.invalid() + batch.invalid, last.duplicates() + batch.duplicates, last.created() + created, false);
+        checkpointStore.save(committed);
+    }
+
+    private Thread stageThread(Stage stage, BlockingQueue<Batch> in, BlockingQueue<Batch> out, Consumer<Batch> work) {
+        return Thread.ofPlatform().name("import-" + stage.name).start(() -> {
+            try {
+                Batch batch;
+                while ((batch = take(in)) != null && batch != END) {
+                    long started = System.nanoTime();
+                    int rows = batch.rows.size();
+                    work.accept(batch);
+                    stage.record(rows, started);
+                    if (out != null) {
+                        put(out, batch);
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                if (out != null) {
+                    put(out, END);
+                }
+            }
+        });
+    }
+
+    // null once the import has failed, so no stage waits forever on a dead neighbour
+    private Batch take(BlockingQueue<Batch> queue) throws InterruptedException {
+        while (failure.get() == null) {
+            Batch batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (batch != null) {
+                return batch;
+            }
+        }
+        return null;
+    }
+
+    private void put(BlockingQueue<Batch> queue, Batch batch) {
+        try {
+            while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private static int[] columns(List<String> header) {
+        if (header == null) {
+            throw new ImportFileException("Import file is empty");
+        }
+        List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        String[] required = {"firstname", "lastname", "email", "departmentcode"};
+        int[] columns = new int[required.length];
+        for (int i = 0; i < required.length; i++) {
+            columns[i] = names.indexOf(required[i]);
+            if (columns[i] < 0) {
+                throw new ImportFileException("Import file has no " + required[i] + " column");
+            }
+        }
+        return columns;
+    }
+}
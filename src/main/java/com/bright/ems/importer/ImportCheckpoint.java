@@ -0,0 +1,19 @@
+package com.bright.ems.importer;
+
+/**
+ * Progress of an import up to {@code offset}, the byte offset just past the last row whose batch
+ * was committed. The file's size and modification time tell a resumable checkpoint from one left
+ * by a different file of the same name.
+ */
+public record ImportCheckpoint(
+        String file,
+        long fileSize,
+        long lastModified,
+        long offset,
+        long rowsRead,
+        long invalid,
+        long duplicates,
+        long created,
+        boolean completed
+) {
+}
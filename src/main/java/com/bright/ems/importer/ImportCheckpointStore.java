@@ -0,0 +1,57 @@
+package com.bright.ems.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * One JSON file per import, replaced atomically so a crash leaves either the old or the new
+ * checkpoint and never a torn one.
+ */
+public class ImportCheckpointStore {
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public ImportCheckpointStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create checkpoint directory " + directory, e);
+        }
+    }
+
+    public Optional<ImportCheckpoint> load(String file) {
+        Path checkpoint = checkpointPath(file);
+        if (!Files.exists(checkpoint)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(checkpoint.toFile(), ImportCheckpoint.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + checkpoint, e);
+        }
+    }
+
+    public void save(ImportCheckpoint importCheckpoint) {
+        Path checkpoint = checkpointPath(importCheckpoint.file());
+        Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, objectMapper.writeValueAsBytes(importCheckpoint));
+            Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + checkpoint, e);
+        }
+    }
+
+    private Path checkpointPath(String file) {
+        return directory.resolve(file + ".checkpoint.json");
+    }
+}
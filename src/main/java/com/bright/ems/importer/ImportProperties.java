@@ -0,0 +1,15 @@
+package com.bright.ems.importer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+// files are only read from directory, by name
+@ConfigurationProperties("ems.import")
+public record ImportProperties(
+        Path directory,
+        Path checkpointDirectory,
+        int batchSize,
+        int queueCapacity
+) {
+}
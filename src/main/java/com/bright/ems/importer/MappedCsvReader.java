@@ -0,0 +1,150 @@
+package com.bright.ems.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records straight out of a memory-mapped file. The file is mapped a window at a
+ * time, so files beyond 2 GB work, and {@link #position()} is the byte offset just past the last
+ * record returned, which is what an import checkpoints and later {@link #seek(long) resumes} from.
+ */
+class MappedCsvReader implements Closeable {
+
+    static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+    private long position;
+    private byte[] field = new byte[256];
+
+    MappedCsvReader(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedCsvReader(Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long position() {
+        return position;
+    }
+
+    void seek(long position) {
+        this.position = Math.min(position, size);
+    }
+
+    /**
+     * Returns the fields of the next non-blank record, or null at the end of the file.
+     */
+    List<String> next() throws IOException {
+        while (position < size) {
+            List<String> record = readRecord();
+            if (!(record.size() == 1 && record.getFirst().isEmpty())) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    private List<String> readRecord() throws IOException {
+        if (window == null || position < windowStart || position >= windowEnd) {
+            map(position, windowSize);
+        }
+        while (true) {
+            List<String> record = new ArrayList<>(4);
+            long end = parse(record);
+            if (end >= 0) {
+                position = end;
+                return record;
+            }
+            // the record runs past the window: map again from its start, wider if it alone filled the window
+            map(position, Math.max(windowSize, (windowEnd - position) * 2));
+        }
+    }
+
+    // returns the offset after the record, or -1 when it did not fit in the window
+    private long parse(List<String> record) {
+        long at = position;
+        int fieldLength = 0;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (at == windowEnd) {
+                if (windowEnd < size) {
+                    return -1;
+                }
+                record.add(decode(fieldLength));
+                return at;
+            }
+            byte b = window.get((int) (at - windowStart));
+            at++;
+            if (inQuotes) {
+                if (b != '"') {
+                    fieldLength = append(fieldLength, b);
+                } else if (at < windowEnd && window.get((int) (at - windowStart)) == '"') {
+                    fieldLength = append(fieldLength, b);
+                    at++;
+                } else if (at == windowEnd && windowEnd < size) {
+                    // cannot tell "" from a closing quote without the next byte
+                    return -1;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (b == ',') {
+                record.add(decode(fieldLength));
+                fieldLength = 0;
+                quoted = false;
+            } else if (b == '\n') {
+                record.add(decode(fieldLength));
+                return at;
+            } else if (b == '"' && fieldLength == 0 && !quoted) {
+                quoted = true;
+                inQuotes = true;
+            } else if (b != '\r') {
+                fieldLength = append(fieldLength, b);
+            }
+        }
+    }
+
+    private void map(long start, long length) throws IOException {
+        long end = Math.min(size, start + length);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        windowStart = start;
+        windowEnd = end;
+    }
+
+    private int append(int fieldLength, byte b) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength] = b;
+        return fieldLength + 1;
+    }
+
+    private String decode(int fieldLength) {
+        return new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
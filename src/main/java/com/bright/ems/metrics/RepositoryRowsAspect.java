@@ -0,0 +1,44 @@
+package com.bright.ems.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// latency and call counts come from Spring Data's spring.data.repository.invocations; this adds how many rows each query returned
+@Aspect
+@RequiredArgsConstructor
+public class RepositoryRowsAspect {
+
+    static final String METRIC_NAME = "ems.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+    // one summary per repository method, so a query does not pay for a builder and a registry lookup
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    @AfterReturning(pointcut = "this(com.bright.ems.repository.EmployeeRepository)", returning = "result")
+    public void recordRows(JoinPoint joinPoint, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else {
+            // streams are consumed after the call returns, counts and void methods return no rows
+            return;
+        }
+        rowSummaries.computeIfAbsent(joinPoint.getSignature().getName(), method -> DistributionSummary.builder(METRIC_NAME)
+                        .description("Rows returned by an EmployeeRepository query")
+                        .tag("method", method)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry))
+                .record(rows);
+    }
+}
@@ -6,7 +6,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Locale;
+
 @Entity(name = "employees")
+@Table(indexes = {
+        @Index(name = "idx_employees_normalized_first_name", columnList = "normalized_first_name"),
+        @Index(name = "idx_employees_normalized_last_name", columnList = "normalized_last_name"),
+        @Index(name = "idx_employees_normalized_department_code", columnList = "normalized_department_code")
+})
 @NoArgsConstructor
 @Builder
 @Data
@@ -14,13 +21,20 @@ import lombok.NoArgsConstructor;
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
     private String firstName;
     private String lastName;
     @Column(unique = true)
     private String email;
     private String departmentCode;
+    // lower-cased copies backing the indexed case-insensitive finders
+    private String normalizedFirstName;
+    private String normalizedLastName;
+    private String normalizedDepartmentCode;
+    @Version
+    private Long version;
 
     public Employee(String firstName, String lastName, String email, String departmentCode) {
         this.firstName = firstName;
@@ -28,4 +42,16 @@ public class Employee {
         this.email = email;
         this.departmentCode = departmentCode;
     }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeLookupKeys() {
+        normalizedFirstName = normalize(firstName);
+        normalizedLastName = normalize(lastName);
+        normalizedDepartmentCode = normalize(departmentCode);
+    }
+
+    public static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
 }
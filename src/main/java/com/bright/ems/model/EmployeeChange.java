@@ -0,0 +1,37 @@
+package com.bright.ems.model;
+
+import com.bright.ems.event.EmployeeChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// one row per committed employee write; the id doubles as the feed's sequence number and is
+// taken from EmployeeChangePosition, so ids become visible in the order their writes commit
+@Entity(name = "employee_changes")
+@NoArgsConstructor
+@Builder
+@Data
+@AllArgsConstructor
+public class EmployeeChange implements Persistable<Long> {
+
+    @Id
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private EmployeeChangedEvent.Operation operation;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String departmentCode;
+    private Instant changedAt;
+
+    // append-only with an assigned id, so save() inserts without first looking the row up
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
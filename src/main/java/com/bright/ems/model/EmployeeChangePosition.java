@@ -0,0 +1,22 @@
+package com.bright.ems.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// the single row holding the last change-feed position handed out; a writer locks it once, just
+// before its commit, to reserve the positions of all its changes
+@Entity(name = "employee_change_position")
+@NoArgsConstructor
+@Data
+@AllArgsConstructor
+public class EmployeeChangePosition {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+    private long position;
+}
@@ -0,0 +1,480 @@
+package com.bright.ems.offheap;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.model.Employee;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Employees as columns: one primitive array per field, indexed by slot, with the email, first
+ * name and last name of each slot as UTF-8 in a direct buffer outside the heap. Department codes
+ * are dictionary-encoded, an open-addressing table maps emails to slots and a {@link NameIndex}
+ * per name column serves the name finders. Primitive arrays are never traced by the collector, so
+ * millions of employees cost the heap a handful of objects instead of millions.
+ *
+ * <p>Slots are only appended; a removed slot stays dead for the life of the store, which keeps
+ * slot numbers usable as page cursors. Rewritten and removed records leave garbage in the string
+ * buffer that is dropped whenever the buffer has to grow. Not thread-safe.
+ */
+class EmployeeColumnStore {
+
+    // lengths of the email, first name and last name in front of their bytes
+    static final int RECORD_HEADER_BYTES = 6;
+    static final int MAX_FIELD_BYTES = 0xFFFE;
+    private static final int NULL_FIELD = 0xFFFF;
+    private static final long DEAD = -1;
+    private static final int MAX_ARENA_BYTES = Integer.MAX_VALUE - 8;
+
+    final StringDictionary departmentCodes;
+    long[] ids;
+    long[] versions;
+    int[] departments;
+    int[] offsets;
+    int[] hashes;
+    int slotCount;
+    int liveCount;
+    // slot + 1, so 0 marks an empty bucket
+    int[] table;
+    final NameIndex firstNames;
+    final NameIndex lastNames;
+    ByteBuffer arena;
+    int arenaSize;
+    private int garbageBytes;
+
+    EmployeeColumnStore(int capacity) {
+        int slots = Math.max(capacity, 16);
+        this.departmentCodes = new StringDictionary();
+        this.ids = new long[slots];
+        this.versions = new long[slots];
+        this.departments = new int[slots];
+        this.offsets = new int[slots];
+        this.hashes = new int[slots];
+        this.table = new int[tableLengthFor(slots)];
+        this.firstNames = new NameIndex(slots, table.length);
+        this.lastNames = new NameIndex(slots, table.length);
+        this.arena = ByteBuffer.allocateDirect(slots * 64);
+    }
+
+    // a store read back from a snapshot, with every slot live
+    EmployeeColumnStore(StringDictionary departmentCodes, long[] ids, long[] versions, int[] departments, int[] offsets, int[] hashes,
+                        int[] firstNameHashes, int[] lastNameHashes, int slotCount, int[] table, ByteBuffer arena, int arenaSize) {
+        this.departmentCodes = departmentCodes;
+        this.ids = ids;
+        this.versions = versions;
+        this.departments = departments;
+        this.offsets = offsets;
+        this.hashes = hashes;
+        this.slotCount = slotCount;
+        this.liveCount = slotCount;
+        this.table = table;
+        this.firstNames = new NameIndex(firstNameHashes, slotCount, table.length);
+        this.lastNames = new NameIndex(lastNameHashes, slotCount, table.length);
+        this.arena = arena;
+        this.arenaSize = arenaSize;
+    }
+
+    static int tableLengthFor(int entries) {
+        // at most half full keeps linear probes short
+        return Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+    }
+
+    // hashes every live record, so it is taken from a compact copy rather than under a lock
+    Fingerprint fingerprint() {
+        Fingerprint.Accumulator accumulator = new Fingerprint.Accumulator();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (isLive(slot)) {
+                accumulator.add(ids[slot], versions[slot], email(slot), firstName(slot), lastName(slot), departmentCode(slot));
+            }
+        }
+        return accumulator.fingerprint();
+    }
+
+    /**
+     * The live slots renumbered in order, with their records in a heap buffer of their own, so a
+     * snapshot can fingerprint and write them while this store keeps taking writes. Costs a pass
+     * over the columns and a copy of the live bytes.
+     */
+    EmployeeColumnStore compactCopy() {
+        int slots = liveCount;
+        int capacity = Math.max(slots, 16);
+        long[] copiedIds = new long[capacity];
+        long[] copiedVersions = new long[capacity];
+        int[] copiedDepartments = new int[capacity];
+        int[] copiedOffsets = new int[capacity];
+        int[] copiedHashes = new int[capacity];
+        int[] firstNameHashes = new int[capacity];
+        int[] lastNameHashes = new int[capacity];
+        int[] copiedTable = new int[tableLengthFor(slots)];
+        ByteBuffer copiedArena = ByteBuffer.allocate(arenaSize - garbageBytes);
+        int mask = copiedTable.length - 1;
+        int position = 0;
+        for (int slot = 0, copied = 0; slot < slotCount; slot++) {
+            if (!isLive(slot)) {
+                continue;
+            }
+            copiedIds[copied] = ids[slot];
+            copiedVersions[copied] = versions[slot];
+            copiedDepartments[copied] = departments[slot];
+            copiedHashes[copied] = hashes[slot];
+            firstNameHashes[copied] = firstNames.hashes[slot];
+            lastNameHashes[copied] = lastNames.hashes[slot];
+            int length = recordLength(offsets[slot]);
+            copiedArena.put(position, arena, offsets[slot], length);
+            copiedOffsets[copied] = position;
+            position += length;
+            int bucket = hashes[slot] & mask;
+            while (copiedTable[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            copiedTable[bucket] = ++copied;
+        }
+        StringDictionary copiedDepartmentCodes = new StringDictionary();
+        for (int code = 0; code < departmentCodes.size(); code++) {
+            copiedDepartmentCodes.encode(departmentCodes.decode(code));
+        }
+        return new EmployeeColumnStore(copiedDepartmentCodes, copiedIds, copiedVersions, copiedDepartments, copiedOffsets, copiedHashes,
+                firstNameHashes, lastNameHashes, slots, copiedTable, copiedArena, position);
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    int slotCount() {
+        return slotCount;
+    }
+
+    boolean isLive(int slot) {
+        return versions[slot] != DEAD;
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    long version(int slot) {
+        return versions[slot];
+    }
+
+    // -1 when absent
+    int find(String email) {
+        byte[] key = encode(email);
+        int hash = hash(key);
+        int mask = table.length - 1;
+        for (int bucket = hash & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = table[bucket];
+            if (entry == 0) {
+                return -1;
+            }
+            if (hashes[entry - 1] == hash && emailEquals(entry - 1, key)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    int append(long id, String email, String firstName, String lastName, String departmentCode, long version) {
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            departments = Arrays.copyOf(departments, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            firstNames.grow(capacity);
+            lastNames.grow(capacity);
+        }
+        if ((liveCount + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        byte[] key = encode(email);
+        int slot = slotCount++;
+        liveCount++;
+        ids[slot] = id;
+        versions[slot] = version;
+        departments[slot] = departmentCodes.encode(departmentCode);
+        offsets[slot] = writeRecord(key, encode(firstName), encode(lastName));
+        hashes[slot] = hash(key);
+        firstNames.add(slot, nameHash(firstName));
+        lastNames.add(slot, nameHash(lastName));
+        int mask = table.length - 1;
+        int bucket = hashes[slot] & mask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = slot + 1;
+        return slot;
+    }
+
+    void update(int slot, String firstName, String lastName, String departmentCode, long version) {
+        byte[] email = fieldBytes(slot, 0);
+        int previousLength = recordLength(offsets[slot]);
+        // counted after the write, since a relocation during it still copies the previous record
+        offsets[slot] = writeRecord(email, encode(firstName), encode(lastName));
+        garbageBytes += previousLength;
+        departments[slot] = departmentCodes.encode(departmentCode);
+        firstNames.remove(slot);
+        firstNames.add(slot, nameHash(firstName));
+        lastNames.remove(slot);
+        lastNames.add(slot, nameHash(lastName));
+        versions[slot] = version;
+    }
+
+    void remove(int slot) {
+        garbageBytes += recordLength(offsets[slot]);
+        versions[slot] = DEAD;
+        liveCount--;
+        firstNames.remove(slot);
+        lastNames.remove(slot);
+        int mask = table.length - 1;
+        int bucket = hashes[slot] & mask;
+        while (table[bucket] != slot + 1) {
+            bucket = (bucket + 1) & mask;
+        }
+        // backward-shift deletion: pull later entries of the probe run into the gap instead of leaving a tombstone
+        int gap = bucket;
+        for (int next = (gap + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = hashes[table[next] - 1] & mask;
+            boolean reachableWithoutGap = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (!reachableWithoutGap) {
+                table[gap] = table[next];
+                gap = next;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    String email(int slot) {
+        return field(slot, 0);
+    }
+
+    String firstName(int slot) {
+        return field(slot, 1);
+    }
+
+    String lastName(int slot) {
+        return field(slot, 2);
+    }
+
+    String departmentCode(int slot) {
+        return departmentCodes.decode(departments[slot]);
+    }
+
+    EmployeeResponseDto toResponse(int slot) {
+        return new EmployeeResponseDto(firstName(slot), lastName(slot), departmentCode(slot));
+    }
+
+    EmployeeResponseDto toVersionedResponse(int slot) {
+        return new EmployeeResponseDto(firstName(slot), lastName(slot), departmentCode(slot), versions[slot]);
+    }
+
+    EmployeeSummaryDto toSummary(int slot) {
+        return new EmployeeSummaryDto(email(slot), firstName(slot), lastName(slot), departmentCode(slot));
+    }
+
+    void forEachByFirstName(String firstName, IntConsumer action) {
+        forEachByName(firstNames, 1, firstName, action);
+    }
+
+    void forEachByLastName(String lastName, IntConsumer action) {
+        forEachByName(lastNames, 2, lastName, action);
+    }
+
+    void forEachByDepartmentCode(String departmentCode, IntConsumer action) {
+        int normalizedCode = departmentCodes.normalizedCode(Employee.normalize(departmentCode));
+        if (normalizedCode < 0) {
+            return;
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (versions[slot] != DEAD && departmentCodes.normalizedCodeOf(departments[slot]) == normalizedCode) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    private void forEachByName(NameIndex nameIndex, int field, String name, IntConsumer action) {
+        String normalized = Employee.normalize(name);
+        byte[] key = encode(normalized);
+        IntStream.Builder matches = IntStream.builder();
+        nameIndex.forEachCandidate(key == null ? 0 : hash(key), slot -> {
+            if (fieldMatchesNormalized(slot, field, normalized, key)) {
+                matches.add(slot);
+            }
+        });
+        // chains run newest first; callers get slot order like the other listings
+        matches.build().sorted().forEach(action);
+    }
+
+    private static int nameHash(String name) {
+        return name == null ? 0 : hash(encode(Employee.normalize(name)));
+    }
+
+    // compares ASCII bytes in place and only decodes names that contain other characters
+    private boolean fieldMatchesNormalized(int slot, int field, String normalized, byte[] key) {
+        int offset = offsets[slot];
+        int length = fieldLength(offset, field);
+        if (length == NULL_FIELD || key == null) {
+            return length == NULL_FIELD && key == null;
+        }
+        int start = fieldStart(offset, field);
+        for (int i = 0; i < length; i++) {
+            byte b = arena.get(start + i);
+            if (b < 0) {
+                return Employee.normalize(field(slot, field)).equals(normalized);
+            }
+            if (i >= key.length || toLowerAscii(b) != key[i]) {
+                return false;
+            }
+        }
+        return length == key.length;
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private boolean emailEquals(int slot, byte[] key) {
+        int offset = offsets[slot];
+        if (fieldLength(offset, 0) != key.length) {
+            return false;
+        }
+        int start = offset + RECORD_HEADER_BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (arena.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String field(int slot, int field) {
+        byte[] bytes = fieldBytes(slot, field);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte[] fieldBytes(int slot, int field) {
+        int offset = offsets[slot];
+        int length = fieldLength(offset, field);
+        if (length == NULL_FIELD) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        arena.get(fieldStart(offset, field), bytes);
+        return bytes;
+    }
+
+    private int fieldLength(int offset, int field) {
+        return arena.getShort(offset + field * 2) & 0xFFFF;
+    }
+
+    private int fieldStart(int offset, int field) {
+        int start = offset + RECORD_HEADER_BYTES;
+        for (int previous = 0; previous < field; previous++) {
+            start += storedLength(fieldLength(offset, previous));
+        }
+        return start;
+    }
+
+    int recordLengthOf(int slot) {
+        return recordLength(offsets[slot]);
+    }
+
+    private int recordLength(int offset) {
+        return RECORD_HEADER_BYTES + storedLength(fieldLength(offset, 0)) + storedLength(fieldLength(offset, 1)) + storedLength(fieldLength(offset, 2));
+    }
+
+    private static int storedLength(int length) {
+        return length == NULL_FIELD ? 0 : length;
+    }
+
+    private int writeRecord(byte[] email, byte[] firstName, byte[] lastName) {
+        int length = RECORD_HEADER_BYTES + lengthOf(email) + lengthOf(firstName) + lengthOf(lastName);
+        if (arenaSize + length > arena.capacity()) {
+            relocate(length);
+        }
+        int offset = arenaSize;
+        int position = offset + RECORD_HEADER_BYTES;
+        int field = 0;
+        for (byte[] bytes : new byte[][]{email, firstName, lastName}) {
+            arena.putShort(offset + field++ * 2, (short) (bytes == null ? NULL_FIELD : bytes.length));
+            if (bytes != null) {
+                arena.put(position, bytes);
+                position += bytes.length;
+            }
+        }
+        arenaSize = position;
+        return offset;
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        if (bytes == null) {
+            return 0;
+        }
+        if (bytes.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("Field of " + bytes.length + " bytes exceeds " + MAX_FIELD_BYTES);
+        }
+        return bytes.length;
+    }
+
+    // copies the live records into a fresh buffer, dropping garbage, with room for at least the next record
+    private void relocate(int needed) {
+        long liveBytes = (long) arenaSize - garbageBytes;
+        long capacity = Math.max(arena.capacity(), (liveBytes + needed) * 2);
+        if (liveBytes + needed > MAX_ARENA_BYTES) {
+            throw new IllegalStateException("Off-heap store is full at " + liveCount + " employees");
+        }
+        ByteBuffer relocated = ByteBuffer.allocateDirect((int) Math.min(capacity, MAX_ARENA_BYTES));
+        int position = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (versions[slot] == DEAD) {
+                continue;
+            }
+            int length = recordLength(offsets[slot]);
+            relocated.put(position, arena, offsets[slot], length);
+            offsets[slot] = position;
+            position += length;
+        }
+        arena = relocated;
+        arenaSize = position;
+        garbageBytes = 0;
+    }
+
+    private void rehash(int length) {
+        int[] rehashed = new int[length];
+        int mask = length - 1;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (versions[slot] == DEAD) {
+                continue;
+            }
+            int bucket = hashes[slot] & mask;
+            while (rehashed[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            rehashed[bucket] = slot + 1;
+        }
+        table = rehashed;
+        firstNames.rebuild(length, slotCount, this::isLive);
+        lastNames.rebuild(length, slotCount, this::isLive);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // FNV-1a over the bytes, finished with the murmur3 mixer so the low bits used for buckets are well spread
+    static int hash(byte[] bytes) {
+        int hash = 0x811C9DC5;
+        for (byte b : bytes) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+}
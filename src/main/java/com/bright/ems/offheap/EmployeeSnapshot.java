@@ -0,0 +1,175 @@
+package com.bright.ems.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * The columns of an {@link EmployeeColumnStore} written one after the other into a memory-mapped
+ * file, so a restart copies arrays back in bulk instead of reading and parsing every row. Dead
+ * slots and garbage are left out, and the string buffer is mapped privately rather than copied.
+ *
+ * <p>The header carries the {@link Fingerprint} of the rows the snapshot holds, which the caller
+ * passes in since it has usually just taken it; the caller compares it with the table to decide
+ * whether the snapshot is still current.
+ */
+final class EmployeeSnapshot {
+
+    private static final int MAGIC = 0x454D534F;
+    private static final int FORMAT = 2;
+    private static final int HEADER_BYTES = 7 * Integer.BYTES + 5 * Long.BYTES;
+    private static final int NULL_VALUE = -1;
+
+    private EmployeeSnapshot() {
+    }
+
+    static void write(EmployeeColumnStore store, Fingerprint fingerprint, Path file) throws IOException {
+        int slots = store.liveCount();
+        int[] newOffsets = new int[slots];
+        int[] oldSlots = new int[slots];
+        int arenaSize = 0;
+        for (int slot = 0, live = 0; slot < store.slotCount(); slot++) {
+            if (store.isLive(slot)) {
+                oldSlots[live] = slot;
+                newOffsets[live++] = arenaSize;
+                arenaSize += store.recordLengthOf(slot);
+            }
+        }
+        int[] table = new int[EmployeeColumnStore.tableLengthFor(slots)];
+        int mask = table.length - 1;
+        for (int live = 0; live < slots; live++) {
+            int bucket = store.hashes[oldSlots[live]] & mask;
+            while (table[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            table[bucket] = live + 1;
+        }
+        byte[][] dictionary = new byte[store.departmentCodes.size()][];
+        int dictionaryBytes = 0;
+        for (int code = 0; code < dictionary.length; code++) {
+            String value = store.departmentCodes.decode(code);
+            dictionary[code] = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+            dictionaryBytes += Integer.BYTES + (value == null ? 0 : dictionary[code].length);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + dictionaryBytes);
+            header.putInt(MAGIC).putInt(FORMAT).putInt(slots).putInt(table.length).putInt(arenaSize).putInt(dictionary.length).putInt(dictionaryBytes)
+                    .putLong(fingerprint.rows()).putLong(fingerprint.maxId()).putLong(fingerprint.idSum()).putLong(fingerprint.versionSum())
+                    .putLong(fingerprint.contentHash());
+            for (byte[] value : dictionary) {
+                header.putInt(value == null ? NULL_VALUE : value.length);
+                if (value != null) {
+                    header.put(value);
+                }
+            }
+            long position = HEADER_BYTES + dictionaryBytes;
+
+            ByteBuffer ids = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) slots * Long.BYTES);
+            ByteBuffer versions = channel.map(FileChannel.MapMode.READ_WRITE, position += (long) slots * Long.BYTES, (long) slots * Long.BYTES);
+            ByteBuffer departments = channel.map(FileChannel.MapMode.READ_WRITE, position += (long) slots * Long.BYTES, (long) slots * Integer.BYTES);
+            ByteBuffer hashes = channel.map(FileChannel.MapMode.READ_WRITE, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES);
+            ByteBuffer firstNameHashes = channel.map(FileChannel.MapMode.READ_WRITE, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES);
+            ByteBuffer lastNameHashes = channel.map(FileChannel.MapMode.READ_WRITE, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES);
+            for (int slot : oldSlots) {
+                ids.putLong(store.ids[slot]);
+                versions.putLong(store.versions[slot]);
+                departments.putInt(store.departments[slot]);
+                hashes.putInt(store.hashes[slot]);
+                firstNameHashes.putInt(store.firstNames.hashes[slot]);
+                lastNameHashes.putInt(store.lastNames.hashes[slot]);
+            }
+            channel.map(FileChannel.MapMode.READ_WRITE, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES)
+                    .asIntBuffer().put(newOffsets);
+            channel.map(FileChannel.MapMode.READ_WRITE, position += (long) slots * Integer.BYTES, (long) table.length * Integer.BYTES)
+                    .asIntBuffer().put(table);
+            ByteBuffer arena = channel.map(FileChannel.MapMode.READ_WRITE, position + (long) table.length * Integer.BYTES, arenaSize);
+            for (int slot : oldSlots) {
+                int length = store.recordLengthOf(slot);
+                arena.put(store.arena.slice(store.offsets[slot], length));
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Optional<Fingerprint> readFingerprint(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return Optional.empty();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT) {
+                return Optional.empty();
+            }
+            header.position(7 * Integer.BYTES);
+            return Optional.of(new Fingerprint(header.getLong(), header.getLong(), header.getLong(), header.getLong(), header.getLong()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    static EmployeeColumnStore read(Path file) throws IOException {
+        // a private mapping needs a writable channel even though nothing reaches the file
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT) {
+                throw new IOException("Not an employee snapshot: " + file);
+            }
+            int slots = header.getInt();
+            int tableLength = header.getInt();
+            int arenaSize = header.getInt();
+            int dictionarySize = header.getInt();
+            int dictionaryBytes = header.getInt();
+
+            ByteBuffer dictionary = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, dictionaryBytes);
+            StringDictionary departmentCodes = new StringDictionary();
+            for (int code = 0; code < dictionarySize; code++) {
+                int length = dictionary.getInt();
+                String value = null;
+                if (length != NULL_VALUE) {
+                    byte[] bytes = new byte[length];
+                    dictionary.get(bytes);
+                    value = new String(bytes, StandardCharsets.UTF_8);
+                }
+                departmentCodes.encode(value);
+            }
+            long position = HEADER_BYTES + dictionaryBytes;
+
+            int capacity = Math.max(slots, 16);
+            long[] ids = new long[capacity];
+            long[] versions = new long[capacity];
+            int[] departments = new int[capacity];
+            int[] hashes = new int[capacity];
+            int[] firstNameHashes = new int[capacity];
+            int[] lastNameHashes = new int[capacity];
+            int[] offsets = new int[capacity];
+            int[] table = new int[tableLength];
+            channel.map(FileChannel.MapMode.READ_ONLY, position, (long) slots * Long.BYTES).asLongBuffer().get(ids, 0, slots);
+            channel.map(FileChannel.MapMode.READ_ONLY, position += (long) slots * Long.BYTES, (long) slots * Long.BYTES).asLongBuffer().get(versions, 0, slots);
+            channel.map(FileChannel.MapMode.READ_ONLY, position += (long) slots * Long.BYTES, (long) slots * Integer.BYTES).asIntBuffer().get(departments, 0, slots);
+            channel.map(FileChannel.MapMode.READ_ONLY, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES).asIntBuffer().get(hashes, 0, slots);
+            channel.map(FileChannel.MapMode.READ_ONLY, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES).asIntBuffer().get(firstNameHashes, 0, slots);
+            channel.map(FileChannel.MapMode.READ_ONLY, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES).asIntBuffer().get(lastNameHashes, 0, slots);
+            channel.map(FileChannel.MapMode.READ_ONLY, position += (long) slots * Integer.BYTES, (long) slots * Integer.BYTES).asIntBuffer().get(offsets, 0, slots);
+            channel.map(FileChannel.MapMode.READ_ONLY, position += (long) slots * Integer.BYTES, (long) tableLength * Integer.BYTES).asIntBuffer().get(table);
+            // copy-on-write: pages are read on first touch instead of copied up front
+            ByteBuffer arena = channel.map(FileChannel.MapMode.PRIVATE, position + (long) tableLength * Integer.BYTES, arenaSize);
+            return new EmployeeColumnStore(departmentCodes, ids, versions, departments, offsets, hashes,
+                    firstNameHashes, lastNameHashes, slots, table, arena, arenaSize);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.bright.ems.offheap;
+
+import com.bright.ems.model.Employee;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The employees table over plain JDBC, for the off-heap service that keeps JPA out of its
+ * path. Ids are taken from {@code employees_seq} one value per row, which never lands in a
+ * block Hibernate's pooled optimizer hands out, so rows written here and through JPA coexist.
+ */
+public class EmployeeTable {
+
+    record Row(long id, String email, String firstName, String lastName, String departmentCode, long version) {
+    }
+
+    private static final String COLUMNS = "id, email, first_name, last_name, department_code, version";
+    private static final RowMapper<Row> ROW_MAPPER = (resultSet, rowNum) -> new Row(
+            resultSet.getLong("id"),
+            resultSet.getString("email"),
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getString("department_code"),
+            resultSet.getLong("version")
+    );
+    // Fingerprint.rowHash in SQL; the sum is exact, so its low 64 bits match the store's wrapping sum
+    private static final String ROW_HASH = "cast(substring(hash('SHA-256', id || char(31) || coalesce(version, 0)"
+            + " || char(31) || coalesce(email, char(0)) || char(31) || coalesce(first_name, char(0))"
+            + " || char(31) || coalesce(last_name, char(0)) || char(31) || coalesce(department_code, char(0))), 1, 8) as bigint)";
+    private static final String INSERT = "insert into employees (id, email, first_name, last_name, department_code,"
+            + " normalized_first_name, normalized_last_name, normalized_department_code, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeeTable(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    Fingerprint fingerprint() {
+        return jdbcTemplate.queryForObject("select count(*), coalesce(max(id), 0), coalesce(sum(id), 0), coalesce(sum(version), 0),"
+                        + " coalesce(sum(" + ROW_HASH + "), 0) from employees",
+                (resultSet, rowNum) -> new Fingerprint(resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3), resultSet.getLong(4),
+                        resultSet.getBigDecimal(5).toBigInteger().longValue()));
+    }
+
+    void forEach(Consumer<Row> consumer) {
+        jdbcTemplate.query("select " + COLUMNS + " from employees order by id",
+                (RowCallbackHandler) resultSet -> consumer.accept(ROW_MAPPER.mapRow(resultSet, resultSet.getRow())));
+    }
+
+    List<Row> findByEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query("select " + COLUMNS + " from employees where email in (:emails)",
+                new MapSqlParameterSource("emails", emails), ROW_MAPPER);
+    }
+
+    long[] nextIds(int count) {
+        return jdbcTemplate.queryForList("select next value for employees_seq from system_range(1, ?)", Long.class, count)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    void insert(List<Row> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, row.id());
+            statement.setString(2, row.email());
+            statement.setString(3, row.firstName());
+            statement.setString(4, row.lastName());
+            statement.setString(5, row.departmentCode());
+            statement.setString(6, Employee.normalize(row.firstName()));
+            statement.setString(7, Employee.normalize(row.lastName()));
+            statement.setString(8, Employee.normalize(row.departmentCode()));
+            statement.setLong(9, row.version());
+        });
+    }
+
+    // conditional on the version the store holds; 0 means the row changed behind the store's back
+    int update(Row row) {
+        return jdbcTemplate.update("update employees set first_name = ?, last_name = ?, department_code = ?,"
+                        + " normalized_first_name = ?, normalized_last_name = ?, normalized_department_code = ?, version = version + 1"
+                        + " where id = ? and version = ?",
+                row.firstName(), row.lastName(), row.departmentCode(),
+                Employee.normalize(row.firstName()), Employee.normalize(row.lastName()), Employee.normalize(row.departmentCode()),
+                row.id(), row.version());
+    }
+
+    int delete(long id, long version) {
+        return jdbcTemplate.update("delete from employees where id = ? and version = ?", id, version);
+    }
+}
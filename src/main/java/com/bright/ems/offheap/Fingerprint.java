@@ -0,0 +1,59 @@
+package com.bright.ems.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Aggregated in one scan of the table or the store. The count, sums and max id catch rows that
+ * were added, removed or re-versioned; the content hash, a sum of per-row SHA-256 prefixes, also
+ * catches what they miss, such as a row rewritten without a version bump or two changes whose
+ * sums cancel out.
+ */
+record Fingerprint(long rows, long maxId, long idSum, long versionSum, long contentHash) {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final char NULL_FIELD = '\0';
+
+    // what EmployeeTable hashes in SQL for the same row: the fields joined by the unit separator, a null as NUL
+    static long rowHash(MessageDigest sha256, long id, long version, String email, String firstName, String lastName, String departmentCode) {
+        String row = String.valueOf(id) + SEPARATOR + version + SEPARATOR + orNull(email) + SEPARATOR + orNull(firstName)
+                + SEPARATOR + orNull(lastName) + SEPARATOR + orNull(departmentCode);
+        return ByteBuffer.wrap(sha256.digest(row.getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    private static String orNull(String field) {
+        return field == null ? String.valueOf(NULL_FIELD) : field;
+    }
+
+    static final class Accumulator {
+
+        private final MessageDigest sha256;
+        private long rows;
+        private long maxId;
+        private long idSum;
+        private long versionSum;
+        private long contentHash;
+
+        Accumulator() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void add(long id, long version, String email, String firstName, String lastName, String departmentCode) {
+            rows++;
+            maxId = Math.max(maxId, id);
+            idSum += id;
+            versionSum += version;
+            contentHash += rowHash(sha256, id, version, email, firstName, lastName, departmentCode);
+        }
+
+        Fingerprint fingerprint() {
+            return new Fingerprint(rows, maxId, idSum, versionSum, contentHash);
+        }
+    }
+}
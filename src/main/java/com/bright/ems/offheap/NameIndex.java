@@ -0,0 +1,77 @@
+package com.bright.ems.offheap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Slots by the hash of a normalized name, chained through a per-slot column instead of per-entry
+ * nodes. A chain holds every name whose hash falls in the bucket, so callers compare the name of
+ * each candidate. Not thread-safe.
+ */
+class NameIndex {
+
+    int[] hashes;
+    // slot + 1 of the next entry in the chain, 0 at its end
+    private int[] next;
+    private int[] heads;
+
+    NameIndex(int capacity, int tableLength) {
+        this.hashes = new int[capacity];
+        this.next = new int[capacity];
+        this.heads = new int[tableLength];
+    }
+
+    // chains rebuilt from stored hashes, as after reading a snapshot
+    NameIndex(int[] hashes, int slotCount, int tableLength) {
+        this.hashes = hashes;
+        this.next = new int[hashes.length];
+        rebuild(tableLength, slotCount, slot -> true);
+    }
+
+    void grow(int capacity) {
+        hashes = Arrays.copyOf(hashes, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+
+    void rebuild(int tableLength, int slotCount, IntPredicate live) {
+        heads = new int[tableLength];
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (live.test(slot)) {
+                link(slot);
+            }
+        }
+    }
+
+    void add(int slot, int hash) {
+        hashes[slot] = hash;
+        link(slot);
+    }
+
+    private void link(int slot) {
+        int bucket = hashes[slot] & (heads.length - 1);
+        next[slot] = heads[bucket];
+        heads[bucket] = slot + 1;
+    }
+
+    void remove(int slot) {
+        int bucket = hashes[slot] & (heads.length - 1);
+        if (heads[bucket] == slot + 1) {
+            heads[bucket] = next[slot];
+            return;
+        }
+        int previous = heads[bucket] - 1;
+        while (next[previous] != slot + 1) {
+            previous = next[previous] - 1;
+        }
+        next[previous] = next[slot];
+    }
+
+    void forEachCandidate(int hash, IntConsumer action) {
+        for (int entry = heads[hash & (heads.length - 1)]; entry != 0; entry = next[entry - 1]) {
+            if (hashes[entry - 1] == hash) {
+                action.accept(entry - 1);
+            }
+        }
+    }
+}
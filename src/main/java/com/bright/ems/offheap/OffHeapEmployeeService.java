@@ -0,0 +1,537 @@
+package com.bright.ems.offheap;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.exception.employee.DuplicateEmailException;
+import com.bright.ems.service.EmployeeOutcome;
+import com.bright.ems.service.EmployeeService;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * {@link EmployeeService} that answers every read from an {@link EmployeeColumnStore} in memory
+ * and writes through to the employees table over JDBC before changing the store, so the table
+ * stays the source of truth for everything else. Startup maps the last snapshot when its
+ * fingerprint still matches the table and loads the table otherwise.
+ *
+ * <p>Writers are serialized and hold the store's write lock only to apply a change the table has
+ * already committed. A snapshot copies the store under the read lock and fingerprints and writes
+ * the copy holding no lock at all. Rows written around this service are picked up when a
+ * snapshot finds the fingerprints apart and reloads the table, the one step that holds writers
+ * off. Page cursors are slot numbers and do not survive a reload or restart.
+ */
+@Slf4j
+public class OffHeapEmployeeService implements EmployeeService, AutoCloseable {
+
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 1000;
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final EmployeeTable employeeTable;
+    private final Path snapshotFile;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantReadWriteLock storeLock = new ReentrantReadWriteLock();
+    // only writers change the store, so a writer holding this reads it without the store lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private EmployeeColumnStore store;
+    // bumped by every change to the store, under the store's write lock
+    private long modifications;
+    // what the snapshot file holds, under snapshotLock; written copies keep no store
+    private Copy snapshotted;
+
+    public OffHeapEmployeeService(EmployeeTable employeeTable, Path snapshotFile, Validator validator, ApplicationEventPublisher eventPublisher) {
+        this.employeeTable = employeeTable;
+        this.snapshotFile = snapshotFile;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void load() {
+        Fingerprint current = employeeTable.fingerprint();
+        try {
+            if (EmployeeSnapshot.readFingerprint(snapshotFile).filter(current::equals).isPresent()) {
+                store = EmployeeSnapshot.read(snapshotFile);
+                snapshotted = new Copy(null, modifications, current);
+                log.info("Mapped {} employees from snapshot {}", store.liveCount(), snapshotFile);
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable employee snapshot {}", snapshotFile, e);
+        }
+        store = loadTable(current);
+        snapshotted = new Copy(null, -1, null);
+        log.info("Loaded {} employees from the employees table", store.liveCount());
+    }
+
+    // also reloads the store first when the table was changed around it
+    @Scheduled(fixedDelayString = "${ems.off-heap.snapshot-interval}", initialDelayString = "${ems.off-heap.snapshot-interval}")
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            long before = read(ignored -> modifications);
+            Fingerprint current = employeeTable.fingerprint();
+            Copy copy = before == snapshotted.modifications() ? snapshotted : copy();
+            // a write landing between the two reads sets them apart without any drift, so only a quiet interval is compared
+            if (copy.modifications() == before && !current.equals(copy.fingerprint()) && reloadIfDrifted()) {
+                copy = copy();
+            }
+            if (copy.store() != null) {
+                EmployeeSnapshot.write(copy.store(), copy.fingerprint(), snapshotFile);
+                snapshotted = new Copy(null, copy.modifications(), copy.fingerprint());
+            }
+        } catch (IOException e) {
+            log.warn("Could not write employee snapshot {}", snapshotFile, e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private Copy copy() {
+        EmployeeColumnStore copy;
+        long copied;
+        storeLock.readLock().lock();
+        try {
+            copy = store.compactCopy();
+            copied = modifications;
+        } finally {
+            storeLock.readLock().unlock();
+        }
+        return new Copy(copy, copied, copy.fingerprint());
+    }
+
+    // compares again with writers held off, which makes the comparison exact
+    private boolean reloadIfDrifted() {
+        writeLock.lock();
+        try {
+            Fingerprint current = employeeTable.fingerprint();
+            if (current.equals(store.fingerprint())) {
+                return false;
+            }
+            log.warn("Employees table ({} rows) no longer matches the off-heap store ({} employees), reloading", current.rows(), store.liveCount());
+            EmployeeColumnStore reloaded = loadTable(current);
+            apply(ignored -> store = reloaded);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private EmployeeColumnStore loadTable(Fingerprint fingerprint) {
+        EmployeeColumnStore loaded = new EmployeeColumnStore((int) Math.min(fingerprint.rows(), Integer.MAX_VALUE));
+        employeeTable.forEach(row -> loaded.append(row.id(), row.email(), row.firstName(), row.lastName(), row.departmentCode(), row.version()));
+        return loaded;
+    }
+
+    @Override
+    public void close() {
+        snapshot();
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> createEmployee(EmployeeRequestDto employeeRequestDto) {
+        return Optional.of(tryCreateEmployee(employeeRequestDto).orElseThrow());
+    }
+
+    @Override
+    public EmployeeOutcome tryCreateEmployee(EmployeeRequestDto employeeRequestDto) {
+        Optional<EmployeeTable.Row> created = write(List.of(employeeRequestDto.email()), () -> {
+            if (store.find(employeeRequestDto.email()) >= 0) {
+                return Optional.empty();
+            }
+            EmployeeTable.Row row = newRow(employeeTable.nextIds(1)[0], employeeRequestDto);
+            employeeTable.insert(List.of(row));
+            apply(store -> append(store, row));
+            return Optional.of(row);
+        });
+        if (created.isEmpty()) {
+            return new EmployeeOutcome.Duplicate(employeeRequestDto.email());
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(toSummary(created.get())));
+        return new EmployeeOutcome.Success(toResponse(created.get()));
+    }
+
+    @Override
+    public List<EmployeeBatchResultDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        EmployeeBatchResultDto[] results = new EmployeeBatchResultDto[employeeRequestDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < employeeRequestDtos.size(); i++) {
+            EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+            if (employeeRequestDto == null) {
+                results[i] = new EmployeeBatchResultDto(null, EmployeeBatchResultDto.Status.INVALID, null, "employee: must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequestDto>> violations = validator.validate(employeeRequestDto);
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.INVALID, null, toMessage(violations));
+            }
+        }
+        List<String> emails = validIndexes.stream().map(i -> employeeRequestDtos.get(i).email()).toList();
+        List<EmployeeTable.Row> created = write(emails, () -> {
+            Set<String> seenEmails = new HashSet<>();
+            List<Integer> createIndexes = new ArrayList<>();
+            for (int i : validIndexes) {
+                EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+                if (store.find(employeeRequestDto.email()) >= 0 || !seenEmails.add(employeeRequestDto.email())) {
+                    results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.DUPLICATE, null, DuplicateEmailException.MESSAGE_PREFIX + employeeRequestDto.email());
+                } else {
+                    createIndexes.add(i);
+                }
+            }
+            if (createIndexes.isEmpty()) {
+                return List.of();
+            }
+            long[] ids = employeeTable.nextIds(createIndexes.size());
+            List<EmployeeTable.Row> rows = new ArrayList<>(createIndexes.size());
+            for (int i : createIndexes) {
+                EmployeeTable.Row row = newRow(ids[rows.size()], employeeRequestDtos.get(i));
+                rows.add(row);
+                results[i] = new EmployeeBatchResultDto(row.email(), EmployeeBatchResultDto.Status.CREATED, toResponse(row), null);
+            }
+            employeeTable.inTransaction(() -> {
+                employeeTable.insert(rows);
+                return null;
+            });
+            apply(store -> rows.forEach(row -> append(store, row)));
+            return rows;
+        });
+        created.forEach(row -> eventPublisher.publishEvent(EmployeeChangedEvent.created(toSummary(row))));
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(List<String> emails) {
+        return read(store -> emails.stream().filter(email -> store.find(email) >= 0).collect(Collectors.toSet()));
+    }
+
+    // rows taken since the caller's lookup are skipped rather than failing the batch
+    @Override
+    public int insertEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        List<EmployeeTable.Row> created = write(employeeRequestDtos.stream().map(EmployeeRequestDto::email).toList(), () -> {
+            List<EmployeeRequestDto> fresh = employeeRequestDtos.stream().filter(employeeRequestDto -> store.find(employeeRequestDto.email()) < 0).toList();
+            if (fresh.isEmpty()) {
+                return List.of();
+            }
+            long[] ids = employeeTable.nextIds(fresh.size());
+            List<EmployeeTable.Row> rows = new ArrayList<>(fresh.size());
+            for (EmployeeRequestDto employeeRequestDto : fresh) {
+                rows.add(newRow(ids[rows.size()], employeeRequestDto));
+            }
+            employeeTable.inTransaction(() -> {
+                employeeTable.insert(rows);
+                return null;
+            });
+            apply(store -> rows.forEach(row -> append(store, row)));
+            return rows;
+        });
+        created.forEach(row -> eventPublisher.publishEvent(EmployeeChangedEvent.created(toSummary(row))));
+        return created.size();
+    }
+
+    @Override
+    public List<EmployeeResponseDto> getAllEmployees() {
+        return read(store -> {
+            List<EmployeeResponseDto> employeeResponseDtos = new ArrayList<>(store.liveCount());
+            for (int slot = 0; slot < store.slotCount(); slot++) {
+                if (store.isLive(slot)) {
+                    employeeResponseDtos.add(store.toResponse(slot));
+                }
+            }
+            return employeeResponseDtos;
+        });
+    }
+
+    @Override
+    public EmployeePageResponseDto getEmployees(Long after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return read(store -> {
+            List<EmployeeResponseDto> content = new ArrayList<>(pageSize);
+            int slot = after == null ? 0 : Math.clamp(after, 0, store.slotCount());
+            int lastSlot = -1;
+            for (; slot < store.slotCount() && content.size() < pageSize; slot++) {
+                if (store.isLive(slot)) {
+                    content.add(store.toVersionedResponse(slot));
+                    lastSlot = slot;
+                }
+            }
+            while (slot < store.slotCount() && !store.isLive(slot)) {
+                slot++;
+            }
+            Long nextCursor = slot < store.slotCount() ? lastSlot + 1L : null;
+            return new EmployeePageResponseDto(content, nextCursor);
+        });
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeResponseDto> consumer) {
+        // the consumer writes to a client, so the lock is only held while copying out a chunk
+        int[] nextSlot = {0};
+        List<EmployeeResponseDto> chunk;
+        do {
+            chunk = read(store -> {
+                List<EmployeeResponseDto> employeeResponseDtos = new ArrayList<>(STREAM_CHUNK_SIZE);
+                int slot = nextSlot[0];
+                for (; slot < store.slotCount() && employeeResponseDtos.size() < STREAM_CHUNK_SIZE; slot++) {
+                    if (store.isLive(slot)) {
+                        employeeResponseDtos.add(store.toResponse(slot));
+                    }
+                }
+                nextSlot[0] = slot;
+                return employeeResponseDtos;
+            });
+            chunk.forEach(consumer);
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByFirstName(String firstName) {
+        return read(store -> {
+            List<EmployeeResponseDto> employeeResponseDtos = new ArrayList<>();
+            store.forEachByFirstName(firstName, slot -> employeeResponseDtos.add(store.toResponse(slot)));
+            return employeeResponseDtos;
+        });
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByLastName(String lastName) {
+        return read(store -> {
+            List<EmployeeResponseDto> employeeResponseDtos = new ArrayList<>();
+            store.forEachByLastName(lastName, slot -> employeeResponseDtos.add(store.toResponse(slot)));
+            return employeeResponseDtos;
+        });
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByDepartmentCode(String departmentCode) {
+        return read(store -> {
+            List<EmployeeResponseDto> employeeResponseDtos = new ArrayList<>();
+            store.forEachByDepartmentCode(departmentCode, slot -> employeeResponseDtos.add(store.toResponse(slot)));
+            return employeeResponseDtos;
+        });
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> findByEmail(String email) {
+        return read(store -> {
+            int slot = store.find(email);
+            return slot < 0 ? Optional.empty() : Optional.of(store.toVersionedResponse(slot));
+        });
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto) {
+        return updateEmployee(email, employeeRequestDto, null);
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        return Optional.of(tryUpdateEmployee(email, employeeRequestDto, expectedVersion).orElseThrow());
+    }
+
+    @Override
+    public EmployeeOutcome tryUpdateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        return update(email, expectedVersion, previous -> new EmployeeSummaryDto(email,
+                employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode()));
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto) {
+        return updateEmployeePartially(email, employeePatchDto, null);
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        return Optional.of(tryUpdateEmployeePartially(email, employeePatchDto, expectedVersion).orElseThrow());
+    }
+
+    @Override
+    public EmployeeOutcome tryUpdateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        return update(email, expectedVersion, previous -> new EmployeeSummaryDto(email,
+                employeePatchDto.firstName() != null ? employeePatchDto.firstName() : previous.firstName(),
+                employeePatchDto.lastName() != null ? employeePatchDto.lastName() : previous.lastName(),
+                employeePatchDto.departmentCode() != null ? employeePatchDto.departmentCode() : previous.departmentCode()));
+    }
+
+    private EmployeeOutcome update(String email, Long expectedVersion, UnaryOperator<EmployeeSummaryDto> change) {
+        EmployeeSummaryDto[] previous = new EmployeeSummaryDto[1];
+        EmployeeOutcome outcome = write(List.of(email), () -> {
+            int slot = store.find(email);
+            if (slot < 0) {
+                return new EmployeeOutcome.NotFound(email);
+            }
+            long version = store.version(slot);
+            if (expectedVersion != null && expectedVersion != version) {
+                return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+            }
+            previous[0] = store.toSummary(slot);
+            EmployeeSummaryDto current = change.apply(previous[0]);
+            if (employeeTable.update(new EmployeeTable.Row(store.id(slot), email, current.firstName(), current.lastName(), current.departmentCode(), version)) == 0) {
+                throw new ObjectOptimisticLockingFailureException("employees", email);
+            }
+            apply(store -> store.update(slot, current.firstName(), current.lastName(), current.departmentCode(), version + 1));
+            return new EmployeeOutcome.Success(new EmployeeResponseDto(current.firstName(), current.lastName(), current.departmentCode(), version + 1));
+        });
+        if (outcome instanceof EmployeeOutcome.Success(EmployeeResponseDto current)) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous[0],
+                    new EmployeeSummaryDto(email, current.firstName(), current.lastName(), current.departmentCode())));
+        }
+        return outcome;
+    }
+
+    @Override
+    public void deleteEmployee(String email) {
+        deleteEmployee(email, null);
+    }
+
+    @Override
+    public void deleteEmployee(String email, Long expectedVersion) {
+        tryDeleteEmployee(email, expectedVersion).orElseThrow();
+    }
+
+    @Override
+    public EmployeeOutcome tryDeleteEmployee(String email, Long expectedVersion) {
+        EmployeeSummaryDto[] deleted = new EmployeeSummaryDto[1];
+        EmployeeOutcome outcome = write(List.of(email), () -> {
+            int slot = store.find(email);
+            if (slot < 0) {
+                return new EmployeeOutcome.NotFound(email);
+            }
+            if (expectedVersion != null && expectedVersion != store.version(slot)) {
+                return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+            }
+            if (employeeTable.delete(store.id(slot), store.version(slot)) == 0) {
+                throw new ObjectOptimisticLockingFailureException("employees", email);
+            }
+            deleted[0] = store.toSummary(slot);
+            apply(store -> store.remove(slot));
+            return new EmployeeOutcome.Deleted();
+        });
+        if (deleted[0] != null) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(email, deleted[0]));
+        }
+        return outcome;
+    }
+
+    private <T> T read(Function<EmployeeColumnStore, T> query) {
+        storeLock.readLock().lock();
+        try {
+            return query.apply(store);
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    // a write that finds the table out of step with the store refreshes its emails from the table and runs once more
+    private <T> T write(Collection<String> emails, Supplier<T> write) {
+        writeLock.lock();
+        try {
+            try {
+                return write.get();
+            } catch (DuplicateKeyException | ObjectOptimisticLockingFailureException e) {
+                log.warn("Employees table changed outside the off-heap store, refreshing {} emails", emails.size());
+                refresh(emails);
+                return write.get();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(Consumer<EmployeeColumnStore> change) {
+        storeLock.writeLock().lock();
+        try {
+            change.accept(store);
+            modifications++;
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    private void refresh(Collection<String> emails) {
+        List<String> distinctEmails = new ArrayList<>(new LinkedHashSet<>(emails));
+        Map<String, EmployeeTable.Row> rows = new HashMap<>();
+        for (int from = 0; from < distinctEmails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+            employeeTable.findByEmails(distinctEmails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, distinctEmails.size())))
+                    .forEach(row -> rows.put(row.email(), row));
+        }
+        apply(store -> {
+            for (String email : distinctEmails) {
+                int slot = store.find(email);
+                EmployeeTable.Row row = rows.get(email);
+                if (slot >= 0 && (row == null || row.id() != store.id(slot))) {
+                    store.remove(slot);
+                    slot = -1;
+                }
+                if (row == null) {
+                    continue;
+                }
+                if (slot >= 0) {
+                    store.update(slot, row.firstName(), row.lastName(), row.departmentCode(), row.version());
+                } else {
+                    append(store, row);
+                }
+            }
+        });
+    }
+
+    private static void append(EmployeeColumnStore store, EmployeeTable.Row row) {
+        store.append(row.id(), row.email(), row.firstName(), row.lastName(), row.departmentCode(), row.version());
+    }
+
+    private static EmployeeTable.Row newRow(long id, EmployeeRequestDto employeeRequestDto) {
+        return new EmployeeTable.Row(id, employeeRequestDto.email(), employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode(), 0);
+    }
+
+    private static EmployeeResponseDto toResponse(EmployeeTable.Row row) {
+        return new EmployeeResponseDto(row.firstName(), row.lastName(), row.departmentCode(), row.version());
+    }
+
+    private static EmployeeSummaryDto toSummary(EmployeeTable.Row row) {
+        return new EmployeeSummaryDto(row.email(), row.firstName(), row.lastName(), row.departmentCode());
+    }
+
+    private static String toMessage(Set<ConstraintViolation<EmployeeRequestDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(","));
+    }
+
+    private record Copy(EmployeeColumnStore store, long modifications, Fingerprint fingerprint) {
+    }
+}
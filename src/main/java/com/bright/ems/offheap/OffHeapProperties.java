@@ -0,0 +1,14 @@
+package com.bright.ems.offheap;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("ems.off-heap")
+public record OffHeapProperties(
+        boolean enabled,
+        Path snapshotFile,
+        Duration snapshotInterval
+) {
+}
@@ -0,0 +1,54 @@
+package com.bright.ems.offheap;
+
+import com.bright.ems.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense int codes for a small set of repeated strings, the department codes. Each code also
+ * carries the code of its normalized form, so a case-insensitive lookup compares ints instead of
+ * strings. Not thread-safe.
+ */
+class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> normalizedCodes = new HashMap<>();
+    private int[] normalizedCodeOf = new int[16];
+
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int added = values.size();
+        values.add(value);
+        codes.put(value, added);
+        if (added == normalizedCodeOf.length) {
+            normalizedCodeOf = Arrays.copyOf(normalizedCodeOf, added * 2);
+        }
+        normalizedCodeOf[added] = normalizedCodes.computeIfAbsent(Employee.normalize(value), normalized -> normalizedCodes.size());
+        return added;
+    }
+
+    String decode(int code) {
+        return values.get(code);
+    }
+
+    // -1 when no value normalizes to it
+    int normalizedCode(String normalized) {
+        return normalizedCodes.getOrDefault(normalized, -1);
+    }
+
+    int normalizedCodeOf(int code) {
+        return normalizedCodeOf[code];
+    }
+
+    int size() {
+        return values.size();
+    }
+}
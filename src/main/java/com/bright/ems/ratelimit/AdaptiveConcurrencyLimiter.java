@@ -0,0 +1,172 @@
+package com.bright.ems.ratelimit;
+
+import com.bright.ems.exception.ConcurrencyLimitExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps in-flight requests at a limit found by AIMD on service time. Service times are smoothed
+ * over the last {@code SHORT_WINDOW} completions so a mix of fast and slow endpoints does not read
+ * as congestion. The baseline they are compared against is the mean service time measured during a
+ * probe: every {@code PROBE_INTERVAL} completions the limit is halved for {@code 2 * PROBE_SAMPLES}
+ * completions, the second half of which are averaged. A baseline taken as a minimum, or learned at
+ * the current limit, re-learns whatever queueing the limit already causes and lets the limit drift
+ * to the maximum; draining part of the queue is what keeps it anchored to the work itself, and lets
+ * it follow the service when the data grows. Until the first probe, the lowest smoothed time stands
+ * in for the baseline.
+ * <p>
+ * While the smoothed time stays within {@code TOLERANCE} times the baseline, every {@code limit}
+ * completions grow the limit by one; beyond it the limit shrinks in proportion to the excess
+ * (by 10% to 50%), at most once per {@code limit} completions (about one round trip) so one slow
+ * burst is not punished once per request. Callers beyond the limit queue for at most
+ * {@code maxQueueDelay} and are then shed, which keeps the queueing delay of admitted requests
+ * bounded no matter how far the offered load exceeds capacity.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final double TOLERANCE = 1.5;
+    static final int MIN_LIMIT = 1;
+    static final int SHORT_WINDOW = 50;
+    static final int PROBE_INTERVAL = 2000;
+    static final int PROBE_SAMPLES = 200;
+
+    private final int maxLimit;
+    private final Duration maxQueueDelay;
+    private final AdjustableSemaphore permits;
+
+    private volatile int limit;
+    // guarded by this
+    private double smoothedRttNanos;
+    private double baselineRttNanos;
+    private boolean baselineProbed;
+    private int samplesSinceProbe;
+    private int probeSamples;
+    private int limitBeforeProbe;
+    private double probeRttSumNanos;
+    private int healthySamples;
+    private int samplesSinceDecrease;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit, Duration maxQueueDelay) {
+        this.maxLimit = maxLimit;
+        this.maxQueueDelay = maxQueueDelay;
+        this.limit = Math.clamp(initialLimit, MIN_LIMIT, maxLimit);
+        this.permits = new AdjustableSemaphore(limit);
+    }
+
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(maxQueueDelay.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ConcurrencyLimitExceededException("Server is at its concurrency limit of " + limit + ", request shed after queueing " + maxQueueDelay.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException("Interrupted while queueing for a concurrency permit");
+        }
+    }
+
+    // rttNanos is the service time of the admitted request, without its time in the queue
+    public void release(long rttNanos) {
+        permits.release();
+        onSample(rttNanos);
+    }
+
+    // for requests whose time to release is not their service time, e.g. streams handed off to another thread
+    public void releaseWithoutSample() {
+        permits.release();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private synchronized void onSample(long rttNanos) {
+        if (baselineRttNanos == 0) {
+            smoothedRttNanos = rttNanos;
+            baselineRttNanos = rttNanos;
+        }
+        smoothedRttNanos += (rttNanos - smoothedRttNanos) / SHORT_WINDOW;
+        if (limitBeforeProbe > 0) {
+            onProbeSample(rttNanos);
+            return;
+        }
+        if (++samplesSinceProbe >= PROBE_INTERVAL) {
+            startProbe();
+            return;
+        }
+        if (!baselineProbed && smoothedRttNanos < baselineRttNanos) {
+            baselineRttNanos = smoothedRttNanos;
+        }
+        samplesSinceDecrease++;
+        if (smoothedRttNanos > baselineRttNanos * TOLERANCE) {
+            healthySamples = 0;
+            decrease();
+        } else if (++healthySamples >= limit) {
+            healthySamples = 0;
+            increase();
+        }
+    }
+
+    private void startProbe() {
+        samplesSinceProbe = 0;
+        probeSamples = 0;
+        probeRttSumNanos = 0;
+        limitBeforeProbe = limit;
+        setLimit(Math.max(MIN_LIMIT, limit / 2));
+    }
+
+    // the first half lets the queue drain, the second half measures the service time without it
+    private void onProbeSample(long rttNanos) {
+        if (++probeSamples > PROBE_SAMPLES) {
+            probeRttSumNanos += rttNanos;
+        }
+        if (probeSamples >= 2 * PROBE_SAMPLES) {
+            baselineRttNanos = probeRttSumNanos / PROBE_SAMPLES;
+            baselineProbed = true;
+            smoothedRttNanos = baselineRttNanos;
+            healthySamples = 0;
+            samplesSinceDecrease = 0;
+            setLimit(limitBeforeProbe);
+            limitBeforeProbe = 0;
+        }
+    }
+
+    private void increase() {
+        if (limit < maxLimit) {
+            setLimit(limit + 1);
+        }
+    }
+
+    private void decrease() {
+        if (limit > MIN_LIMIT && samplesSinceDecrease >= limit) {
+            double factor = Math.clamp(baselineRttNanos / smoothedRttNanos, 0.5, 0.9);
+            setLimit(Math.max(MIN_LIMIT, (int) (limit * factor)));
+            samplesSinceDecrease = 0;
+        }
+    }
+
+    private void setLimit(int newLimit) {
+        if (newLimit > limit) {
+            permits.release(newLimit - limit);
+        } else if (newLimit < limit) {
+            permits.reducePermits(limit - newLimit);
+        }
+        limit = newLimit;
+    }
+
+    private static final class AdjustableSemaphore extends Semaphore {
+        private AdjustableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
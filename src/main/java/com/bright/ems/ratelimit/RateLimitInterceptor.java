@@ -0,0 +1,119 @@
+package com.bright.ems.ratelimit;
+
+import com.bright.ems.exception.RateLimitExceededException;
+import com.bright.ems.warmup.WarmUpRequests;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Admits a request only if its client's bucket, the global bucket and the concurrency limiter all
+ * agree, in that order, so a single noisy client is turned away before it can drain the shared
+ * budget. Reads (GET/HEAD) and writes are budgeted separately so a write burst cannot starve reads.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMISSION_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".ADMISSION";
+
+    private final String clientHeader;
+    private final Limits reads;
+    private final Limits writes;
+
+    public RateLimitInterceptor(RateLimitProperties rateLimitProperties) {
+        this.clientHeader = rateLimitProperties.clientHeader();
+        this.reads = new Limits(rateLimitProperties.reads(), rateLimitProperties.maxClients());
+        this.writes = new Limits(rateLimitProperties.writes(), rateLimitProperties.maxClients());
+    }
+
+    public AdaptiveConcurrencyLimiter readLimiter() {
+        return reads.concurrency;
+    }
+
+    public AdaptiveConcurrencyLimiter writeLimiter() {
+        return writes.concurrency;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the async re-dispatch of an admitted request still holds its permit; warm-up traffic
+        // would drain the loopback client's bucket and teach the limiter cold-start latencies
+        if (request.getDispatcherType() == DispatcherType.ASYNC || WarmUpRequests.isWarmUp(request)) {
+            return true;
+        }
+        Limits limits = isRead(request) ? reads : writes;
+        String client = clientOf(request);
+        long waitNanos = limits.perClient.get(client).tryAcquire();
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException("Rate limit exceeded for client " + client, Duration.ofNanos(waitNanos));
+        }
+        waitNanos = limits.global.tryAcquire();
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException("Rate limit exceeded", Duration.ofNanos(waitNanos));
+        }
+        limits.concurrency.acquire();
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(limits.concurrency, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    // streaming bodies are written after the handler returns; the permit is freed here, but the time
+    // up to this point is no service time and would drag the limiter's averages towards zero
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.limiter().releaseWithoutSample();
+        }
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.limiter().release(System.nanoTime() - admission.startedNanos());
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (clientHeader == null || clientHeader.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        String client = request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    private record Admission(AdaptiveConcurrencyLimiter limiter, long startedNanos) {
+    }
+
+    private static final class Limits {
+        private final TokenBucket global;
+        private final LoadingCache<String, TokenBucket> perClient;
+        private final AdaptiveConcurrencyLimiter concurrency;
+
+        private Limits(RateLimitProperties.Budget budget, int maxClients) {
+            this.global = new TokenBucket(budget.globalRate(), budget.globalBurst());
+            // an idle client's bucket has refilled by the time it expires, so dropping it is lossless;
+            // the size bound only matters under a flood of addresses, which the global bucket still caps
+            Duration refill = Duration.ofNanos((long) (budget.clientBurst() * 1_000_000_000L / budget.clientRate()));
+            this.perClient = Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(refill.plusSeconds(1))
+                    .build(client -> new TokenBucket(budget.clientRate(), budget.clientBurst()));
+            this.concurrency = new AdaptiveConcurrencyLimiter(budget.initialConcurrency(), budget.maxConcurrency(), budget.maxQueueDelay());
+        }
+    }
+}
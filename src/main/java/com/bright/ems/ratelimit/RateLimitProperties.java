@@ -0,0 +1,28 @@
+package com.bright.ems.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// clients are told apart by remote address; clientHeader replaces it only when set, which is for a
+// trusted proxy in front that sets the header itself, since a client could otherwise rotate it freely
+@ConfigurationProperties("ems.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        String clientHeader,
+        int maxClients,
+        Budget reads,
+        Budget writes
+) {
+    // rates are per second; reads and writes each get their own buckets and concurrency limiter
+    public record Budget(
+            double globalRate,
+            int globalBurst,
+            double clientRate,
+            int clientBurst,
+            int initialConcurrency,
+            int maxConcurrency,
+            Duration maxQueueDelay
+    ) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.bright.ems.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+// readYourWritesWindow should cover the replicas' worst replication lag; every instance behind one
+// load balancer needs the same cookieSecret, or a client's cookie is ignored by all but the one that set it
+@ConfigurationProperties("ems.read-replicas")
+public record ReadReplicaProperties(
+        boolean enabled,
+        List<Replica> replicas,
+        int maximumPoolSize,
+        Duration readYourWritesWindow,
+        String cookieName,
+        String cookieSecret
+) {
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
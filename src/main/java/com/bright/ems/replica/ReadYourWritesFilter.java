@@ -0,0 +1,102 @@
+package com.bright.ems.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Keeps a client on the primary for {@code window} after it sends a write, so it reads its own
+ * writes while the replicas catch up. The cookie holds the end of the window in epoch millis and
+ * an HMAC of it under a server secret; unsigned or tampered values and ends further out than one
+ * window are ignored, so only a write can pin a client, and only until one window after it.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final String cookieName;
+    private final Duration window;
+    private final SecretKeySpec secret;
+
+    public ReadYourWritesFilter(String cookieName, Duration window, byte[] secret) {
+        this.cookieName = cookieName;
+        this.window = window;
+        this.secret = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // set up front, the response may be committed by the time the handler returns
+            ResponseCookie cookie = ResponseCookie.from(cookieName, sign(Long.toString(now + window.toMillis())))
+                    .path("/")
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+        if (!write && !withinWindow(request, now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicaRouting.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.unpin();
+        }
+    }
+
+    private boolean withinWindow(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) {
+                String value = cookie.getValue();
+                int separator = value.indexOf('.');
+                if (separator < 0 || !MessageDigest.isEqual(sign(value.substring(0, separator)).getBytes(StandardCharsets.US_ASCII), value.getBytes(StandardCharsets.US_ASCII))) {
+                    return false;
+                }
+                try {
+                    long until = Long.parseLong(value.substring(0, separator));
+                    return until > now && until <= now + window.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    // "<until>.<base64url HMAC of until>"; a Mac is not thread-safe and cheap to create
+    private String sign(String until) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secret);
+            return until + '.' + Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(until.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
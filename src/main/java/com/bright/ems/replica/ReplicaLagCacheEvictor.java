@@ -0,0 +1,33 @@
+package com.bright.ems.replica;
+
+import com.bright.ems.config.CacheConfig;
+import com.bright.ems.event.EmployeeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A write evicts its cache entry at once, but a replica read that lands before replication
+ * catches up can put the old row back. Evicting the entry again once the read-your-writes
+ * window has passed bounds how long such a stale entry is served.
+ */
+@RequiredArgsConstructor
+public class ReplicaLagCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final TaskScheduler taskScheduler;
+    private final Duration window;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(EmployeeChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL);
+        if (cache != null) {
+            taskScheduler.schedule(() -> cache.evict(event.email()), Instant.now().plus(window));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.bright.ems.replica;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+// outside @Transactional, so the flag is set before the read-only transaction takes its connection
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ReplicaReadAspect {
+
+    @Around("execution(public * com.bright.ems.service.impl.EmployeeServiceImpl.getAllEmployees(..))"
+            + " || execution(public * com.bright.ems.service.impl.EmployeeServiceImpl.findBy*(..))")
+    public Object readFromReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!ReplicaRouting.beginReplicaRead()) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRouting.endReplicaRead();
+        }
+    }
+}
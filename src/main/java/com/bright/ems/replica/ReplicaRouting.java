@@ -0,0 +1,43 @@
+package com.bright.ems.replica;
+
+/**
+ * Per-thread routing state. A read marked for the replicas only goes there when the thread
+ * has not been pinned to the primary by a recent write from the same client.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    static boolean routesToReplica() {
+        return REPLICA_READ.get() != null && PINNED_TO_PRIMARY.get() == null;
+    }
+
+    // false when already inside a replica read, whose end then belongs to the outer caller
+    static boolean beginReplicaRead() {
+        if (REPLICA_READ.get() != null) {
+            return false;
+        }
+        REPLICA_READ.set(Boolean.TRUE);
+        return true;
+    }
+
+    static void endReplicaRead() {
+        REPLICA_READ.remove();
+    }
+
+    static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
@@ -0,0 +1,15 @@
+package com.bright.ems.repository;
+
+import com.bright.ems.model.EmployeeChangePosition;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface EmployeeChangePositionRepository extends JpaRepository<EmployeeChangePosition, Integer> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from employee_change_position p where p.id = :id")
+    Optional<EmployeeChangePosition> findByIdForUpdate(Integer id);
+}
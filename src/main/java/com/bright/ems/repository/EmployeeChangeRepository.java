@@ -0,0 +1,15 @@
+package com.bright.ems.repository;
+
+import com.bright.ems.model.EmployeeChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+    List<EmployeeChange> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select coalesce(max(c.id), 0) from employee_changes c")
+    long findMaxId();
+}
@@ -1,16 +1,105 @@
 package com.bright.ems.repository;
 
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
 import com.bright.ems.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
     Optional<Employee> findByEmail(String email);
-    List<Employee> findByDepartmentCodeIgnoreCase(String departmentCode);
+    List<Employee> findByEmailIn(Collection<String> emails);
+    boolean existsByEmail(String email);
     void deleteByEmail(String email);
-    List<Employee> findByFirstNameIgnoreCase(String firstName);
-    List<Employee> findByLastNameIgnoreCase(String lastName);
-}
+    List<Employee> findByNormalizedFirstName(String normalizedFirstName);
+    List<Employee> findByNormalizedLastName(String normalizedLastName);
+    List<Employee> findByNormalizedDepartmentCode(String normalizedDepartmentCode);
+
+    default List<Employee> findByDepartmentCodeIgnoreCase(String departmentCode) {
+        return findByNormalizedDepartmentCode(Employee.normalize(departmentCode));
+    }
+
+    default List<Employee> findByFirstNameIgnoreCase(String firstName) {
+        return findByNormalizedFirstName(Employee.normalize(firstName));
+    }
+
+    default List<Employee> findByLastNameIgnoreCase(String lastName) {
+        return findByNormalizedLastName(Employee.normalize(lastName));
+    }
+
+    @Query("select new com.bright.ems.dto.response.EmployeeResponseDto(e.firstName, e.lastName, e.departmentCode) from employees e")
+    List<EmployeeResponseDto> findAllProjectedBy();
+
+    @Query("select new com.bright.ems.dto.response.EmployeeResponseDto(e.firstName, e.lastName, e.departmentCode, e.version) from employees e where e.email = :email")
+    Optional<EmployeeResponseDto> findProjectedByEmail(String email);
+
+    @Query("select new com.bright.ems.dto.response.EmployeeResponseDto(e.firstName, e.lastName, e.departmentCode) from employees e where e.normalizedFirstName = :normalizedFirstName")
+    List<EmployeeResponseDto> findProjectedByNormalizedFirstName(String normalizedFirstName);
+
+    @Query("select new com.bright.ems.dto.response.EmployeeResponseDto(e.firstName, e.lastName, e.departmentCode) from employees e where e.normalizedLastName = :normalizedLastName")
+    List<EmployeeResponseDto> findProjectedByNormalizedLastName(String normalizedLastName);
+
+    @Query("select new com.bright.ems.dto.response.EmployeeResponseDto(e.firstName, e.lastName, e.departmentCode) from employees e where e.normalizedDepartmentCode = :normalizedDepartmentCode")
+    List<EmployeeResponseDto> findProjectedByNormalizedDepartmentCode(String normalizedDepartmentCode);
+
+    default List<EmployeeResponseDto> findProjectedByFirstNameIgnoreCase(String firstName) {
+        return findProjectedByNormalizedFirstName(Employee.normalize(firstName));
+    }
+
+    default List<EmployeeResponseDto> findProjectedByLastNameIgnoreCase(String lastName) {
+        return findProjectedByNormalizedLastName(Employee.normalize(lastName));
+    }
 
+    default List<EmployeeResponseDto> findProjectedByDepartmentCodeIgnoreCase(String departmentCode) {
+        return findProjectedByNormalizedDepartmentCode(Employee.normalize(departmentCode));
+    }
+
+    @Query("select e.email from employees e where e.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.bright.ems.dto.response.EmployeeResponseDto(e.firstName, e.lastName, e.departmentCode) from employees e order by e.id")
+    Stream<EmployeeResponseDto> streamAllProjectedBy();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.bright.ems.dto.response.EmployeeSummaryDto(e.email, e.firstName, e.lastName, e.departmentCode) from employees e")
+    Stream<EmployeeSummaryDto> streamAllSummaries();
+
+    @Query("select min(e.id) from employees e")
+    Optional<Long> findMinId();
+
+    @Query("select max(e.id) from employees e")
+    Optional<Long> findMaxId();
+
+    // one slice of an export; slices are scanned concurrently, each on its own connection
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.bright.ems.dto.response.EmployeeSummaryDto(e.email, e.firstName, e.lastName, e.departmentCode) from employees e where e.id >= :fromId and e.id < :toId order by e.id")
+    Stream<EmployeeSummaryDto> streamSummariesByIdRange(Long fromId, Long toId);
+
+    @Query("select new com.bright.ems.dto.response.DepartmentStatsResponseDto(e.departmentCode, count(e)) from employees e where e.departmentCode is not null group by e.departmentCode")
+    List<DepartmentStatsResponseDto> countByDepartmentCode();
+
+    @Modifying
+    @Query("delete from employees e where e.email = :email and (:version is null or e.version = :version)")
+    int bulkDeleteByEmail(String email, Long version);
+
+    default int bulkDeleteByEmail(String email) {
+        return bulkDeleteByEmail(email, null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bright.ems.repository;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+    /**
+     * Issues one {@code UPDATE ... WHERE email = ?} that sets only the non-null arguments
+     * (and their normalized lookup columns) and bumps the version; a non-null
+     * {@code expectedVersion} is added to the WHERE clause. Returns the number of rows updated.
+     */
+    int patchByEmail(String email, String firstName, String lastName, String departmentCode, Long expectedVersion);
+
+    default int patchByEmail(String email, String firstName, String lastName, String departmentCode) {
+        return patchByEmail(email, firstName, lastName, departmentCode, null);
+    }
+
+    /**
+     * Same update as {@link #patchByEmail(String, String, String, String, Long)}, but selected
+     * from H2's {@code OLD TABLE (...)} delta table, so the one statement also returns the row as
+     * it was before the update. Empty when no row matched the email (and version).
+     */
+    Optional<EmployeeResponseDto> patchByEmailReturningPrevious(String email, String firstName, String lastName, String departmentCode, Long expectedVersion);
+
+    /**
+     * Deletes by email (and version, when given) in one statement and returns the deleted row,
+     * read from H2's {@code OLD TABLE (...)} delta table. Empty when no row matched.
+     */
+    Optional<EmployeeResponseDto> deleteByEmailReturningPrevious(String email, Long expectedVersion);
+}
@@ -0,0 +1,97 @@
+package com.bright.ems.repository;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patchByEmail(String email, String firstName, String lastName, String departmentCode, Long expectedVersion) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = criteriaBuilder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        update.set(employee.<Long>get("version"), criteriaBuilder.sum(employee.<Long>get("version"), 1L));
+        // bulk updates skip @PreUpdate, so the normalized columns are set here
+        if (firstName != null) {
+            update.set(employee.<String>get("firstName"), firstName);
+            update.set(employee.<String>get("normalizedFirstName"), Employee.normalize(firstName));
+        }
+        if (lastName != null) {
+            update.set(employee.<String>get("lastName"), lastName);
+            update.set(employee.<String>get("normalizedLastName"), Employee.normalize(lastName));
+        }
+        if (departmentCode != null) {
+            update.set(employee.<String>get("departmentCode"), departmentCode);
+            update.set(employee.<String>get("normalizedDepartmentCode"), Employee.normalize(departmentCode));
+        }
+        if (expectedVersion == null) {
+            update.where(criteriaBuilder.equal(employee.get("email"), email));
+        } else {
+            update.where(criteriaBuilder.equal(employee.get("email"), email), criteriaBuilder.equal(employee.get("version"), expectedVersion));
+        }
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public Optional<EmployeeResponseDto> patchByEmailReturningPrevious(String email, String firstName, String lastName, String departmentCode, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("update employees set version = version + 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        // bulk updates skip @PreUpdate, so the normalized columns are set here
+        if (firstName != null) {
+            sql.append(", first_name = :firstName, normalized_first_name = :normalizedFirstName");
+            parameters.put("firstName", firstName);
+            parameters.put("normalizedFirstName", Employee.normalize(firstName));
+        }
+        if (lastName != null) {
+            sql.append(", last_name = :lastName, normalized_last_name = :normalizedLastName");
+            parameters.put("lastName", lastName);
+            parameters.put("normalizedLastName", Employee.normalize(lastName));
+        }
+        if (departmentCode != null) {
+            sql.append(", department_code = :departmentCode, normalized_department_code = :normalizedDepartmentCode");
+            parameters.put("departmentCode", departmentCode);
+            parameters.put("normalizedDepartmentCode", Employee.normalize(departmentCode));
+        }
+        return previousRow(sql, email, expectedVersion, parameters);
+    }
+
+    @Override
+    @Transactional
+    public Optional<EmployeeResponseDto> deleteByEmailReturningPrevious(String email, Long expectedVersion) {
+        return previousRow(new StringBuilder("delete from employees"), email, expectedVersion, new LinkedHashMap<>());
+    }
+
+    // the row count of the data change is the size of its delta table, so no second statement is needed to read it
+    @SuppressWarnings("unchecked")
+    private Optional<EmployeeResponseDto> previousRow(StringBuilder change, String email, Long expectedVersion, Map<String, Object> parameters) {
+        change.append(" where email = :email");
+        parameters.put("email", email);
+        if (expectedVersion != null) {
+            change.append(" and version = :expectedVersion");
+            parameters.put("expectedVersion", expectedVersion);
+        }
+        Query query = entityManager.createNativeQuery("select first_name, last_name, department_code, version from old table (" + change + ")");
+        parameters.forEach(query::setParameter);
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new EmployeeResponseDto((String) row[0], (String) row[1], (String) row[2], ((Number) row[3]).longValue()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.response.CacheStatsResponseDto;
+
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheStatsResponseDto> getCacheStats();
+}
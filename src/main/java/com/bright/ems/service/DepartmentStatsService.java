@@ -0,0 +1,9 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+
+import java.util.List;
+
+public interface DepartmentStatsService {
+    List<DepartmentStatsResponseDto> getDepartmentStats();
+}
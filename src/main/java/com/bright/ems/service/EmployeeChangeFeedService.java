@@ -0,0 +1,11 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.response.EmployeeChangeDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface EmployeeChangeFeedService {
+    List<EmployeeChangeDto> getChanges(Long since, int limit);
+    SseEmitter subscribe(Long since);
+}
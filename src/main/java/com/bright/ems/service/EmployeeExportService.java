@@ -0,0 +1,36 @@
+package com.bright.ems.service;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface EmployeeExportService {
+
+    enum Format {
+        CSV(MediaType.parseMediaType("text/csv"), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Writes every employee to {@code outputStream}. Rows are in id order within a chunk but
+     * chunks from different id ranges interleave.
+     */
+    void export(Format format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.response.EmployeeImportStatusDto;
+
+import java.util.Optional;
+
+public interface EmployeeImportService {
+
+    /**
+     * Starts importing {@code file} from the import directory, resuming from its checkpoint if an
+     * earlier run stopped part way. Returns the running job's status if one is already importing it.
+     */
+    EmployeeImportStatusDto startImport(String file);
+
+    Optional<EmployeeImportStatusDto> getImportStatus(String file);
+}
@@ -0,0 +1,56 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.exception.employee.DuplicateEmailException;
+import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.employee.EmployeeVersionMismatchException;
+
+/**
+ * Result of a single-employee write. Expected failures are values rather than exceptions so a
+ * flood of bad requests costs no more than the good ones; {@link #orElseThrow()} turns them back
+ * into the domain exceptions for callers that prefer those.
+ */
+public sealed interface EmployeeOutcome {
+
+    record Success(EmployeeResponseDto employee) implements EmployeeOutcome {
+    }
+
+    record Deleted() implements EmployeeOutcome {
+    }
+
+    sealed interface Failure extends EmployeeOutcome {
+        String message();
+    }
+
+    record NotFound(String email) implements Failure {
+        @Override
+        public String message() {
+            return EmployeeNotFoundException.MESSAGE_PREFIX + email;
+        }
+    }
+
+    record Duplicate(String email) implements Failure {
+        @Override
+        public String message() {
+            return DuplicateEmailException.MESSAGE_PREFIX + email;
+        }
+    }
+
+    record VersionMismatch(String email, Long expectedVersion) implements Failure {
+        @Override
+        public String message() {
+            return EmployeeVersionMismatchException.message(email, expectedVersion);
+        }
+    }
+
+    // the employee written, or null after a delete
+    default EmployeeResponseDto orElseThrow() {
+        return switch (this) {
+            case Success success -> success.employee();
+            case Deleted deleted -> null;
+            case NotFound notFound -> throw new EmployeeNotFoundException(notFound.email());
+            case Duplicate duplicate -> throw new DuplicateEmailException(duplicate.email());
+            case VersionMismatch versionMismatch -> throw new EmployeeVersionMismatchException(versionMismatch.email(), versionMismatch.expectedVersion());
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Where the bulk readers (the export, the search index and the department headcounts) read
+ * employees from: the JPA employees table by default, every shard when sharding is on. A
+ * partition is one database with ids unique within it, scanned by id range.
+ */
+public interface EmployeeScanSource {
+
+    List<? extends Partition> partitions();
+
+    // summed over every partition
+    List<DepartmentStatsResponseDto> countByDepartmentCode();
+
+    // every employee, one partition after the other
+    default void forEachSummary(Consumer<EmployeeSummaryDto> consumer) {
+        for (Partition partition : partitions()) {
+            Optional<Long> minId = partition.findMinId();
+            Optional<Long> maxId = partition.findMaxId();
+            if (minId.isPresent() && maxId.isPresent()) {
+                partition.scan(minId.get(), maxId.get() + 1, rows -> {
+                    rows.forEach(consumer);
+                    return null;
+                });
+            }
+        }
+    }
+
+    interface Partition {
+        Optional<Long> findMinId();
+
+        Optional<Long> findMaxId();
+
+        // rows with fromId <= id < toId in id order; the stream is only open while reader runs
+        <T> T scan(long fromId, long toId, Function<Stream<EmployeeSummaryDto>, T> reader);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+
+import java.util.List;
+
+public interface EmployeeSearchService {
+    List<EmployeeSummaryDto> search(String query, int limit);
+}
@@ -2,18 +2,39 @@ package com.bright.ems.service;
 
 import com.bright.ems.dto.request.EmployeePatchDto;
 import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
 import com.bright.ems.dto.response.EmployeeResponseDto;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Optional<EmployeeResponseDto> createEmployee(EmployeeRequestDto employeeRequestDto);
+    List<EmployeeBatchResultDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos);
     List<EmployeeResponseDto> getAllEmployees();
+    EmployeePageResponseDto getEmployees(Long after, int limit);
+    void streamAllEmployees(Consumer<EmployeeResponseDto> consumer);
     List<EmployeeResponseDto> findByFirstName(String firstName);
     List<EmployeeResponseDto> findByLastName(String lastName);
     List<EmployeeResponseDto> findByDepartmentCode(String departmentCode);
     Optional<EmployeeResponseDto> findByEmail(String email);
     Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto);
+    Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion);
     Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto);
+    Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion);
     void deleteEmployee(String email);
+    void deleteEmployee(String email, Long expectedVersion);
+
+    // non-throwing forms of the writes above; a null expectedVersion means unconditional
+    EmployeeOutcome tryCreateEmployee(EmployeeRequestDto employeeRequestDto);
+    EmployeeOutcome tryUpdateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion);
+    EmployeeOutcome tryUpdateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion);
+    EmployeeOutcome tryDeleteEmployee(String email, Long expectedVersion);
+
+    // the bulk path of the roster import, on every backend so an import lands where the API reads:
+    // which emails are taken, and an insert of rows the caller already validated and deduplicated
+    Set<String> findExistingEmails(List<String> emails);
+    int insertEmployees(List<EmployeeRequestDto> employeeRequestDtos);
 }
@@ -0,0 +1,42 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.CacheStatsResponseDto;
+import com.bright.ems.service.CacheStatsService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public List<CacheStatsResponseDto> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    private CacheStatsResponseDto mapToResponse(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return new CacheStatsResponseDto(
+                cache.getName(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                cache.getNativeCache().estimatedSize()
+        );
+    }
+}
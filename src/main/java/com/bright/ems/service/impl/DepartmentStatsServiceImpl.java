@@ -0,0 +1,102 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.service.DepartmentStatsService;
+import com.bright.ems.service.EmployeeScanSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Headcount per department kept as in-memory counters that committed writes adjust, so a read
+ * costs O(departments). A {@code GROUP BY} over the {@link EmployeeScanSource} periodically replaces the counters to correct drift;
+ * the changes that commit while it runs are buffered and applied on top of its result.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class DepartmentStatsServiceImpl implements DepartmentStatsService {
+
+    private final EmployeeScanSource employeeScanSource;
+
+    // events share the read side; only the swap at the end of a reconcile takes the write side
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<String, LongAdder> headcounts = new ConcurrentHashMap<>();
+    private volatile Queue<EmployeeChangedEvent> changedDuringReconcile;
+
+    @Override
+    public List<DepartmentStatsResponseDto> getDepartmentStats() {
+        return headcounts.entrySet().stream()
+                .map(entry -> new DepartmentStatsResponseDto(entry.getKey(), entry.getValue().sum()))
+                .filter(departmentStats -> departmentStats.headcount() > 0)
+                .sorted(Comparator.comparing(DepartmentStatsResponseDto::departmentCode))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            apply(headcounts, event);
+            Queue<EmployeeChangedEvent> buffer = changedDuringReconcile;
+            if (buffer != null) {
+                buffer.add(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Map<String, LongAdder> headcounts, EmployeeChangedEvent event) {
+        adjust(headcounts, event.previous(), -1);
+        adjust(headcounts, event.current(), 1);
+    }
+
+    private static void adjust(Map<String, LongAdder> headcounts, EmployeeSummaryDto employee, int delta) {
+        if (employee != null && employee.departmentCode() != null) {
+            headcounts.computeIfAbsent(employee.departmentCode(), departmentCode -> new LongAdder()).add(delta);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ems.departments.reconcile-interval:5m}", initialDelayString = "${ems.departments.reconcile-interval:5m}")
+    public synchronized void reconcile() {
+        // buffering starts before the query, so a change that commits while it runs is never lost;
+        // one whose event trails a commit the query already saw is counted twice until the next reconcile
+        Queue<EmployeeChangedEvent> buffer = new ConcurrentLinkedQueue<>();
+        changedDuringReconcile = buffer;
+        try {
+            Map<String, LongAdder> reconciled = new ConcurrentHashMap<>();
+            for (DepartmentStatsResponseDto departmentStats : employeeScanSource.countByDepartmentCode()) {
+                LongAdder headcount = new LongAdder();
+                headcount.add(departmentStats.headcount());
+                reconciled.put(departmentStats.departmentCode(), headcount);
+            }
+            swapLock.writeLock().lock();
+            try {
+                buffer.forEach(event -> apply(reconciled, event));
+                headcounts = reconciled;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            changedDuringReconcile = null;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeChangeDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.model.EmployeeChange;
+import com.bright.ems.model.EmployeeChangePosition;
+import com.bright.ems.repository.EmployeeChangePositionRepository;
+import com.bright.ems.repository.EmployeeChangeRepository;
+import com.bright.ems.service.EmployeeChangeFeedService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Append-only change log of employee writes. The {@link EmployeeChangedEvent}s of a transaction
+ * are collected by a synchronous listener and stored together just before that transaction
+ * commits, then pushed to SSE subscribers once it has.
+ *
+ * <p>A sequence would hand out ids in insert order, and a reader whose cursor passed a later id
+ * that committed first would skip the earlier one for good. Positions instead come from the
+ * single {@link EmployeeChangePosition} row: each transaction locks it once, right before its
+ * commit, and reserves a range for all its changes, so ranges become visible in commit order
+ * while writes only queue on each other for the commit itself.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class EmployeeChangeFeedServiceImpl implements EmployeeChangeFeedService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final long SSE_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+    private final EmployeeChangePositionRepository employeeChangePositionRepository;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // one thread keeps pushes in commit order and off the writer's thread
+    private final ExecutorService pushExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("employee-change-feed").daemon().factory());
+
+    // continues after the rows already in the log, e.g. when the counter table is new
+    @PostConstruct
+    void initializePosition() {
+        if (!employeeChangePositionRepository.existsById(EmployeeChangePosition.ID)) {
+            employeeChangePositionRepository.save(new EmployeeChangePosition(EmployeeChangePosition.ID, employeeChangeRepository.findMaxId()));
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        EmployeeChange change = EmployeeChange.builder()
+                .operation(event.operation())
+                .email(event.email())
+                .firstName(event.current() == null ? null : event.current().firstName())
+                .lastName(event.current() == null ? null : event.current().lastName())
+                .departmentCode(event.current() == null ? null : event.current().departmentCode())
+                .changedAt(Instant.now())
+                .build();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(change)).forEach(this::push);
+            return;
+        }
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null) {
+            pendingChanges = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pendingChanges);
+            TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        }
+        pendingChanges.changes.add(change);
+    }
+
+    // the write is flushed first, so the position row stays locked only while the transaction commits
+    private List<EmployeeChangeDto> append(List<EmployeeChange> changes) {
+        employeeChangeRepository.flush();
+        EmployeeChangePosition position = employeeChangePositionRepository.findByIdForUpdate(EmployeeChangePosition.ID)
+                .orElseThrow(() -> new IllegalStateException("Change feed position row is missing"));
+        long next = position.getPosition();
+        for (EmployeeChange change : changes) {
+            change.setId(++next);
+        }
+        position.setPosition(next);
+        return employeeChangeRepository.saveAll(changes).stream()
+                .map(EmployeeChangeFeedServiceImpl::mapToDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeChangeDto> getChanges(Long since, int limit) {
+        return employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(since == null ? 0L : since, Limit.of(Math.clamp(limit, 1, MAX_PAGE_SIZE)))
+                .stream()
+                .map(EmployeeChangeFeedServiceImpl::mapToDto)
+                .toList();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long since) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(SSE_TIMEOUT_MILLIS));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        // registered before the backlog query so nothing committed in between is missed;
+        // pushes wait on the lock until the whole backlog has been sent, page by page
+        synchronized (subscriber) {
+            subscribers.add(subscriber);
+            if (since != null) {
+                subscriber.replayedThrough = since;
+                List<EmployeeChangeDto> page;
+                do {
+                    page = getChanges(subscriber.replayedThrough, MAX_PAGE_SIZE);
+                    for (EmployeeChangeDto employeeChangeDto : page) {
+                        subscriber.replayedThrough = employeeChangeDto.sequence();
+                        subscriber.send(employeeChangeDto);
+                    }
+                } while (page.size() == MAX_PAGE_SIZE);
+            }
+        }
+        return subscriber.emitter;
+    }
+
+    private void push(EmployeeChangeDto employeeChangeDto) {
+        if (!subscribers.isEmpty()) {
+            pushExecutor.execute(() -> subscribers.forEach(subscriber -> {
+                synchronized (subscriber) {
+                    // positions become visible in commit order, so the replay already sent everything up to its last one
+                    if (employeeChangeDto.sequence() > subscriber.replayedThrough) {
+                        subscriber.send(employeeChangeDto);
+                    }
+                }
+            }));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pushExecutor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private static EmployeeChangeDto mapToDto(EmployeeChange change) {
+        EmployeeResponseDto employee = change.getOperation() == EmployeeChangedEvent.Operation.DELETED
+                ? null
+                : new EmployeeResponseDto(change.getFirstName(), change.getLastName(), change.getDepartmentCode());
+        return new EmployeeChangeDto(change.getId(), change.getOperation(), change.getEmail(), employee, change.getChangedAt());
+    }
+
+    // the changes of one transaction, appended in a single range before it commits
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<EmployeeChange> changes = new ArrayList<>();
+        private List<EmployeeChangeDto> appended = List.of();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            appended = append(changes);
+        }
+
+        @Override
+        public void afterCommit() {
+            appended.forEach(EmployeeChangeFeedServiceImpl.this::push);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeChangeFeedServiceImpl.this);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private long replayedThrough;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void send(EmployeeChangeDto employeeChangeDto) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(employeeChangeDto.sequence()))
+                        .name(employeeChangeDto.operation().name())
+                        .data(employeeChangeDto));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+            }
+        }
+    }
+}
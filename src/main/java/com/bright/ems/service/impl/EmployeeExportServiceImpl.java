@@ -0,0 +1,270 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.exception.BulkheadFullException;
+import com.bright.ems.service.EmployeeExportService;
+import com.bright.ems.service.EmployeeScanSource;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Splits the id space of every {@link EmployeeScanSource} partition into ranges of at most
+ * {@code range-size} ids and lets {@code parallelism} workers scan them with their own read-only
+ * cursors. Each worker encodes {@code chunk-rows} rows at a time and hands the bytes to the
+ * calling thread through a bounded queue, so memory use depends on those settings and not on the
+ * size of the table, and a slow client slows the scans down instead of piling rows up. At most {@code max-concurrent} exports run at once, on one shared
+ * pool of {@code max-concurrent * parallelism} workers; a request beyond that is turned away with a
+ * {@link BulkheadFullException} before anything is written, rather than adding scans the database
+ * cannot serve.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class EmployeeExportServiceImpl implements EmployeeExportService {
+
+    private static final byte[] END_OF_WORKER = new byte[0];
+    private static final long POLL_MILLIS = 100;
+    static final String CSV_HEADER = "email,firstName,lastName,departmentCode\n";
+
+    private final EmployeeScanSource employeeScanSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ems.export.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ems.export.range-size:50000}")
+    private long rangeSize;
+
+    @Value("${ems.export.chunk-rows:1000}")
+    private int chunkRows;
+
+    @Value("${ems.export.max-concurrent:2}")
+    private int maxConcurrent;
+
+    private Semaphore exports;
+    private ExecutorService workers;
+
+    @PostConstruct
+    void start() {
+        exports = new Semaphore(maxConcurrent);
+        workers = Executors.newFixedThreadPool(maxConcurrent * parallelism, Thread.ofPlatform().name("export-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public void export(Format format, OutputStream outputStream) throws IOException {
+        if (!exports.tryAcquire()) {
+            throw new BulkheadFullException("Too many exports running, at most " + maxConcurrent + " at a time");
+        }
+        try {
+            exportAdmitted(format, outputStream);
+        } finally {
+            exports.release();
+        }
+    }
+
+    private void exportAdmitted(Format format, OutputStream outputStream) throws IOException {
+        if (format == Format.CSV) {
+            outputStream.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        List<Range> ranges = ranges();
+        AtomicInteger nextRange = new AtomicInteger();
+        BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(parallelism * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Future<?>> scans = new ArrayList<>(parallelism);
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                scans.add(workers.submit(() -> {
+                    try {
+                        int index;
+                        while ((index = nextRange.getAndIncrement()) < ranges.size() && failure.get() == null) {
+                            Range range = ranges.get(index);
+                            range.partition().scan(range.fromId(), range.toId(), rows -> scan(format, rows, chunks, failure));
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        hand(chunks, END_OF_WORKER, failure);
+                    }
+                }));
+            }
+            drain(chunks, outputStream, failure);
+        } finally {
+            // only still running when the export failed; interrupts scans stuck in a query or a full queue
+            scans.forEach(scan -> scan.cancel(true));
+        }
+        Throwable e = failure.get();
+        if (e != null) {
+            throw e instanceof IOException ioException ? ioException : new IOException("Export failed", e);
+        }
+    }
+
+    // taken round-robin across the partitions, so the workers spread over the shards
+    private List<Range> ranges() {
+        List<List<Range>> rangesByPartition = new ArrayList<>();
+        int total = 0;
+        for (EmployeeScanSource.Partition partition : employeeScanSource.partitions()) {
+            long minId = partition.findMinId().orElse(0L);
+            long maxId = partition.findMaxId().orElse(-1L);
+            if (maxId < minId) {
+                continue;
+            }
+            long count = Math.max(parallelism * 4L, (maxId - minId) / rangeSize + 1);
+            long width = (maxId - minId) / count + 1;
+            List<Range> partitionRanges = new ArrayList<>();
+            for (long fromId = minId; fromId <= maxId; fromId += width) {
+                partitionRanges.add(new Range(partition, fromId, fromId + width));
+            }
+            rangesByPartition.add(partitionRanges);
+            total += partitionRanges.size();
+        }
+        List<Range> ranges = new ArrayList<>(total);
+        for (int i = 0; ranges.size() < total; i++) {
+            for (List<Range> partitionRanges : rangesByPartition) {
+                if (i < partitionRanges.size()) {
+                    ranges.add(partitionRanges.get(i));
+                }
+            }
+        }
+        return ranges;
+    }
+
+    // runs on the calling thread: it alone touches the response stream
+    private void drain(BlockingQueue<byte[]> chunks, OutputStream outputStream, AtomicReference<Throwable> failure) throws IOException {
+        int running = parallelism;
+        while (running > 0) {
+            byte[] chunk;
+            try {
+                chunk = chunks.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                throw new InterruptedIOException("Export interrupted");
+            }
+            if (failure.get() != null) {
+                return;
+            }
+            if (chunk == END_OF_WORKER) {
+                running--;
+            } else if (chunk != null) {
+                try {
+                    outputStream.write(chunk);
+                } catch (IOException e) {
+                    // the client went away: the workers see the failure and stop scanning
+                    failure.compareAndSet(null, e);
+                    return;
+                }
+            }
+        }
+    }
+
+    private Void scan(Format format, Stream<EmployeeSummaryDto> rows, BlockingQueue<byte[]> chunks, AtomicReference<Throwable> failure) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(chunkRows * 64);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            int buffered = 0;
+            for (Iterator<EmployeeSummaryDto> iterator = rows.iterator(); iterator.hasNext() && failure.get() == null; ) {
+                EmployeeSummaryDto row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(buffer, row);
+                } else {
+                    generator.writeObject(row);
+                    generator.writeRaw('\n');
+                }
+                if (++buffered == chunkRows) {
+                    generator.flush();
+                    hand(chunks, buffer.toByteArray(), failure);
+                    buffer.reset();
+                    buffered = 0;
+                }
+            }
+            generator.flush();
+            if (buffer.size() > 0) {
+                hand(chunks, buffer.toByteArray(), failure);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(ByteArrayOutputStream buffer, EmployeeSummaryDto row) {
+        StringBuilder line = new StringBuilder(64);
+        appendCsvField(line, row.email()).append(',');
+        appendCsvField(line, row.firstName()).append(',');
+        appendCsvField(line, row.lastName()).append(',');
+        appendCsvField(line, row.departmentCode()).append('\n');
+        buffer.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break and double inner quotes
+    static StringBuilder appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+
+    // blocks while the queue is full, which is what paces the scans to the client; gives up once the export has failed
+    private static void hand(BlockingQueue<byte[]> chunks, byte[] chunk, AtomicReference<Throwable> failure) {
+        try {
+            while (!chunks.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private record Range(EmployeeScanSource.Partition partition, long fromId, long toId) {
+    }
+}
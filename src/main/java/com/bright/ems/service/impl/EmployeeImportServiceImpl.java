@@ -0,0 +1,79 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeImportStatusDto;
+import com.bright.ems.exception.ImportFileException;
+import com.bright.ems.importer.EmployeeImportJob;
+import com.bright.ems.importer.ImportCheckpointStore;
+import com.bright.ems.importer.ImportProperties;
+import com.bright.ems.service.EmployeeImportService;
+import com.bright.ems.service.EmployeeService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@Profile("!reactive")
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private final EmployeeService employeeService;
+    private final Validator validator;
+    private final ImportCheckpointStore checkpointStore;
+    private final ImportProperties importProperties;
+    private final Path directory;
+    private final Map<String, EmployeeImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(Thread.ofPlatform().name("import-", 0).factory());
+
+    public EmployeeImportServiceImpl(EmployeeService employeeService, Validator validator, ImportCheckpointStore checkpointStore, ImportProperties importProperties) {
+        this.employeeService = employeeService;
+        this.validator = validator;
+        this.checkpointStore = checkpointStore;
+        this.importProperties = importProperties;
+        this.directory = importProperties.directory().toAbsolutePath().normalize();
+    }
+
+    @Override
+    public EmployeeImportStatusDto startImport(String file) {
+        Path path = directory.resolve(file).normalize();
+        if (!path.getParent().equals(directory)) {
+            throw new ImportFileException("Import file must be a plain file name: " + file);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new ImportFileException("Import file not found: " + file);
+        }
+        String name = path.getFileName().toString();
+        EmployeeImportJob job = jobs.compute(name, (key, running) -> running != null && running.isRunning() ? running : submit(path));
+        return job.status();
+    }
+
+    @Override
+    public Optional<EmployeeImportStatusDto> getImportStatus(String file) {
+        return Optional.ofNullable(jobs.get(file)).map(EmployeeImportJob::status);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private EmployeeImportJob submit(Path path) {
+        try {
+            EmployeeImportJob job = new EmployeeImportJob(path, employeeService, validator, checkpointStore,
+                    importProperties.batchSize(), importProperties.queueCapacity());
+            executor.execute(job);
+            return job;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open import file " + path, e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeScanSource;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The JPA employees table as a single partition. Each scan runs in a read-only transaction of
+ * its own, so concurrent scans each hold their own connection.
+ */
+@Service
+@Profile("!reactive")
+public class EmployeeScanSourceImpl implements EmployeeScanSource, EmployeeScanSource.Partition {
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EmployeeScanSourceImpl(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<? extends Partition> partitions() {
+        return List.of(this);
+    }
+
+    @Override
+    public List<DepartmentStatsResponseDto> countByDepartmentCode() {
+        return employeeRepository.countByDepartmentCode();
+    }
+
+    // one cursor over the whole table instead of the min/max lookups
+    @Override
+    public void forEachSummary(Consumer<EmployeeSummaryDto> consumer) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<EmployeeSummaryDto> rows = employeeRepository.streamAllSummaries()) {
+                rows.forEach(consumer);
+            }
+        });
+    }
+
+    @Override
+    public Optional<Long> findMinId() {
+        return employeeRepository.findMinId();
+    }
+
+    @Override
+    public Optional<Long> findMaxId() {
+        return employeeRepository.findMaxId();
+    }
+
+    @Override
+    public <T> T scan(long fromId, long toId, Function<Stream<EmployeeSummaryDto>, T> reader) {
+        return readOnlyTransaction.execute(status -> {
+            try (Stream<EmployeeSummaryDto> rows = employeeRepository.streamSummariesByIdRange(fromId, toId)) {
+                return reader.apply(rows);
+            }
+        });
+    }
+}
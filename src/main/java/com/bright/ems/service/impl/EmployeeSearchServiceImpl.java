@@ -0,0 +1,172 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.model.Employee;
+import com.bright.ems.service.EmployeeScanSource;
+import com.bright.ems.service.EmployeeSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix search over first name, last name and email, held in memory. Every term is stored as
+ * {@code "<normalized term>\0<email>"} in a skip list, so a prefix query is a range scan that
+ * stops after {@code limit} distinct employees. Loaded at startup and kept in step with
+ * committed writes through {@link EmployeeChangedEvent}; a rebuild scans into a fresh index while
+ * the live one keeps serving, then swaps it in with the changes that arrived during the scan.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class EmployeeSearchServiceImpl implements EmployeeSearchService {
+
+    static final int MAX_LIMIT = 50;
+    private static final char SEPARATOR = '\0';
+
+    private final EmployeeScanSource employeeScanSource;
+
+    // events share the read side; only the swap at the end of a rebuild takes the write side
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Index index = new Index();
+    private volatile Queue<EmployeeChangedEvent> changedDuringRebuild;
+
+    @Override
+    public List<EmployeeSummaryDto> search(String query, int limit) {
+        String[] tokens = query == null ? new String[0] : Employee.normalize(query.trim()).split("\\s+");
+        if (tokens.length == 0 || tokens[0].isEmpty()) {
+            return List.of();
+        }
+        int maxResults = Math.clamp(limit, 1, MAX_LIMIT);
+        // every match sits in every token's range, so walking the ranges in lockstep is complete
+        // as soon as the smallest one runs out, without knowing up front which one that is
+        ConcurrentNavigableMap<String, EmployeeSummaryDto> terms = index.terms;
+        List<Iterator<EmployeeSummaryDto>> ranges = Arrays.stream(tokens)
+                .distinct()
+                .map(token -> terms.subMap(token, true, token + Character.MAX_VALUE, false).values().iterator())
+                .toList();
+        Map<String, EmployeeSummaryDto> matches = new LinkedHashMap<>();
+        while (true) {
+            for (Iterator<EmployeeSummaryDto> range : ranges) {
+                if (!range.hasNext()) {
+                    return new ArrayList<>(matches.values());
+                }
+                EmployeeSummaryDto employee = range.next();
+                if (!matches.containsKey(employee.email()) && matchesAll(employee, tokens)) {
+                    matches.put(employee.email(), employee);
+                    if (matches.size() == maxResults) {
+                        return new ArrayList<>(matches.values());
+                    }
+                }
+            }
+        }
+    }
+
+    // writes are accepted while the scan runs: buffering starts before it, and replaying a change the
+    // scan already saw only indexes the same state again
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Queue<EmployeeChangedEvent> buffer = new ConcurrentLinkedQueue<>();
+        changedDuringRebuild = buffer;
+        try {
+            Index rebuilt = new Index();
+            employeeScanSource.forEachSummary(rebuilt::index);
+            swapLock.writeLock().lock();
+            try {
+                buffer.forEach(rebuilt::apply);
+                index = rebuilt;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            changedDuringRebuild = null;
+        }
+    }
+
+    // after commit, so rolled-back writes never reach the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            index.apply(event);
+            Queue<EmployeeChangedEvent> buffer = changedDuringRebuild;
+            if (buffer != null) {
+                buffer.add(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static List<String> termsOf(EmployeeSummaryDto employee) {
+        List<String> keys = new ArrayList<>(3);
+        for (String field : new String[]{employee.firstName(), employee.lastName(), employee.email()}) {
+            if (field != null && !field.isEmpty()) {
+                keys.add(Employee.normalize(field) + SEPARATOR + employee.email());
+            }
+        }
+        return keys;
+    }
+
+    private static boolean matchesAll(EmployeeSummaryDto employee, String[] tokens) {
+        for (String token : tokens) {
+            if (!startsWith(employee.firstName(), token) && !startsWith(employee.lastName(), token) && !startsWith(employee.email(), token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(String field, String token) {
+        return field != null && field.regionMatches(true, 0, token, 0, token.length());
+    }
+
+    private static final class Index {
+        private final ConcurrentNavigableMap<String, EmployeeSummaryDto> terms = new ConcurrentSkipListMap<>();
+        private final ConcurrentMap<String, EmployeeSummaryDto> employeesByEmail = new ConcurrentHashMap<>();
+
+        private void apply(EmployeeChangedEvent event) {
+            if (event.current() == null) {
+                remove(event.email());
+            } else {
+                index(event.current());
+            }
+        }
+
+        private void index(EmployeeSummaryDto employee) {
+            // compute serializes writers per email, so the old terms always match what is removed
+            employeesByEmail.compute(employee.email(), (email, previous) -> {
+                if (previous != null) {
+                    termsOf(previous).forEach(terms::remove);
+                }
+                termsOf(employee).forEach(term -> terms.put(term, employee));
+                return employee;
+            });
+        }
+
+        private void remove(String email) {
+            employeesByEmail.computeIfPresent(email, (key, previous) -> {
+                termsOf(previous).forEach(terms::remove);
+                return null;
+            });
+        }
+    }
+}
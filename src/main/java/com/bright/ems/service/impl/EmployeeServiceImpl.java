@@ -1,31 +1,70 @@
 package com.bright.ems.service.impl;
 
+import com.bright.ems.config.CacheConfig;
 import com.bright.ems.dto.request.EmployeePatchDto;
 import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
 import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
 import com.bright.ems.exception.employee.DuplicateEmailException;
-import com.bright.ems.exception.employee.EmployeeNotFoundException;
 import com.bright.ems.model.Employee;
 import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeOutcome;
 import com.bright.ems.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
+@Timed(value = "ems.service", description = "EmployeeService calls", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int EMAIL_LOOKUP_CHUNK_SIZE = 1000;
+    static final int STREAM_PAGE_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ems.mutations.single-statement:false}")
+    private boolean singleStatementMutations;
 
     @Override
+    @Transactional
     public Optional<EmployeeResponseDto> createEmployee(EmployeeRequestDto employeeRequestDto) {
+        return Optional.of(tryCreateEmployee(employeeRequestDto).orElseThrow());
+    }
+
+    @Override
+    @Transactional
+    public EmployeeOutcome tryCreateEmployee(EmployeeRequestDto employeeRequestDto) {
         if (employeeRepository.findByEmail(employeeRequestDto.email()).isPresent()) {
-            throw new DuplicateEmailException("Employee already exists with email: " + employeeRequestDto.email());
+            return new EmployeeOutcome.Duplicate(employeeRequestDto.email());
         }
         Employee employee = new Employee(
                 employeeRequestDto.firstName(),
@@ -34,56 +73,263 @@ public class EmployeeServiceImpl implements EmployeeService {
                 employeeRequestDto.departmentCode()
         );
         Employee saved = employeeRepository.save(employee);
-        return Optional.of(mapToResponse(saved));
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(summarize(saved)));
+        return new EmployeeOutcome.Success(mapToResponse(saved));
+    }
+
+    @Override
+    @Transactional
+    public List<EmployeeBatchResultDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        EmployeeBatchResultDto[] results = new EmployeeBatchResultDto[employeeRequestDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>(employeeRequestDtos.size());
+        for (int i = 0; i < employeeRequestDtos.size(); i++) {
+            EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+            if (employeeRequestDto == null) {
+                results[i] = new EmployeeBatchResultDto(null, EmployeeBatchResultDto.Status.INVALID, null, "employee: must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequestDto>> violations = validator.validate(employeeRequestDto);
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.INVALID, null, toMessage(violations));
+            }
+        }
+
+        Set<String> existingEmails = findExistingEmails(validIndexes.stream().map(i -> employeeRequestDtos.get(i).email()).toList());
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> createdIndexes = new ArrayList<>(validIndexes.size());
+        List<Employee> employees = new ArrayList<>(validIndexes.size());
+        for (int i : validIndexes) {
+            EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+            if (existingEmails.contains(employeeRequestDto.email()) || !seenEmails.add(employeeRequestDto.email())) {
+                results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.DUPLICATE, null, DuplicateEmailException.MESSAGE_PREFIX + employeeRequestDto.email());
+                continue;
+            }
+            createdIndexes.add(i);
+            employees.add(new Employee(
+                    employeeRequestDto.firstName(),
+                    employeeRequestDto.lastName(),
+                    employeeRequestDto.email(),
+                    employeeRequestDto.departmentCode()
+            ));
+        }
+
+        List<Employee> saved = employeeRepository.saveAll(employees);
+        for (int i = 0; i < saved.size(); i++) {
+            Employee employee = saved.get(i);
+            results[createdIndexes.get(i)] = new EmployeeBatchResultDto(employee.getEmail(), EmployeeBatchResultDto.Status.CREATED, mapToResponse(employee), null);
+            eventPublisher.publishEvent(EmployeeChangedEvent.created(summarize(employee)));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Which of the given emails are already taken, looked up in chunks to keep the IN list bounded.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingEmails(List<String> emails) {
+        Set<String> existingEmails = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+            existingEmails.addAll(employeeRepository.findExistingEmails(emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, emails.size()))));
+        }
+        return existingEmails;
+    }
+
+    private String toMessage(Set<ConstraintViolation<EmployeeRequestDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(","));
     }
 
-    private EmployeeResponseDto mapToResponse(Employee e) {
+    static EmployeeSummaryDto summarize(Employee e) {
+        return new EmployeeSummaryDto(e.getEmail(), e.getFirstName(), e.getLastName(), e.getDepartmentCode());
+    }
+
+    EmployeeResponseDto mapToResponse(Employee e) {
         return new EmployeeResponseDto(
                 e.getFirstName(),
                 e.getLastName(),
-                e.getDepartmentCode()
+                e.getDepartmentCode(),
+                e.getVersion()
         );
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDto> getAllEmployees() {
-        return employeeRepository.findAll().stream().map(this::mapToResponse).collect(Collectors.toList());
+        return employeeRepository.findAllProjectedBy();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageResponseDto getEmployees(Long after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        // one extra row tells us whether another page exists without a count query
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(pageSize + 1));
+        boolean hasMore = employees.size() > pageSize;
+        List<Employee> page = hasMore ? employees.subList(0, pageSize) : employees;
+        Long nextCursor = hasMore ? page.getLast().getId() : null;
+        return new EmployeePageResponseDto(page.stream().map(this::mapToResponse).toList(), nextCursor);
     }
 
+    // page by page, each read in its own short transaction, so no connection is held while the consumer writes to a slow client
     @Override
+    public void streamAllEmployees(Consumer<EmployeeResponseDto> consumer) {
+        long after = 0L;
+        List<Employee> employees;
+        do {
+            employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(STREAM_PAGE_SIZE));
+            for (Employee employee : employees) {
+                consumer.accept(new EmployeeResponseDto(employee.getFirstName(), employee.getLastName(), employee.getDepartmentCode()));
+                after = employee.getId();
+            }
+        } while (employees.size() == STREAM_PAGE_SIZE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDto> findByFirstName(String firstName) {
-        return employeeRepository.findByFirstNameIgnoreCase(firstName).stream().map(this::mapToResponse).collect(Collectors.toList());
+        return employeeRepository.findProjectedByFirstNameIgnoreCase(firstName);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDto> findByLastName(String lastName) {
-        return employeeRepository.findByLastNameIgnoreCase(lastName).stream().map(this::mapToResponse).collect(Collectors.toList());
+        return employeeRepository.findProjectedByLastNameIgnoreCase(lastName);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDto> findByDepartmentCode(String departmentCode) {
-        return employeeRepository.findByDepartmentCodeIgnoreCase(departmentCode).stream().map(this::mapToResponse).collect(Collectors.toList());
+        return employeeRepository.findProjectedByDepartmentCodeIgnoreCase(departmentCode);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    // a client pinned to the primary after a write must not be served an entry a replica read put back
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email", unless = "#result == null",
+            condition = "!T(com.bright.ems.replica.ReplicaRouting).isPinnedToPrimary()")
     public Optional<EmployeeResponseDto> findByEmail(String email) {
-        return employeeRepository.findByEmail(email).stream().map(this::mapToResponse).findFirst();
+        return employeeRepository.findProjectedByEmail(email);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
     public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto) {
-        Employee employee = employeeRepository.findByEmail(email).orElseThrow(() -> new EmployeeNotFoundException(email));
+        return updateEmployee(email, employeeRequestDto, null);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        return Optional.of(tryUpdateEmployee(email, employeeRequestDto, expectedVersion).orElseThrow());
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    public EmployeeOutcome tryUpdateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        if (singleStatementMutations) {
+            return updateInSingleStatement(email, employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode(), expectedVersion);
+        }
+        Optional<Employee> found = employeeRepository.findByEmail(email);
+        if (found.isEmpty()) {
+            return new EmployeeOutcome.NotFound(email);
+        }
+        Employee employee = found.get();
+        if (!versionMatches(employee, expectedVersion)) {
+            return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+        }
+        EmployeeSummaryDto previous = summarize(employee);
         employee.setFirstName(employeeRequestDto.firstName());
         employee.setLastName(employeeRequestDto.lastName());
         employee.setDepartmentCode(employeeRequestDto.departmentCode());
         employee.setEmail(email);
         employeeRepository.save(employee);
-        return Optional.of(mapToResponse(employee));
+        // flush so the response carries the incremented version
+        employeeRepository.flush();
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous, summarize(employee)));
+        return new EmployeeOutcome.Success(mapToResponse(employee));
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
     public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto) {
-        Employee employee = employeeRepository.findByEmail(email).orElseThrow(() -> new EmployeeNotFoundException(email));
+        return updateEmployeePartially(email, employeePatchDto, null);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        return Optional.of(tryUpdateEmployeePartially(email, employeePatchDto, expectedVersion).orElseThrow());
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    public EmployeeOutcome tryUpdateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        if (singleStatementMutations) {
+            return updateInSingleStatement(email, employeePatchDto.firstName(), employeePatchDto.lastName(), employeePatchDto.departmentCode(), expectedVersion);
+        }
+        Optional<Employee> found = employeeRepository.findByEmail(email);
+        if (found.isEmpty()) {
+            return new EmployeeOutcome.NotFound(email);
+        }
+        Employee employee = found.get();
+        if (!versionMatches(employee, expectedVersion)) {
+            return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+        }
+        EmployeeSummaryDto previous = summarize(employee);
+        applyPatch(employee, employeePatchDto);
+        employeeRepository.save(employee);
+        employeeRepository.flush();
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous, summarize(employee)));
+        return new EmployeeOutcome.Success(mapToResponse(employee));
+    }
+
+    /**
+     * Inserts rows that were already validated and deduplicated by the caller in one batched
+     * flush. Returns the number of employees created.
+     */
+    @Override
+    @Transactional
+    public int insertEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        List<Employee> employees = employeeRequestDtos.stream()
+                .map(employeeRequestDto -> new Employee(
+                        employeeRequestDto.firstName(),
+                        employeeRequestDto.lastName(),
+                        employeeRequestDto.email(),
+                        employeeRequestDto.departmentCode()
+                ))
+                .toList();
+        List<Employee> saved = employeeRepository.saveAll(employees);
+        saved.forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.created(summarize(employee))));
+        return saved.size();
+    }
+
+    /**
+     * Applies already coalesced patches with one select and one batched flush; emails that no
+     * longer exist are skipped. Returns the number of employees updated.
+     */
+    @Transactional
+    public int updateEmployeesPartially(Map<String, EmployeePatchDto> employeePatchDtos) {
+        List<Employee> employees = employeeRepository.findByEmailIn(employeePatchDtos.keySet());
+        for (Employee employee : employees) {
+            EmployeeSummaryDto previous = summarize(employee);
+            applyPatch(employee, employeePatchDtos.get(employee.getEmail()));
+            eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous, summarize(employee)));
+        }
+        employeeRepository.flush();
+        return employees.size();
+    }
+
+    private void applyPatch(Employee employee, EmployeePatchDto employeePatchDto) {
         if (employeePatchDto.firstName() != null) {
             employee.setFirstName(employeePatchDto.firstName());
         }
@@ -93,13 +339,75 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (employeePatchDto.departmentCode() != null) {
             employee.setDepartmentCode(employeePatchDto.departmentCode());
         }
-        employeeRepository.save(employee);
-        return Optional.of(mapToResponse(employee));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    @Transactional
     public void deleteEmployee(String email) {
-        employeeRepository.findByEmail(email).orElseThrow(() -> new EmployeeNotFoundException("Employee not found"));//404
+        deleteEmployee(email, null);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    @Transactional
+    public void deleteEmployee(String email, Long expectedVersion) {
+        tryDeleteEmployee(email, expectedVersion).orElseThrow();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    @Transactional
+    public EmployeeOutcome tryDeleteEmployee(String email, Long expectedVersion) {
+        if (singleStatementMutations) {
+            Optional<EmployeeResponseDto> deleted = employeeRepository.deleteByEmailReturningPrevious(email, expectedVersion);
+            if (deleted.isEmpty()) {
+                return notMatched(email, expectedVersion);
+            }
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(email, summarize(email, deleted.get())));
+            return new EmployeeOutcome.Deleted();
+        }
+        Optional<Employee> found = employeeRepository.findByEmail(email);
+        if (found.isEmpty()) {
+            return new EmployeeOutcome.NotFound(email);
+        }
+        Employee employee = found.get();
+        if (!versionMatches(employee, expectedVersion)) {
+            return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+        }
         employeeRepository.deleteByEmail(email);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(email, summarize(employee)));
+        return new EmployeeOutcome.Deleted();
+    }
+
+    // one statement: the version check sits in its WHERE clause and it returns the row as it was, which gives the event its previous state
+    private EmployeeOutcome updateInSingleStatement(String email, String firstName, String lastName, String departmentCode, Long expectedVersion) {
+        Optional<EmployeeResponseDto> updated = employeeRepository.patchByEmailReturningPrevious(email, firstName, lastName, departmentCode, expectedVersion);
+        if (updated.isEmpty()) {
+            return notMatched(email, expectedVersion);
+        }
+        EmployeeResponseDto previous = updated.get();
+        EmployeeResponseDto current = new EmployeeResponseDto(
+                firstName != null ? firstName : previous.firstName(),
+                lastName != null ? lastName : previous.lastName(),
+                departmentCode != null ? departmentCode : previous.departmentCode(),
+                previous.version() + 1
+        );
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(summarize(email, previous), summarize(email, current)));
+        return new EmployeeOutcome.Success(current);
+    }
+
+    private static EmployeeSummaryDto summarize(String email, EmployeeResponseDto employeeResponseDto) {
+        return new EmployeeSummaryDto(email, employeeResponseDto.firstName(), employeeResponseDto.lastName(), employeeResponseDto.departmentCode());
+    }
+
+    private static boolean versionMatches(Employee employee, Long expectedVersion) {
+        return expectedVersion == null || expectedVersion.equals(employee.getVersion());
+    }
+
+    // nothing matched the email and version; telling a missing row from a stale one would cost another read,
+    // and with If-Match both answer 412 anyway
+    private static EmployeeOutcome notMatched(String email, Long expectedVersion) {
+        return expectedVersion == null ? new EmployeeOutcome.NotFound(email) : new EmployeeOutcome.VersionMismatch(email, expectedVersion);
     }
 }
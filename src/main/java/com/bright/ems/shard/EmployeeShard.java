@@ -0,0 +1,235 @@
+package com.bright.ems.shard;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.model.Employee;
+import com.bright.ems.service.EmployeeScanSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The employees table of one shard, over plain JDBC. Every shard is a database of its own with
+ * the schema in {@code db/employees-schema.sql}, so each gets its own pool and transaction
+ * manager instead of a share of the JPA persistence unit. Ids come from the shard's own
+ * sequence and are only unique within it.
+ */
+public class EmployeeShard implements EmployeeScanSource.Partition {
+
+    record Row(long id, String email, String firstName, String lastName, String departmentCode, long version) {
+        EmployeeResponseDto toResponse() {
+            return new EmployeeResponseDto(firstName, lastName, departmentCode, version);
+        }
+
+        EmployeeSummaryDto toSummary() {
+            return new EmployeeSummaryDto(email, firstName, lastName, departmentCode);
+        }
+    }
+
+    enum LookupColumn {
+        FIRST_NAME("normalized_first_name"),
+        LAST_NAME("normalized_last_name"),
+        DEPARTMENT_CODE("normalized_department_code");
+
+        private final String column;
+
+        LookupColumn(String column) {
+            this.column = column;
+        }
+    }
+
+    private static final int STREAM_PAGE_SIZE = 1000;
+    private static final String COLUMNS = "id, email, first_name, last_name, department_code, version";
+    private static final RowMapper<Row> ROW_MAPPER = (resultSet, rowNum) -> new Row(
+            resultSet.getLong("id"),
+            resultSet.getString("email"),
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getString("department_code"),
+            resultSet.getLong("version")
+    );
+    private static final RowMapper<EmployeeResponseDto> RESPONSE_MAPPER = (resultSet, rowNum) -> new EmployeeResponseDto(
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getString("department_code")
+    );
+    private static final RowMapper<EmployeeSummaryDto> SUMMARY_MAPPER = (resultSet, rowNum) -> new EmployeeSummaryDto(
+            resultSet.getString("email"),
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getString("department_code")
+    );
+    private static final RowMapper<DepartmentStatsResponseDto> DEPARTMENT_COUNT_MAPPER = (resultSet, rowNum) -> new DepartmentStatsResponseDto(
+            resultSet.getString("department_code"),
+            resultSet.getLong("employees")
+    );
+    private static final String INSERT = "insert into employees (id, email, first_name, last_name, department_code,"
+            + " normalized_first_name, normalized_last_name, normalized_department_code, version)"
+            + " values (next value for employees_seq, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final int index;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maximumPoolSize;
+
+    // Hikari's default pool size
+    public EmployeeShard(int index, DataSource dataSource) {
+        this(index, dataSource, 10);
+    }
+
+    /**
+     * {@code maximumPoolSize} is how many connections the data source hands out at once, and so
+     * how many scatter queries may usefully run against this shard together.
+     */
+    public EmployeeShard(int index, DataSource dataSource, int maximumPoolSize) {
+        this.index = index;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(500);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public int maximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void initializeSchema() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/employees-schema.sql")).execute(dataSource);
+    }
+
+    <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    Optional<Row> findByEmail(String email) {
+        return jdbcTemplate.query("select " + COLUMNS + " from employees where email = ?", ROW_MAPPER, email).stream().findFirst();
+    }
+
+    // inside inTransaction: holds the row until the transaction ends
+    Optional<Row> findByEmailForUpdate(String email) {
+        return jdbcTemplate.query("select " + COLUMNS + " from employees where email = ? for update", ROW_MAPPER, email).stream().findFirst();
+    }
+
+    Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList("select email from employees where email in (:emails)",
+                new MapSqlParameterSource("emails", emails), String.class));
+    }
+
+    List<EmployeeResponseDto> findAll() {
+        return jdbcTemplate.query("select first_name, last_name, department_code from employees", RESPONSE_MAPPER);
+    }
+
+    List<EmployeeResponseDto> findBy(LookupColumn lookupColumn, String value) {
+        return jdbcTemplate.query("select first_name, last_name, department_code from employees where " + lookupColumn.column + " = ?",
+                RESPONSE_MAPPER, Employee.normalize(value));
+    }
+
+    // in pages, so the connection goes back to the pool while the consumer writes to a slow client
+    void streamAll(Consumer<EmployeeResponseDto> consumer) {
+        long after = 0L;
+        List<Row> rows;
+        do {
+            rows = findAfter(after, STREAM_PAGE_SIZE);
+            for (Row row : rows) {
+                consumer.accept(new EmployeeResponseDto(row.firstName(), row.lastName(), row.departmentCode()));
+                after = row.id();
+            }
+        } while (rows.size() == STREAM_PAGE_SIZE);
+    }
+
+    List<Row> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query("select " + COLUMNS + " from employees where id > ? order by id fetch first ? rows only", ROW_MAPPER, afterId, limit);
+    }
+
+    @Override
+    public Optional<Long> findMinId() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("select min(id) from employees", Long.class));
+    }
+
+    @Override
+    public Optional<Long> findMaxId() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("select max(id) from employees", Long.class));
+    }
+
+    // the stream holds its connection until it is closed
+    @Override
+    public <T> T scan(long fromId, long toId, Function<Stream<EmployeeSummaryDto>, T> reader) {
+        try (Stream<EmployeeSummaryDto> rows = jdbcTemplate.queryForStream(
+                "select email, first_name, last_name, department_code from employees where id >= ? and id < ? order by id",
+                SUMMARY_MAPPER, fromId, toId)) {
+            return reader.apply(rows);
+        }
+    }
+
+    List<DepartmentStatsResponseDto> countByDepartmentCode() {
+        return jdbcTemplate.query("select department_code, count(*) as employees from employees"
+                + " where department_code is not null group by department_code", DEPARTMENT_COUNT_MAPPER);
+    }
+
+    /**
+     * Inserts rows with the given versions; ids are assigned here. Callers check for existing
+     * emails first, the unique constraint is only the backstop.
+     */
+    void insert(List<Row> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.email());
+            statement.setString(2, row.firstName());
+            statement.setString(3, row.lastName());
+            statement.setString(4, row.departmentCode());
+            statement.setString(5, Employee.normalize(row.firstName()));
+            statement.setString(6, Employee.normalize(row.lastName()));
+            statement.setString(7, Employee.normalize(row.departmentCode()));
+            statement.setLong(8, row.version());
+        });
+    }
+
+    // bumps the version like the JPA @Version column does
+    void update(Row row) {
+        jdbcTemplate.update("update employees set first_name = ?, last_name = ?, department_code = ?,"
+                        + " normalized_first_name = ?, normalized_last_name = ?, normalized_department_code = ?, version = version + 1 where id = ?",
+                row.firstName(), row.lastName(), row.departmentCode(),
+                Employee.normalize(row.firstName()), Employee.normalize(row.lastName()), Employee.normalize(row.departmentCode()), row.id());
+    }
+
+    void delete(long id) {
+        jdbcTemplate.update("delete from employees where id = ?", id);
+    }
+
+    void deleteAll(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            namedParameterJdbcTemplate.update("delete from employees where id in (:ids)", new MapSqlParameterSource("ids", ids));
+        }
+    }
+}
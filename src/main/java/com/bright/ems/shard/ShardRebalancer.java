@@ -0,0 +1,70 @@
+package com.bright.ems.shard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves every row that sits on a shard other than the one {@code ring} assigns it. A row is
+ * copied to its new shard, unless its email is already there, before it is deleted from the
+ * old one, so an interrupted run leaves at most a copy that the next run cleans up and the
+ * rebalance can simply be repeated. Writes should be stopped while it runs and the application
+ * restarted with the new shard list afterwards.
+ */
+public class ShardRebalancer {
+
+    public record Result(long scanned, long moved, long[] movedFrom) {
+    }
+
+    private final List<EmployeeShard> shards;
+    private final ConsistentHashRing ring;
+    private final int batchSize;
+
+    // shards: every shard that may hold rows, i.e. the longer of the old and the new list
+    public ShardRebalancer(List<EmployeeShard> shards, ConsistentHashRing ring, int batchSize) {
+        if (shards.size() < ring.shardCount()) {
+            throw new IllegalArgumentException("The ring needs " + ring.shardCount() + " shards but only " + shards.size() + " were given");
+        }
+        this.shards = List.copyOf(shards);
+        this.ring = ring;
+        this.batchSize = batchSize;
+    }
+
+    public Result rebalance() {
+        long scanned = 0;
+        long moved = 0;
+        long[] movedFrom = new long[shards.size()];
+        for (EmployeeShard source : shards) {
+            long afterId = 0;
+            List<EmployeeShard.Row> rows;
+            while (!(rows = source.findAfter(afterId, batchSize)).isEmpty()) {
+                afterId = rows.getLast().id();
+                scanned += rows.size();
+                Map<Integer, List<EmployeeShard.Row>> misplaced = new HashMap<>();
+                for (EmployeeShard.Row row : rows) {
+                    int owner = ring.shardFor(row.email());
+                    if (owner != source.index()) {
+                        misplaced.computeIfAbsent(owner, shard -> new ArrayList<>()).add(row);
+                    }
+                }
+                for (Map.Entry<Integer, List<EmployeeShard.Row>> entry : misplaced.entrySet()) {
+                    move(source, shards.get(entry.getKey()), entry.getValue());
+                    movedFrom[source.index()] += entry.getValue().size();
+                    moved += entry.getValue().size();
+                }
+            }
+        }
+        return new Result(scanned, moved, movedFrom);
+    }
+
+    private void move(EmployeeShard source, EmployeeShard target, List<EmployeeShard.Row> rows) {
+        target.inTransaction(() -> {
+            Set<String> present = target.findExistingEmails(rows.stream().map(EmployeeShard.Row::email).toList());
+            target.insert(rows.stream().filter(row -> !present.contains(row.email())).toList());
+            return null;
+        });
+        source.deleteAll(rows.stream().map(EmployeeShard.Row::id).toList());
+    }
+}
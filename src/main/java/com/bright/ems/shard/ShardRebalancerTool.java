@@ -0,0 +1,61 @@
+package com.bright.ems.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line rebalance after changing the shard count. Lists every shard that holds rows or
+ * should, in ring order, and the number of shards to end up with; the schema is created on new
+ * shards. {@code --virtual-nodes} must match {@code ems.sharding.virtual-nodes}.
+ * <p>
+ * {@code gradle rebalanceShards -PrebalanceArgs="--shards=jdbc:h2:tcp://db0/ems,jdbc:h2:tcp://db1/ems,jdbc:h2:tcp://db2/ems --shard-count=3"}
+ */
+public final class ShardRebalancerTool {
+
+    private ShardRebalancerTool() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        if (!options.containsKey("shards") || !options.containsKey("shard-count")) {
+            System.err.println("Usage: --shards=<jdbc-url>,<jdbc-url>,... --shard-count=<n> [--username=sa] [--password=] [--virtual-nodes=512] [--batch-size=1000]");
+            System.exit(2);
+        }
+        List<EmployeeShard> shards = new ArrayList<>();
+        for (String url : options.get("shards").split(",")) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(options.getOrDefault("username", "sa"))
+                    .password(options.getOrDefault("password", ""))
+                    .build();
+            EmployeeShard shard = new EmployeeShard(shards.size(), dataSource);
+            shard.initializeSchema();
+            shards.add(shard);
+        }
+        ConsistentHashRing ring = new ConsistentHashRing(Integer.parseInt(options.get("shard-count")), Integer.parseInt(options.getOrDefault("virtual-nodes", "512")));
+        long started = System.nanoTime();
+        ShardRebalancer.Result result = new ShardRebalancer(shards, ring, Integer.parseInt(options.getOrDefault("batch-size", "1000"))).rebalance();
+        for (int i = 0; i < result.movedFrom().length; i++) {
+            System.out.printf("shard %d: moved %d rows away%n", i, result.movedFrom()[i]);
+        }
+        System.out.printf("scanned %d rows, moved %d to their shard under a %d-shard ring in %.1f s%n",
+                result.scanned(), result.moved(), ring.shardCount(), (System.nanoTime() - started) / 1e9);
+        shards.forEach(shard -> ((HikariDataSource) shard.dataSource()).close());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
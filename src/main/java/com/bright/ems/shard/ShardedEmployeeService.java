@@ -0,0 +1,379 @@
+package com.bright.ems.shard;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.exception.employee.DuplicateEmailException;
+import com.bright.ems.service.EmployeeOutcome;
+import com.bright.ems.service.EmployeeScanSource;
+import com.bright.ems.service.EmployeeService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link EmployeeService} over employees partitioned by a consistent hash of the email. Point
+ * reads and writes touch the one shard that owns the email; list and finder queries run on
+ * every shard in parallel and concatenate the results.
+ *
+ * <p>Page cursors are global ids, {@code localId * MAX_SHARDS + shard}, so one cursor orders
+ * rows from every shard. They change when a rebalance moves a row.
+ *
+ * <p>It is the {@link EmployeeScanSource} too, with one partition per shard, so the export, the
+ * search index and the department headcounts read the shards rather than the JPA table.
+ */
+public class ShardedEmployeeService implements EmployeeService, EmployeeScanSource, AutoCloseable {
+
+    static final int MAX_SHARDS = 1024;
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final List<EmployeeShard> shards;
+    private final ConsistentHashRing ring;
+    private final List<ExecutorService> executors;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShardedEmployeeService(List<EmployeeShard> shards, ConsistentHashRing ring, Validator validator, ApplicationEventPublisher eventPublisher) {
+        if (shards.size() != ring.shardCount() || shards.size() > MAX_SHARDS) {
+            throw new IllegalArgumentException("Ring covers " + ring.shardCount() + " shards but " + shards.size() + " are configured");
+        }
+        this.shards = List.copyOf(shards);
+        this.ring = ring;
+        // as many threads per shard as its pool has connections, so a slow shard cannot hold up the others;
+        // platform threads, since the JDBC driver blocks inside monitors and would pin virtual ones
+        this.executors = this.shards.stream()
+                .map(shard -> Executors.newFixedThreadPool(shard.maximumPoolSize(),
+                        Thread.ofPlatform().name("shard-" + shard.index() + "-scatter-", 0).daemon().factory()))
+                .toList();
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    EmployeeShard shardFor(String email) {
+        return shards.get(ring.shardFor(email));
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> createEmployee(EmployeeRequestDto employeeRequestDto) {
+        return Optional.of(tryCreateEmployee(employeeRequestDto).orElseThrow());
+    }
+
+    @Override
+    public EmployeeOutcome tryCreateEmployee(EmployeeRequestDto employeeRequestDto) {
+        EmployeeShard shard = shardFor(employeeRequestDto.email());
+        Optional<EmployeeShard.Row> created = shard.inTransaction(() -> {
+            if (shard.findByEmailForUpdate(employeeRequestDto.email()).isPresent()) {
+                return Optional.empty();
+            }
+            shard.insert(List.of(newRow(employeeRequestDto)));
+            return shard.findByEmail(employeeRequestDto.email());
+        });
+        if (created.isEmpty()) {
+            return new EmployeeOutcome.Duplicate(employeeRequestDto.email());
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(created.get().toSummary()));
+        return new EmployeeOutcome.Success(created.get().toResponse());
+    }
+
+    @Override
+    public List<EmployeeBatchResultDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        EmployeeBatchResultDto[] results = new EmployeeBatchResultDto[employeeRequestDtos.size()];
+        List<List<Integer>> indexesByShard = new ArrayList<>();
+        shards.forEach(shard -> indexesByShard.add(new ArrayList<>()));
+        for (int i = 0; i < employeeRequestDtos.size(); i++) {
+            EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+            if (employeeRequestDto == null) {
+                results[i] = new EmployeeBatchResultDto(null, EmployeeBatchResultDto.Status.INVALID, null, "employee: must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequestDto>> violations = validator.validate(employeeRequestDto);
+            if (violations.isEmpty()) {
+                indexesByShard.get(ring.shardFor(employeeRequestDto.email())).add(i);
+            } else {
+                results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.INVALID, null, toMessage(violations));
+            }
+        }
+        // each shard fills in the result slots of its own rows, so the writes need no coordination
+        List<EmployeeShard.Row> created = scatter(shard -> createOnShard(shard, employeeRequestDtos, indexesByShard.get(shard.index()), results));
+        created.forEach(row -> eventPublisher.publishEvent(EmployeeChangedEvent.created(row.toSummary())));
+        return Arrays.asList(results);
+    }
+
+    private List<EmployeeShard.Row> createOnShard(EmployeeShard shard, List<EmployeeRequestDto> employeeRequestDtos, List<Integer> indexes, EmployeeBatchResultDto[] results) {
+        if (indexes.isEmpty()) {
+            return List.of();
+        }
+        return shard.inTransaction(() -> {
+            List<String> emails = indexes.stream().map(i -> employeeRequestDtos.get(i).email()).toList();
+            Set<String> existingEmails = new HashSet<>();
+            for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+                existingEmails.addAll(shard.findExistingEmails(emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, emails.size()))));
+            }
+            Set<String> seenEmails = new HashSet<>();
+            List<EmployeeShard.Row> rows = new ArrayList<>(indexes.size());
+            for (int i : indexes) {
+                EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+                if (existingEmails.contains(employeeRequestDto.email()) || !seenEmails.add(employeeRequestDto.email())) {
+                    results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.DUPLICATE, null, DuplicateEmailException.MESSAGE_PREFIX + employeeRequestDto.email());
+                    continue;
+                }
+                EmployeeShard.Row row = newRow(employeeRequestDto);
+                rows.add(row);
+                results[i] = new EmployeeBatchResultDto(row.email(), EmployeeBatchResultDto.Status.CREATED, row.toResponse(), null);
+            }
+            shard.insert(rows);
+            return rows;
+        });
+    }
+
+    @Override
+    public Set<String> findExistingEmails(List<String> emails) {
+        List<List<String>> emailsByShard = byShard(emails, email -> email);
+        return new HashSet<>(scatter(shard -> {
+            List<String> shardEmails = emailsByShard.get(shard.index());
+            List<String> existingEmails = new ArrayList<>();
+            for (int from = 0; from < shardEmails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+                existingEmails.addAll(shard.findExistingEmails(shardEmails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, shardEmails.size()))));
+            }
+            return existingEmails;
+        }));
+    }
+
+    @Override
+    public int insertEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        List<List<EmployeeRequestDto>> rowsByShard = byShard(employeeRequestDtos, EmployeeRequestDto::email);
+        List<EmployeeShard.Row> created = scatter(shard -> {
+            List<EmployeeShard.Row> rows = rowsByShard.get(shard.index()).stream().map(ShardedEmployeeService::newRow).toList();
+            if (!rows.isEmpty()) {
+                shard.inTransaction(() -> {
+                    shard.insert(rows);
+                    return null;
+                });
+            }
+            return rows;
+        });
+        created.forEach(row -> eventPublisher.publishEvent(EmployeeChangedEvent.created(row.toSummary())));
+        return created.size();
+    }
+
+    private <T> List<List<T>> byShard(List<T> items, Function<T, String> email) {
+        List<List<T>> itemsByShard = new ArrayList<>();
+        shards.forEach(shard -> itemsByShard.add(new ArrayList<>()));
+        items.forEach(item -> itemsByShard.get(ring.shardFor(email.apply(item))).add(item));
+        return itemsByShard;
+    }
+
+    @Override
+    public List<EmployeeResponseDto> getAllEmployees() {
+        return scatter(EmployeeShard::findAll);
+    }
+
+    @Override
+    public EmployeePageResponseDto getEmployees(Long after, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        long cursor = after == null ? 0L : after;
+        // each shard's next pageSize + 1 rows past the cursor hold the global page and tell whether another follows
+        List<PagedRow> rows = new ArrayList<>(scatter(shard -> shard.findAfter(Math.floorDiv(cursor - shard.index(), MAX_SHARDS), pageSize + 1).stream()
+                .map(row -> new PagedRow(row.id() * MAX_SHARDS + shard.index(), row))
+                .toList()));
+        rows.sort(Comparator.comparingLong(PagedRow::globalId));
+        boolean hasMore = rows.size() > pageSize;
+        List<PagedRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasMore ? page.getLast().globalId() : null;
+        return new EmployeePageResponseDto(page.stream().map(pagedRow -> pagedRow.row().toResponse()).toList(), nextCursor);
+    }
+
+    private record PagedRow(long globalId, EmployeeShard.Row row) {
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeResponseDto> consumer) {
+        // one shard after the other: the consumer writes to a single response
+        shards.forEach(shard -> shard.streamAll(consumer));
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByFirstName(String firstName) {
+        return scatter(shard -> shard.findBy(EmployeeShard.LookupColumn.FIRST_NAME, firstName));
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByLastName(String lastName) {
+        return scatter(shard -> shard.findBy(EmployeeShard.LookupColumn.LAST_NAME, lastName));
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByDepartmentCode(String departmentCode) {
+        return scatter(shard -> shard.findBy(EmployeeShard.LookupColumn.DEPARTMENT_CODE, departmentCode));
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> findByEmail(String email) {
+        return shardFor(email).findByEmail(email).map(EmployeeShard.Row::toResponse);
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto) {
+        return updateEmployee(email, employeeRequestDto, null);
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        return Optional.of(tryUpdateEmployee(email, employeeRequestDto, expectedVersion).orElseThrow());
+    }
+
+    @Override
+    public EmployeeOutcome tryUpdateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        return update(email, expectedVersion, row -> new EmployeeShard.Row(row.id(), row.email(),
+                employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode(), row.version()));
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto) {
+        return updateEmployeePartially(email, employeePatchDto, null);
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        return Optional.of(tryUpdateEmployeePartially(email, employeePatchDto, expectedVersion).orElseThrow());
+    }
+
+    @Override
+    public EmployeeOutcome tryUpdateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        return update(email, expectedVersion, row -> new EmployeeShard.Row(row.id(), row.email(),
+                employeePatchDto.firstName() != null ? employeePatchDto.firstName() : row.firstName(),
+                employeePatchDto.lastName() != null ? employeePatchDto.lastName() : row.lastName(),
+                employeePatchDto.departmentCode() != null ? employeePatchDto.departmentCode() : row.departmentCode(),
+                row.version()));
+    }
+
+    private EmployeeOutcome update(String email, Long expectedVersion, Function<EmployeeShard.Row, EmployeeShard.Row> change) {
+        EmployeeShard shard = shardFor(email);
+        EmployeeShard.Row[] previous = new EmployeeShard.Row[1];
+        EmployeeOutcome outcome = shard.inTransaction(() -> {
+            Optional<EmployeeShard.Row> found = shard.findByEmailForUpdate(email);
+            if (found.isEmpty()) {
+                return new EmployeeOutcome.NotFound(email);
+            }
+            if (expectedVersion != null && expectedVersion != found.get().version()) {
+                return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+            }
+            previous[0] = found.get();
+            EmployeeShard.Row changed = change.apply(found.get());
+            shard.update(changed);
+            return new EmployeeOutcome.Success(new EmployeeResponseDto(changed.firstName(), changed.lastName(), changed.departmentCode(), changed.version() + 1));
+        });
+        if (outcome instanceof EmployeeOutcome.Success(EmployeeResponseDto current)) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous[0].toSummary(),
+                    new EmployeeSummaryDto(email, current.firstName(), current.lastName(), current.departmentCode())));
+        }
+        return outcome;
+    }
+
+    @Override
+    public void deleteEmployee(String email) {
+        deleteEmployee(email, null);
+    }
+
+    @Override
+    public void deleteEmployee(String email, Long expectedVersion) {
+        tryDeleteEmployee(email, expectedVersion).orElseThrow();
+    }
+
+    @Override
+    public EmployeeOutcome tryDeleteEmployee(String email, Long expectedVersion) {
+        EmployeeShard shard = shardFor(email);
+        EmployeeShard.Row[] deleted = new EmployeeShard.Row[1];
+        EmployeeOutcome outcome = shard.inTransaction(() -> {
+            Optional<EmployeeShard.Row> found = shard.findByEmailForUpdate(email);
+            if (found.isEmpty()) {
+                return new EmployeeOutcome.NotFound(email);
+            }
+            if (expectedVersion != null && expectedVersion != found.get().version()) {
+                return new EmployeeOutcome.VersionMismatch(email, expectedVersion);
+            }
+            shard.delete(found.get().id());
+            deleted[0] = found.get();
+            return new EmployeeOutcome.Deleted();
+        });
+        if (deleted[0] != null) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(email, deleted[0].toSummary()));
+        }
+        return outcome;
+    }
+
+    @Override
+    public List<? extends Partition> partitions() {
+        return shards;
+    }
+
+    @Override
+    public List<DepartmentStatsResponseDto> countByDepartmentCode() {
+        return scatter(EmployeeShard::countByDepartmentCode).stream()
+                .collect(Collectors.groupingBy(DepartmentStatsResponseDto::departmentCode, Collectors.summingLong(DepartmentStatsResponseDto::headcount)))
+                .entrySet().stream()
+                .map(entry -> new DepartmentStatsResponseDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    // runs the query on every shard at once and concatenates the results in shard order
+    private <T> List<T> scatter(Function<EmployeeShard, List<T>> query) {
+        if (shards.size() == 1) {
+            return query.apply(shards.getFirst());
+        }
+        List<CompletableFuture<List<T>>> futures = IntStream.range(0, shards.size())
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> query.apply(shards.get(i)), executors.get(i)))
+                .toList();
+        List<T> results = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            try {
+                results.addAll(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void close() throws Exception {
+        executors.forEach(ExecutorService::shutdownNow);
+        for (EmployeeShard shard : shards) {
+            if (shard.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static EmployeeShard.Row newRow(EmployeeRequestDto employeeRequestDto) {
+        return new EmployeeShard.Row(0, employeeRequestDto.email(), employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode(), 0);
+    }
+
+    private static String toMessage(Set<ConstraintViolation<EmployeeRequestDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,21 @@
+package com.bright.ems.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+// shards are identified by their position in the list; see ConsistentHashRing
+@ConfigurationProperties("ems.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        List<Shard> shards,
+        int virtualNodes,
+        int maximumPoolSize
+) {
+    public record Shard(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
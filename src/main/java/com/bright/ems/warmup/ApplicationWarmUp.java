@@ -0,0 +1,132 @@
+package com.bright.ems.warmup;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.model.Employee;
+import com.bright.ems.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs before the application reports itself ready, so the first real requests do not pay for
+ * query plan compilation, statement preparation, lazy MVC initialization and interpreted code:
+ * <ol>
+ *     <li>every {@link EmployeeRepository} query the request paths use, plus the insert, update
+ *     and delete statements, inside rolled-back transactions;</li>
+ *     <li>read-only and failing requests against the employee endpoints over loopback HTTP, which
+ *     walk the controller, validation, Jackson and error-handling paths without changing data.
+ *     They are marked by {@link WarmUpRequests}, so they neither spend rate-limit budget nor show
+ *     up in the request and error metrics.</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "ems.warm-up.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ApplicationWarmUp implements ApplicationRunner {
+
+    private static final String WARM_UP_DOMAIN = "@warm-up.invalid";
+
+    private final EmployeeRepository employeeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    @Value("${ems.warm-up.iterations:200}")
+    private int iterations;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < iterations; i++) {
+            String email = "employee" + i + WARM_UP_DOMAIN;
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                exerciseRepository(email);
+            });
+        }
+        log.info("Warmed up repository queries in {} ms ({} iterations)", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), iterations);
+
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return;
+        }
+        started = System.nanoTime();
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String baseUrl = "http://localhost:" + port + "/api/v1/employees";
+        for (int i = 0; i < iterations; i++) {
+            exerciseEndpoints(httpClient, baseUrl, "employee" + i + WARM_UP_DOMAIN);
+        }
+        log.info("Warmed up employee endpoints in {} ms ({} iterations)", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), iterations);
+    }
+
+    private void exerciseEndpoints(HttpClient httpClient, String baseUrl, String email) throws IOException, InterruptedException {
+        // warm-up emails never exist, so lookups and patches take the 404 path and nothing is written
+        List<HttpRequest> requests = List.of(
+                warmUpRequest(baseUrl + "/" + email).GET().build(),
+                warmUpRequest(baseUrl + "?departmentCode=WarmUp").GET().build(),
+                warmUpRequest(baseUrl + "?firstName=Warm").GET().build(),
+                warmUpRequest(baseUrl + "?lastName=Up").GET().build(),
+                warmUpRequest(baseUrl + "/" + email)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .method(HttpMethod.PATCH.name(), HttpRequest.BodyPublishers.ofString("{\"departmentCode\":\"WarmUp\"}"))
+                        .build()
+        );
+        for (HttpRequest request : requests) {
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private static HttpRequest.Builder warmUpRequest(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).header(WarmUpRequests.HEADER, WarmUpRequests.token());
+    }
+
+    private void exerciseRepository(String email) {
+        Employee employee = employeeRepository.saveAndFlush(new Employee("Warm", "Up", email, "WarmUp"));
+        employeeRepository.findByEmail(email);
+        employeeRepository.findProjectedByEmail(email);
+        employeeRepository.existsByEmail(email);
+        employeeRepository.findByEmailIn(List.of(email));
+        employeeRepository.findExistingEmails(List.of(email));
+        employeeRepository.findByFirstNameIgnoreCase("Warm");
+        employeeRepository.findByLastNameIgnoreCase("Up");
+        employeeRepository.findByDepartmentCodeIgnoreCase("WarmUp");
+        employeeRepository.findProjectedByFirstNameIgnoreCase("Warm");
+        employeeRepository.findProjectedByLastNameIgnoreCase("Up");
+        List<EmployeeResponseDto> employeeResponseDtos = employeeRepository.findProjectedByDepartmentCodeIgnoreCase("WarmUp");
+        employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId() - 1, Limit.of(1));
+        employee.setLastName("Upped");
+        employeeRepository.flush();
+        employeeRepository.patchByEmail(email, "Warmed", null, null);
+        employeeRepository.bulkDeleteByEmail(email);
+        try {
+            objectMapper.writeValueAsBytes(employeeResponseDtos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bright.ems.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * Marks the loopback requests of {@link ApplicationWarmUp} so the rate limiter and the request and
+ * error metrics can leave them out. The header carries a token drawn when the class is loaded and
+ * never sent anywhere else, so a client cannot set it to skip its rate limit.
+ */
+public final class WarmUpRequests {
+
+    public static final String HEADER = "X-Ems-Warm-Up";
+
+    private static final String TOKEN = UUID.randomUUID().toString();
+
+    private WarmUpRequests() {
+    }
+
+    static String token() {
+        return TOKEN;
+    }
+
+    public static boolean isWarmUp(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+        return value != null && MessageDigest.isEqual(value.getBytes(StandardCharsets.UTF_8), TOKEN.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,184 @@
+package com.bright.ems.writebehind;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Segmented append-only log of accepted patches, one JSON line per patch. A flush seals the
+ * active segment and deletes the sealed ones once their patches are in the database or held
+ * back, so at any time the segments and the held-back file hold every acknowledged patch that
+ * may not have been applied yet.
+ */
+@Slf4j
+public class PatchLog implements Closeable {
+
+    public record Entry(String email, EmployeePatchDto patch) {
+    }
+
+    private static final String SEGMENT_PREFIX = "patches-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String HELD_BACK_FILE = "held-back.log";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private final List<Path> sealedSegments = new ArrayList<>();
+    private long nextSegment;
+    private Path activeSegment;
+    private FileChannel activeChannel;
+
+    public PatchLog(Path directory, boolean fsync, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> segments = Files.list(directory)) {
+                // segments left by a previous run are replayed before anything new is appended
+                segments.filter(PatchLog::isSegment).sorted().forEach(sealedSegments::add);
+            }
+            nextSegment = sealedSegments.isEmpty() ? 0 : segmentNumber(sealedSegments.getLast()) + 1;
+            openActiveSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open patch log in " + directory, e);
+        }
+    }
+
+    public synchronized void append(String email, EmployeePatchDto patch) {
+        try {
+            write(activeChannel, new Entry(email, patch));
+            if (fsync) {
+                activeChannel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to patch log in " + directory, e);
+        }
+    }
+
+    /**
+     * Seals the active segment and returns every sealed segment, oldest first. Everything
+     * appended before this call is in the returned segments.
+     */
+    public synchronized List<Path> rotate() {
+        try {
+            activeChannel.close();
+            sealedSegments.add(activeSegment);
+            openActiveSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate patch log in " + directory, e);
+        }
+        return List.copyOf(sealedSegments);
+    }
+
+    public synchronized void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+                sealedSegments.remove(segment);
+            } catch (IOException e) {
+                log.warn("Cannot delete applied patch log segment {}", segment, e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the held-back file with the given entries, the patches the database rejected. It
+     * is written beside the segments and through a temporary file, so deleting applied segments
+     * never takes a held-back patch with it and a crash leaves either the old or the new file.
+     */
+    public synchronized void writeHeldBack(List<Entry> entries) {
+        Path temporary = directory.resolve(HELD_BACK_FILE + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Entry entry : entries) {
+                    write(channel, entry);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+            }
+            Files.move(temporary, directory.resolve(HELD_BACK_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write held-back patches in " + directory, e);
+        }
+    }
+
+    // entries of the held-back file; they are older than anything in the segments
+    public synchronized List<Entry> replayHeldBack() {
+        List<Entry> entries = new ArrayList<>();
+        Path heldBack = directory.resolve(HELD_BACK_FILE);
+        if (Files.exists(heldBack)) {
+            read(heldBack, entries);
+        }
+        return entries;
+    }
+
+    // entries of the sealed segments, in append order
+    public synchronized List<Entry> replay() {
+        List<Entry> entries = new ArrayList<>();
+        for (Path segment : sealedSegments) {
+            read(segment, entries);
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        activeChannel.close();
+    }
+
+    private void write(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+    }
+
+    private void read(Path file, List<Entry> entries) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    entries.add(objectMapper.readValue(line, Entry.class));
+                } catch (JsonProcessingException e) {
+                    // only the tail written during a crash can be torn, and that patch was never acknowledged
+                    log.warn("Skipping torn patch log entry in {}", file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay patch log file " + file, e);
+        }
+    }
+
+    private void openActiveSegment() throws IOException {
+        activeSegment = directory.resolve(SEGMENT_PREFIX + "%019d".formatted(nextSegment++) + SEGMENT_SUFFIX);
+        activeChannel = FileChannel.open(activeSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
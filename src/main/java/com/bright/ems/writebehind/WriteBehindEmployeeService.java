@@ -0,0 +1,473 @@
+package com.bright.ems.writebehind;
+
+import com.bright.ems.config.CacheConfig;
+import com.bright.ems.exception.BulkheadFullException;
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.service.EmployeeOutcome;
+import com.bright.ems.service.EmployeeService;
+import com.bright.ems.service.impl.EmployeeServiceImpl;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Acknowledges unconditional PATCHes once they are in the {@link PatchLog}, coalesces them per
+ * email in memory and applies them in batches on a schedule or when too many are pending.
+ * Every other write, and every read that cannot overlay pending patches by email, first drains
+ * the pending patches so it observes them in order.
+ *
+ * <p>When the database is unavailable, the failed chunk and the chunks after it go back to
+ * pending, chunks already committed are not applied again, and {@link #flush()} rethrows so
+ * callers that need the patches applied see the failure. A chunk the database rejects for any
+ * other reason is retried row by row, and only the patches rejected on their own are held back:
+ * kept in the {@link PatchLog}'s held-back file and retried with a backoff that doubles from the
+ * flush interval. A logged patch is never dropped; one that failed {@code maxAttempts} times
+ * turns {@link WriteBehindHealthIndicator} down until it applies.
+ */
+@Slf4j
+public class WriteBehindEmployeeService implements EmployeeService {
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final EmployeeServiceImpl delegate;
+    private final PatchLog patchLog;
+    private final Cache employeesByEmail;
+    private final int maxPending;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration flushInterval;
+
+    private final Object flushLock = new Object();
+    private volatile Map<String, EmployeePatchDto> pending = new ConcurrentHashMap<>();
+    // taken out of pending by a running flush but possibly not committed yet
+    private volatile Map<String, EmployeePatchDto> inFlight = Map.of();
+    // patches the database rejected on their own; read by the overlay, written only under flushLock
+    private final Map<String, HeldBack> heldBack = new ConcurrentHashMap<>();
+    // whether heldBack differs from the log's held-back file, guarded by flushLock
+    private boolean heldBackChanged;
+    private volatile int consecutiveFailures;
+    private volatile RuntimeException lastFailure;
+
+    public WriteBehindEmployeeService(EmployeeServiceImpl delegate, PatchLog patchLog, CacheManager cacheManager, int maxPending, int batchSize, int maxAttempts, Duration flushInterval) {
+        this.delegate = delegate;
+        this.patchLog = patchLog;
+        this.employeesByEmail = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL);
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    void recover() {
+        // held-back patches are retried on the first flush, with their attempts counted afresh
+        long now = System.nanoTime();
+        for (PatchLog.Entry entry : patchLog.replayHeldBack()) {
+            heldBack.merge(entry.email(), new HeldBack(entry.patch(), 0, now), (older, newer) -> older.withPatch(coalesce(older.patch(), newer.patch())));
+        }
+        // replayed patches are only pending again; the first flush applies them and drops the old segments
+        for (PatchLog.Entry entry : patchLog.replay()) {
+            pending.merge(entry.email(), entry.patch(), WriteBehindEmployeeService::coalesce);
+        }
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto) {
+        return Optional.of(tryUpdateEmployeePartially(email, employeePatchDto, null).orElseThrow());
+    }
+
+    @Override
+    public EmployeeOutcome tryUpdateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        if (expectedVersion != null) {
+            flush();
+            return delegate.tryUpdateEmployeePartially(email, employeePatchDto, expectedVersion);
+        }
+        EmployeePatchDto before = pendingPatch(email);
+        Optional<EmployeeResponseDto> found = delegate.findByEmail(email);
+        if (found.isEmpty()) {
+            return new EmployeeOutcome.NotFound(email);
+        }
+        int pendingCount;
+        EmployeePatchDto patch;
+        synchronized (this) {
+            patchLog.append(email, employeePatchDto);
+            pending.merge(email, employeePatchDto, WriteBehindEmployeeService::coalesce);
+            pendingCount = pending.size();
+            patch = coalesce(before, pendingPatch(email));
+        }
+        if (pendingCount >= maxPending) {
+            // the patch is already durable in the log, so a failed flush does not fail the request
+            flushQuietly();
+        }
+        return new EmployeeOutcome.Success(overlay(found.get(), patch));
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> findByEmail(String email) {
+        // taken before the read: a flush committing in between would otherwise leave neither the patch nor its row visible
+        EmployeePatchDto patch = pendingPatch(email);
+        return delegate.findByEmail(email).map(employeeResponseDto -> overlay(employeeResponseDto, patch));
+    }
+
+    @Scheduled(fixedDelayString = "${ems.write-behind.flush-interval:200ms}")
+    void flushOnSchedule() {
+        flushQuietly();
+    }
+
+    public void flush() {
+        if (pending.isEmpty() && inFlight.isEmpty() && !anyHeldBackDue(System.nanoTime())) {
+            return;
+        }
+        synchronized (flushLock) {
+            Map<String, EmployeePatchDto> batch;
+            List<Path> segments;
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (pending.isEmpty() && !anyHeldBackDue(now)) {
+                    return;
+                }
+                batch = pending;
+                inFlight = batch;
+                pending = new ConcurrentHashMap<>();
+                segments = patchLog.rotate();
+                // a held-back patch that is due rides along; newer patches for one that is not wait behind it
+                for (Map.Entry<String, HeldBack> entry : heldBack.entrySet()) {
+                    String email = entry.getKey();
+                    HeldBack held = entry.getValue();
+                    if (held.retryAt() - now <= 0) {
+                        batch.merge(email, held.patch(), (newer, older) -> coalesce(older, newer));
+                    } else if (batch.containsKey(email)) {
+                        heldBack.put(email, held.withPatch(coalesce(held.patch(), batch.get(email))));
+                        batch.remove(email);
+                        heldBackChanged = true;
+                    }
+                }
+            }
+            List<String> emails = new ArrayList<>(batch.keySet());
+            Set<String> settled = new HashSet<>();
+            try {
+                for (int start = 0; start < emails.size(); start += batchSize) {
+                    List<String> chunk = emails.subList(start, Math.min(start + batchSize, emails.size()));
+                    try {
+                        apply(batch, chunk, settled);
+                    } catch (RuntimeException e) {
+                        if (isUnavailable(e)) {
+                            throw e;
+                        }
+                        log.warn("Write-behind chunk of {} employees was rejected, applying it row by row", chunk.size(), e);
+                        applyOneByOne(batch, chunk, settled);
+                    }
+                }
+                // the held-back patches are in their own file before the segments that logged them go;
+                // segments of earlier failed flushes are returned by rotate() again and go here as well
+                writeHeldBack();
+                patchLog.delete(segments);
+                consecutiveFailures = 0;
+                lastFailure = null;
+            } catch (RuntimeException e) {
+                requeue(batch, emails.stream().filter(email -> !settled.contains(email)).toList());
+                try {
+                    writeHeldBack();
+                } catch (RuntimeException writeFailure) {
+                    e.addSuppressed(writeFailure);
+                }
+                consecutiveFailures++;
+                lastFailure = e;
+                log.warn("Write-behind flush failed after {} of {} employees, re-queued the rest", settled.size(), batch.size(), e);
+                throw e;
+            } finally {
+                inFlight = Map.of();
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // logged by flush and reported by WriteBehindHealthIndicator; the patches stay pending
+        }
+    }
+
+    // commits the patches of the given emails in one transaction and releases any of them that were held back
+    private void apply(Map<String, EmployeePatchDto> batch, List<String> emails, Set<String> settled) {
+        Map<String, EmployeePatchDto> chunk = new HashMap<>();
+        for (String email : emails) {
+            chunk.put(email, batch.get(email));
+        }
+        delegate.updateEmployeesPartially(chunk);
+        emails.forEach(employeesByEmail::evict);
+        settled.addAll(emails);
+        for (String email : emails) {
+            heldBackChanged |= heldBack.remove(email) != null;
+        }
+    }
+
+    // a rejected chunk is retried row by row, so only the patches the database rejects on their own are held back
+    private void applyOneByOne(Map<String, EmployeePatchDto> batch, List<String> chunk, Set<String> settled) {
+        for (String email : chunk) {
+            try {
+                apply(batch, List.of(email), settled);
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    throw e;
+                }
+                holdBack(email, batch.get(email), e);
+                settled.add(email);
+            }
+        }
+    }
+
+    private void holdBack(String email, EmployeePatchDto patch, RuntimeException e) {
+        HeldBack previous = heldBack.get(email);
+        int attempts = previous == null ? 1 : previous.attempts() + 1;
+        heldBack.put(email, new HeldBack(patch, attempts, System.nanoTime() + retryDelay(attempts).toNanos()));
+        heldBackChanged = true;
+        if (attempts == maxAttempts) {
+            log.error("Write-behind patch of {} was rejected {} times; it stays held back and is retried every {}", email, attempts, MAX_RETRY_DELAY, e);
+        } else {
+            log.warn("Write-behind patch of {} was rejected, holding it back for attempt {}", email, attempts + 1, e);
+        }
+    }
+
+    private void writeHeldBack() {
+        if (heldBackChanged) {
+            patchLog.writeHeldBack(heldBack.entrySet().stream()
+                    .map(entry -> new PatchLog.Entry(entry.getKey(), entry.getValue().patch()))
+                    .toList());
+            heldBackChanged = false;
+        }
+    }
+
+    // patches that were never committed go back to pending without being charged an attempt
+    private void requeue(Map<String, EmployeePatchDto> batch, List<String> emails) {
+        synchronized (this) {
+            Map<String, EmployeePatchDto> newer = pending;
+            for (String email : emails) {
+                newer.merge(email, batch.get(email), (newerPatch, olderPatch) -> coalesce(olderPatch, newerPatch));
+            }
+        }
+    }
+
+    // the database or the pool being out fails every row alike, so isolating rows would only multiply the failures
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof BulkheadFullException;
+    }
+
+    // doubles from the flush interval with every failed attempt, up to MAX_RETRY_DELAY
+    private Duration retryDelay(int attempts) {
+        Duration delay = flushInterval.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    private boolean anyHeldBackDue(long now) {
+        for (HeldBack held : heldBack.values()) {
+            if (held.retryAt() - now <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Write-behind patches could not be applied on shutdown; they stay in the log and are replayed on the next start", e);
+        }
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> createEmployee(EmployeeRequestDto employeeRequestDto) {
+        return delegate.createEmployee(employeeRequestDto);
+    }
+
+    @Override
+    public List<EmployeeBatchResultDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        return delegate.createEmployees(employeeRequestDtos);
+    }
+
+    // imports only create employees, which never wait in the patch queue
+    @Override
+    public Set<String> findExistingEmails(List<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public int insertEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        return delegate.insertEmployees(employeeRequestDtos);
+    }
+
+    @Override
+    public List<EmployeeResponseDto> getAllEmployees() {
+        flush();
+        return delegate.getAllEmployees();
+    }
+
+    @Override
+    public EmployeePageResponseDto getEmployees(Long after, int limit) {
+        flush();
+        return delegate.getEmployees(after, limit);
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeResponseDto> consumer) {
+        flush();
+        delegate.streamAllEmployees(consumer);
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByFirstName(String firstName) {
+        flush();
+        return delegate.findByFirstName(firstName);
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByLastName(String lastName) {
+        flush();
+        return delegate.findByLastName(lastName);
+    }
+
+    @Override
+    public List<EmployeeResponseDto> findByDepartmentCode(String departmentCode) {
+        flush();
+        return delegate.findByDepartmentCode(departmentCode);
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto) {
+        flush();
+        return delegate.updateEmployee(email, employeeRequestDto);
+    }
+
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        flush();
+        return delegate.updateEmployee(email, employeeRequestDto, expectedVersion);
+    }
+
+    // If-Match needs the committed version, so conditional patches go straight to the database
+    @Override
+    public Optional<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        flush();
+        return delegate.updateEmployeePartially(email, employeePatchDto, expectedVersion);
+    }
+
+    @Override
+    public void deleteEmployee(String email) {
+        flush();
+        delegate.deleteEmployee(email);
+    }
+
+    @Override
+    public void deleteEmployee(String email, Long expectedVersion) {
+        flush();
+        delegate.deleteEmployee(email, expectedVersion);
+    }
+
+    @Override
+    public EmployeeOutcome tryCreateEmployee(EmployeeRequestDto employeeRequestDto) {
+        return delegate.tryCreateEmployee(employeeRequestDto);
+    }
+
+    @Override
+    public EmployeeOutcome tryUpdateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        flush();
+        return delegate.tryUpdateEmployee(email, employeeRequestDto, expectedVersion);
+    }
+
+    @Override
+    public EmployeeOutcome tryDeleteEmployee(String email, Long expectedVersion) {
+        flush();
+        return delegate.tryDeleteEmployee(email, expectedVersion);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public int heldBackCount() {
+        return heldBack.size();
+    }
+
+    // held-back patches that failed maxAttempts times and need someone to look at them
+    public long stuckCount() {
+        return heldBack.values().stream().filter(held -> held.attempts() >= maxAttempts).count();
+    }
+
+    public int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    private EmployeePatchDto pendingPatch(String email) {
+        // pending before inFlight: a flush publishes inFlight before it swaps pending; a held-back
+        // patch is older than both and only leaves heldBack once it is committed
+        EmployeePatchDto newer = pending.get(email);
+        EmployeePatchDto flushing = inFlight.get(email);
+        HeldBack held = heldBack.get(email);
+        return coalesce(coalesce(held == null ? null : held.patch(), flushing), newer);
+    }
+
+    // the pending state has no committed version yet, so it is returned without one (and without an ETag)
+    private static EmployeeResponseDto overlay(EmployeeResponseDto employeeResponseDto, EmployeePatchDto patch) {
+        if (patch == null) {
+            return employeeResponseDto;
+        }
+        return new EmployeeResponseDto(
+                patch.firstName() != null ? patch.firstName() : employeeResponseDto.firstName(),
+                patch.lastName() != null ? patch.lastName() : employeeResponseDto.lastName(),
+                patch.departmentCode() != null ? patch.departmentCode() : employeeResponseDto.departmentCode(),
+                null
+        );
+    }
+
+    static EmployeePatchDto coalesce(EmployeePatchDto older, EmployeePatchDto newer) {
+        if (older == null || newer == null) {
+            return older == null ? newer : older;
+        }
+        return new EmployeePatchDto(
+                newer.firstName() != null ? newer.firstName() : older.firstName(),
+                newer.lastName() != null ? newer.lastName() : older.lastName(),
+                newer.departmentCode() != null ? newer.departmentCode() : older.departmentCode()
+        );
+    }
+
+    // retryAt is a System.nanoTime() reading
+    private record HeldBack(EmployeePatchDto patch, int attempts, long retryAt) {
+        private HeldBack withPatch(EmployeePatchDto patch) {
+            return new HeldBack(patch, attempts, retryAt);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bright.ems.writebehind;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+// down while flushes keep failing or a patch stays rejected, since acknowledged patches are then not applied
+@RequiredArgsConstructor
+public class WriteBehindHealthIndicator implements HealthIndicator {
+
+    private final WriteBehindEmployeeService writeBehindEmployeeService;
+
+    @Override
+    public Health health() {
+        int consecutiveFailures = writeBehindEmployeeService.consecutiveFailures();
+        long stuck = writeBehindEmployeeService.stuckCount();
+        Health.Builder builder;
+        if (consecutiveFailures > 0) {
+            builder = Health.down(writeBehindEmployeeService.lastFailure());
+        } else {
+            builder = stuck == 0 ? Health.up() : Health.down();
+        }
+        return builder
+                .withDetail("pending", writeBehindEmployeeService.pendingCount())
+                .withDetail("consecutiveFailures", consecutiveFailures)
+                .withDetail("heldBack", writeBehindEmployeeService.heldBackCount())
+                .withDetail("stuck", stuck)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.bright.ems.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("ems.write-behind")
+public record WriteBehindProperties(
+        boolean enabled,
+        Path logDirectory,
+        Duration flushInterval,
+        int maxPending,
+        int batchSize,
+        int maxAttempts,
+        boolean fsync
+) {
+}
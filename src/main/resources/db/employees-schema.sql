@@ -0,0 +1,33 @@
+-- mirrors the schema Hibernate generates, for modes that do not let Hibernate create it
+create sequence if not exists employees_seq start with 1 increment by 50;
+
+create table if not exists employees (
+    id bigint not null primary key,
+    department_code varchar(255),
+    email varchar(255) unique,
+    first_name varchar(255),
+    last_name varchar(255),
+    normalized_department_code varchar(255),
+    normalized_first_name varchar(255),
+    normalized_last_name varchar(255),
+    version bigint
+);
+
+create index if not exists idx_employees_normalized_first_name on employees (normalized_first_name);
+create index if not exists idx_employees_normalized_last_name on employees (normalized_last_name);
+create index if not exists idx_employees_normalized_department_code on employees (normalized_department_code);
+
+create table if not exists employee_changes (
+    id bigint not null primary key,
+    changed_at timestamp(6) with time zone,
+    department_code varchar(255),
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    operation enum ('CREATED','DELETED','UPDATED')
+);
+
+create table if not exists employee_change_position (
+    id integer not null primary key,
+    position bigint not null
+);
@@ -0,0 +1,109 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// the /api/v1/employees contract of EmployeeController, served by WebFlux in the reactive profile
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/employees")
+@RequiredArgsConstructor
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @PostMapping
+    public Mono<ResponseEntity<EmployeeResponseDto>> createEmployee(@Valid @RequestBody EmployeeRequestDto employeeRequestDto) {
+        return employeeService.createEmployee(employeeRequestDto)
+                .map(employeeResponseDto -> EmployeeETags.withETag(ResponseEntity.status(HttpStatus.CREATED), employeeResponseDto).body(employeeResponseDto));
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<EmployeeBatchResultDto> createEmployees(@RequestBody List<EmployeeRequestDto> employeeRequestDtos) {
+        return employeeService.createEmployees(employeeRequestDtos);
+    }
+
+    // written as a JSON array or, with Accept: application/x-ndjson, one line per row at the client's pace
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeResponseDto> getEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<EmployeePageResponseDto> getEmployeesPage(@RequestParam int limit, @RequestParam(required = false) Long after) {
+        return employeeService.getEmployees(after, limit);
+    }
+
+    @GetMapping(params = "firstName")
+    public Flux<EmployeeResponseDto> getEmployeesByFirstName(@RequestParam String firstName) {
+        return employeeService.findByFirstName(firstName);
+    }
+
+    @GetMapping(params = "lastName")
+    public Flux<EmployeeResponseDto> getEmployeesByLastName(@RequestParam String lastName) {
+        return employeeService.findByLastName(lastName);
+    }
+
+    @GetMapping(params = "departmentCode")
+    public Flux<EmployeeResponseDto> getEmployeesByDepartmentCode(@RequestParam String departmentCode) {
+        return employeeService.findByDepartmentCode(departmentCode);
+    }
+
+    @GetMapping(path = "/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeResponseDto> streamEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("/{email}")
+    public Mono<ResponseEntity<EmployeeResponseDto>> getEmployee(@PathVariable String email, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return employeeService.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException(email)))
+                .map(employeeResponseDto -> {
+                    if (ifNoneMatch != null && employeeResponseDto.version() != null && EmployeeETags.eTagMatches(ifNoneMatch, employeeResponseDto.version())) {
+                        return EmployeeETags.withETag(ResponseEntity.status(HttpStatus.NOT_MODIFIED), employeeResponseDto).build();
+                    }
+                    return EmployeeETags.withETag(ResponseEntity.status(HttpStatus.OK), employeeResponseDto).body(employeeResponseDto);
+                });
+    }
+
+    @PatchMapping("/{email}")
+    public Mono<ResponseEntity<EmployeeResponseDto>> updateEmployee(@PathVariable String email, @Valid @RequestBody EmployeePatchDto employeePatchDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EmployeeETags.expectedVersion(email, ifMatch);
+        return employeeService.updateEmployeePartially(email, employeePatchDto, expectedVersion)
+                .onErrorMap(error -> EmployeeETags.preconditionFailedIfMissing(error, email, ifMatch, expectedVersion))
+                .map(employeeResponseDto -> EmployeeETags.withETag(ResponseEntity.status(HttpStatus.OK), employeeResponseDto).body(employeeResponseDto));
+    }
+
+    @PutMapping("/{email}")
+    public Mono<ResponseEntity<EmployeeResponseDto>> updateEmployeeEmail(@PathVariable String email, @Valid @RequestBody EmployeeRequestDto employeeRequestDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EmployeeETags.expectedVersion(email, ifMatch);
+        return employeeService.updateEmployee(email, employeeRequestDto, expectedVersion)
+                .onErrorMap(error -> EmployeeETags.preconditionFailedIfMissing(error, email, ifMatch, expectedVersion))
+                .map(employeeResponseDto -> EmployeeETags.withETag(ResponseEntity.status(HttpStatus.OK), employeeResponseDto).body(employeeResponseDto));
+    }
+
+    @DeleteMapping("/{email}")
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable String email, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EmployeeETags.expectedVersion(email, ifMatch);
+        return employeeService.deleteEmployee(email, expectedVersion)
+                .onErrorMap(error -> EmployeeETags.preconditionFailedIfMissing(error, email, ifMatch, expectedVersion))
+                .then(Mono.just(ResponseEntity.status(HttpStatus.NO_CONTENT).<Void>build()));
+    }
+}
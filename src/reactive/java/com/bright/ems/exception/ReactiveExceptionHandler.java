@@ -0,0 +1,78 @@
+package com.bright.ems.exception;
+
+import com.bright.ems.exception.employee.DuplicateEmailException;
+import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.employee.EmployeeVersionMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+// GlobalExceptionHandler's mapping for the reactive profile, where there is no HttpServletRequest
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ReactiveExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<ApiError> handleDuplicateEmailException(DuplicateEmailException e, ServerHttpRequest request) {
+        return respond(e, e.getMessage(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiError> handleDataIntegrityViolationException(DataIntegrityViolationException e, ServerHttpRequest request) {
+        return respond(e, "Email already exists. Please choose a different one.", HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiError> handleWebExchangeBindException(WebExchangeBindException e, ServerHttpRequest request) {
+        String message = e.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(","));
+        return respond(e, message, HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ResponseEntity<ApiError> handleEmployeeNotFoundException(EmployeeNotFoundException e, ServerHttpRequest request) {
+        return respond(e, e.getMessage(), HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler(EmployeeVersionMismatchException.class)
+    public ResponseEntity<ApiError> handleEmployeeVersionMismatchException(EmployeeVersionMismatchException e, ServerHttpRequest request) {
+        return respond(e, e.getMessage(), HttpStatus.PRECONDITION_FAILED, request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleException(Exception e, ServerHttpRequest request) {
+        return respond(e, e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, request);
+    }
+
+    private ResponseEntity<ApiError> respond(Exception e, String message, HttpStatus status, ServerHttpRequest request) {
+        meterRegistry.ifAvailable(registry -> registry.counter(GlobalExceptionHandler.ERRORS_METRIC_NAME,
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment());
+        ApiError apiError = new ApiError(
+                message,
+                request.getPath().value(),
+                status.value(),
+                Instant.now()
+        );
+        return ResponseEntity.status(status).body(apiError);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bright.ems.service;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveEmployeeService {
+    Mono<EmployeeResponseDto> createEmployee(EmployeeRequestDto employeeRequestDto);
+    Flux<EmployeeBatchResultDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos);
+    Flux<EmployeeResponseDto> getAllEmployees();
+    Mono<EmployeePageResponseDto> getEmployees(Long after, int limit);
+    Flux<EmployeeResponseDto> findByFirstName(String firstName);
+    Flux<EmployeeResponseDto> findByLastName(String lastName);
+    Flux<EmployeeResponseDto> findByDepartmentCode(String departmentCode);
+    Mono<EmployeeResponseDto> findByEmail(String email);
+    Mono<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion);
+    Mono<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion);
+    Mono<Void> deleteEmployee(String email, Long expectedVersion);
+}
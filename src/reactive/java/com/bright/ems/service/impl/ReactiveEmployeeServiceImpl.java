@@ -0,0 +1,287 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.exception.employee.DuplicateEmailException;
+import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.employee.EmployeeVersionMismatchException;
+import com.bright.ems.model.Employee;
+import com.bright.ems.service.ReactiveEmployeeService;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeServiceImpl} for the {@code reactive} profile,
+ * issuing SQL through R2DBC against the same {@code employees} table.
+ *
+ * <p>Unlike {@link EmployeeServiceImpl} it publishes no {@link com.bright.ems.event.EmployeeChangedEvent}:
+ * the email cache, department counts, search index and change feed that consume those events
+ * are servlet-only, so the reactive profile serves none of them.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private static final String SELECT_RESPONSE = "select first_name, last_name, department_code, version from employees";
+    private static final String INSERT = "insert into employees (id, first_name, last_name, email, department_code, normalized_first_name, normalized_last_name, normalized_department_code, version) "
+            + "values (next value for employees_seq, $1, $2, $3, $4, $5, $6, $7, 0)";
+
+    private final DatabaseClient databaseClient;
+    private final Validator validator;
+
+    @Override
+    public Mono<EmployeeResponseDto> createEmployee(EmployeeRequestDto employeeRequestDto) {
+        // the unique index on email replaces the blocking implementation's lookup before insert
+        return databaseClient.inConnection(connection -> Mono.from(bindInsert(connection.createStatement(INSERT), employeeRequestDto).execute())
+                        .flatMap(result -> Mono.from(result.getRowsUpdated())))
+                .thenReturn(new EmployeeResponseDto(employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode(), 0L))
+                .onErrorMap(DataIntegrityViolationException.class, e -> new DuplicateEmailException(employeeRequestDto.email()));
+    }
+
+    @Override
+    @Transactional
+    public Flux<EmployeeBatchResultDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        EmployeeBatchResultDto[] results = new EmployeeBatchResultDto[employeeRequestDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>(employeeRequestDtos.size());
+        for (int i = 0; i < employeeRequestDtos.size(); i++) {
+            EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+            if (employeeRequestDto == null) {
+                results[i] = new EmployeeBatchResultDto(null, EmployeeBatchResultDto.Status.INVALID, null, "employee: must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequestDto>> violations = validator.validate(employeeRequestDto);
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.INVALID, null, toMessage(violations));
+            }
+        }
+        List<String> emails = validIndexes.stream().map(i -> employeeRequestDtos.get(i).email()).toList();
+        return findExistingEmails(emails).flatMapMany(existingEmails -> {
+            Set<String> seenEmails = new HashSet<>();
+            List<Integer> createdIndexes = new ArrayList<>(validIndexes.size());
+            for (int i : validIndexes) {
+                EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+                if (existingEmails.contains(employeeRequestDto.email()) || !seenEmails.add(employeeRequestDto.email())) {
+                    results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.DUPLICATE, null, DuplicateEmailException.MESSAGE_PREFIX + employeeRequestDto.email());
+                    continue;
+                }
+                createdIndexes.add(i);
+                results[i] = new EmployeeBatchResultDto(employeeRequestDto.email(), EmployeeBatchResultDto.Status.CREATED,
+                        new EmployeeResponseDto(employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode(), 0L), null);
+            }
+            return insertAll(createdIndexes.stream().map(employeeRequestDtos::get).toList())
+                    .thenMany(Flux.fromArray(results));
+        });
+    }
+
+    // one statement with a binding set per row, sent as a single batch
+    private Mono<Void> insertAll(List<EmployeeRequestDto> employeeRequestDtos) {
+        if (employeeRequestDtos.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT);
+            for (int i = 0; i < employeeRequestDtos.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bindInsert(statement, employeeRequestDtos.get(i));
+            }
+            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        }).then();
+    }
+
+    private Mono<Set<String>> findExistingEmails(List<String> emails) {
+        if (emails.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        return Flux.fromIterable(chunks(emails))
+                .concatMap(chunk -> databaseClient.sql("select email from employees where email in (:emails)")
+                        .bind("emails", chunk)
+                        .map(row -> row.get("email", String.class))
+                        .all())
+                .collect(Collectors.toSet());
+    }
+
+    private static List<List<String>> chunks(List<String> emails) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += EmployeeServiceImpl.EMAIL_LOOKUP_CHUNK_SIZE) {
+            chunks.add(emails.subList(from, Math.min(from + EmployeeServiceImpl.EMAIL_LOOKUP_CHUNK_SIZE, emails.size())));
+        }
+        return chunks;
+    }
+
+    private static Statement bindInsert(Statement statement, EmployeeRequestDto employeeRequestDto) {
+        return statement.bind(0, employeeRequestDto.firstName())
+                .bind(1, employeeRequestDto.lastName())
+                .bind(2, employeeRequestDto.email())
+                .bind(3, employeeRequestDto.departmentCode())
+                .bind(4, Employee.normalize(employeeRequestDto.firstName()))
+                .bind(5, Employee.normalize(employeeRequestDto.lastName()))
+                .bind(6, Employee.normalize(employeeRequestDto.departmentCode()));
+    }
+
+    private String toMessage(Set<ConstraintViolation<EmployeeRequestDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public Flux<EmployeeResponseDto> getAllEmployees() {
+        // rows are pulled from the cursor as the subscriber requests them
+        return databaseClient.sql(SELECT_RESPONSE + " order by id")
+                .map(ReactiveEmployeeServiceImpl::mapToResponse)
+                .all();
+    }
+
+    @Override
+    public Mono<EmployeePageResponseDto> getEmployees(Long after, int limit) {
+        int pageSize = Math.clamp(limit, 1, EmployeeServiceImpl.MAX_PAGE_SIZE);
+        return databaseClient.sql("select id, first_name, last_name, department_code, version from employees where id > :after order by id limit :limit")
+                .bind("after", after == null ? 0L : after)
+                .bind("limit", pageSize + 1)
+                .map(row -> Map.entry(row.get("id", Long.class), mapToResponse(row)))
+                .all()
+                .collectList()
+                .map(rows -> {
+                    boolean hasMore = rows.size() > pageSize;
+                    List<Map.Entry<Long, EmployeeResponseDto>> page = hasMore ? rows.subList(0, pageSize) : rows;
+                    Long nextCursor = hasMore ? page.getLast().getKey() : null;
+                    return new EmployeePageResponseDto(page.stream().map(Map.Entry::getValue).toList(), nextCursor);
+                });
+    }
+
+    @Override
+    public Flux<EmployeeResponseDto> findByFirstName(String firstName) {
+        return findByNormalizedColumn("normalized_first_name", firstName);
+    }
+
+    @Override
+    public Flux<EmployeeResponseDto> findByLastName(String lastName) {
+        return findByNormalizedColumn("normalized_last_name", lastName);
+    }
+
+    @Override
+    public Flux<EmployeeResponseDto> findByDepartmentCode(String departmentCode) {
+        return findByNormalizedColumn("normalized_department_code", departmentCode);
+    }
+
+    private Flux<EmployeeResponseDto> findByNormalizedColumn(String column, String value) {
+        return databaseClient.sql(SELECT_RESPONSE + " where " + column + " = :value")
+                .bind("value", Employee.normalize(value))
+                .map(ReactiveEmployeeServiceImpl::mapToResponse)
+                .all();
+    }
+
+    @Override
+    public Mono<EmployeeResponseDto> findByEmail(String email) {
+        return databaseClient.sql(SELECT_RESPONSE + " where email = :email")
+                .bind("email", email)
+                .map(ReactiveEmployeeServiceImpl::mapToResponse)
+                .one();
+    }
+
+    @Override
+    @Transactional
+    public Mono<EmployeeResponseDto> updateEmployee(String email, EmployeeRequestDto employeeRequestDto, Long expectedVersion) {
+        return updateColumns(email, employeeRequestDto.firstName(), employeeRequestDto.lastName(), employeeRequestDto.departmentCode(), expectedVersion);
+    }
+
+    @Override
+    @Transactional
+    public Mono<EmployeeResponseDto> updateEmployeePartially(String email, EmployeePatchDto employeePatchDto, Long expectedVersion) {
+        return updateColumns(email, employeePatchDto.firstName(), employeePatchDto.lastName(), employeePatchDto.departmentCode(), expectedVersion);
+    }
+
+    private Mono<EmployeeResponseDto> updateColumns(String email, String firstName, String lastName, String departmentCode, Long expectedVersion) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        if (firstName != null) {
+            columns.put("first_name", firstName);
+            columns.put("normalized_first_name", Employee.normalize(firstName));
+        }
+        if (lastName != null) {
+            columns.put("last_name", lastName);
+            columns.put("normalized_last_name", Employee.normalize(lastName));
+        }
+        if (departmentCode != null) {
+            columns.put("department_code", departmentCode);
+            columns.put("normalized_department_code", Employee.normalize(departmentCode));
+        }
+        StringBuilder sql = new StringBuilder("update employees set version = version + 1");
+        columns.keySet().forEach(column -> sql.append(", ").append(column).append(" = :").append(column));
+        sql.append(" where email = :email");
+        if (expectedVersion != null) {
+            sql.append(" and version = :version");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("email", email);
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            spec = spec.bind(column.getKey(), column.getValue());
+        }
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated()
+                .flatMap(updated -> checkUpdated(updated, email, expectedVersion))
+                .then(findByEmail(email));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteEmployee(String email, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("delete from employees where email = :email" + (expectedVersion == null ? "" : " and version = :version"))
+                .bind("email", email);
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated().flatMap(deleted -> checkUpdated(deleted, email, expectedVersion));
+    }
+
+    // a statement guarded by the version matched nothing: tell a missing row from a stale one
+    private Mono<Void> checkUpdated(long updated, String email, Long expectedVersion) {
+        if (updated > 0) {
+            return Mono.empty();
+        }
+        if (expectedVersion == null) {
+            return Mono.error(new EmployeeNotFoundException(email));
+        }
+        return databaseClient.sql("select count(*) from employees where email = :email")
+                .bind("email", email)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(count -> Mono.error(count > 0 ? new EmployeeVersionMismatchException(email, expectedVersion) : new EmployeeNotFoundException(email)));
+    }
+
+    private static EmployeeResponseDto mapToResponse(Readable row) {
+        return new EmployeeResponseDto(
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("department_code", String.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -0,0 +1,162 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.service.DepartmentStatsService;
+import com.bright.ems.service.EmployeeChangeFeedService;
+import com.bright.ems.service.EmployeeSearchService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+@RecordApplicationEvents
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    @DisplayName("POST then GET /employees/{email} should return the employee with an ETag and honour If-None-Match")
+    void createThenGetEmployee_shouldReturnEmployeeWithETag() {
+        webTestClient.post().uri("/api/v1/employees")
+                .bodyValue(new EmployeeRequestDto("Grace", "Hopper", "grace@reactive.com", "Navy"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().jsonPath("$.firstName").isEqualTo("Grace");
+
+        webTestClient.get().uri("/api/v1/employees/grace@reactive.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().jsonPath("$.lastName").isEqualTo("Hopper");
+
+        webTestClient.get().uri("/api/v1/employees/grace@reactive.com")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("POST /employees with an existing email or invalid body should return 400")
+    void createEmployee_whenDuplicateOrInvalid_shouldReturnBadRequest() {
+        EmployeeRequestDto employeeRequestDto = new EmployeeRequestDto("Alan", "Turing", "alan@reactive.com", "Math");
+        webTestClient.post().uri("/api/v1/employees").bodyValue(employeeRequestDto).exchange().expectStatus().isCreated();
+        webTestClient.post().uri("/api/v1/employees").bodyValue(employeeRequestDto).exchange().expectStatus().isBadRequest();
+        webTestClient.post().uri("/api/v1/employees")
+                .bodyValue(new EmployeeRequestDto("", "Turing", "not-an-email", "Math"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Batch create then page and stream the department as NDJSON")
+    void batchCreate_thenPageAndStream() {
+        webTestClient.post().uri("/api/v1/employees/batch")
+                .bodyValue(List.of(
+                        new EmployeeRequestDto("Ann", "One", "ann@batch.com", "Batch"),
+                        new EmployeeRequestDto("Bob", "Two", "bob@batch.com", "Batch"),
+                        new EmployeeRequestDto("Ann", "Again", "ann@batch.com", "Batch")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo("CREATED")
+                .jsonPath("$[1].status").isEqualTo("CREATED")
+                .jsonPath("$[2].status").isEqualTo("DUPLICATE");
+
+        webTestClient.get().uri("/api/v1/employees?departmentCode=batch")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeResponseDto.class).hasSize(2);
+
+        webTestClient.get().uri("/api/v1/employees?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.nextCursor").isNotEmpty();
+
+        List<EmployeeResponseDto> streamed = webTestClient.get().uri("/api/v1/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeResponseDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        Assertions.assertThat(streamed).extracting(EmployeeResponseDto::firstName).contains("Ann", "Bob");
+    }
+
+    @Test
+    @DisplayName("PATCH with If-Match should apply only for the current version, DELETE of an unknown email should return 404, or 412 under If-Match")
+    void patchWithIfMatch_shouldRejectStaleVersion() {
+        webTestClient.post().uri("/api/v1/employees")
+                .bodyValue(new EmployeeRequestDto("Linus", "T", "linus@reactive.com", "Kernel"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.patch().uri("/api/v1/employees/linus@reactive.com")
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new EmployeePatchDto(null, "Torvalds", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.lastName").isEqualTo("Torvalds").jsonPath("$.firstName").isEqualTo("Linus");
+
+        webTestClient.patch().uri("/api/v1/employees/linus@reactive.com")
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new EmployeePatchDto("L", null, null))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.delete().uri("/api/v1/employees/nobody@reactive.com")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.delete().uri("/api/v1/employees/nobody@reactive.com")
+                .header(HttpHeaders.IF_MATCH, "*")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    @DisplayName("Writes should publish no EmployeeChangedEvent, and nothing that consumes one should exist")
+    void writes_shouldPublishNoChangeEvents() {
+        webTestClient.post().uri("/api/v1/employees")
+                .bodyValue(new EmployeeRequestDto("Barbara", "Liskov", "barbara@reactive.com", "Theory"))
+                .exchange()
+                .expectStatus().isCreated();
+        webTestClient.delete().uri("/api/v1/employees/barbara@reactive.com")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        Assertions.assertThat(applicationEvents.stream(EmployeeChangedEvent.class)).isEmpty();
+        Assertions.assertThat(applicationContext.getBeanNamesForType(DepartmentStatsService.class)).isEmpty();
+        Assertions.assertThat(applicationContext.getBeanNamesForType(EmployeeSearchService.class)).isEmpty();
+        Assertions.assertThat(applicationContext.getBeanNamesForType(EmployeeChangeFeedService.class)).isEmpty();
+    }
+}
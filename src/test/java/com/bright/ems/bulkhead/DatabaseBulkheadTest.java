@@ -0,0 +1,76 @@
+package com.bright.ems.bulkhead;
+
+import com.bright.ems.exception.BulkheadFullException;
+import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "ems.bulkhead.enabled=true",
+        "ems.bulkhead.max-concurrent-calls=1",
+        "ems.bulkhead.max-wait=50ms"
+})
+class DatabaseBulkheadTest {
+
+    @MockitoBean
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DatabaseBulkhead databaseBulkhead;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Connections beyond the permit count should be refused once the wait expires, whichever path asks for them")
+    void employeeService_whenBulkheadSaturated_shouldThrowBulkheadFullException() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(employeeRepository.findAllProjectedBy()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        CompletableFuture<?> blocked = CompletableFuture.runAsync(employeeService::getAllEmployees);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CannotCreateTransactionException exception = assertThrows(CannotCreateTransactionException.class, () -> employeeService.findByLastName("Doe"));
+        Assertions.assertThat(exception).hasRootCauseInstanceOf(BulkheadFullException.class);
+        // plain JDBC takes its permit with the connection as well
+        assertThrows(BulkheadFullException.class, () -> jdbcTemplate.queryForObject("select 1", Integer.class));
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(databaseBulkhead.availablePermits()).isEqualTo(1);
+        Assertions.assertThat(employeeService.findByLastName("Doe")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A permit should be released when the call fails")
+    void execute_whenCallThrows_shouldReleasePermit() {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofMillis(10));
+        assertThrows(IllegalStateException.class, () -> bulkhead.execute(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        Assertions.assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+}
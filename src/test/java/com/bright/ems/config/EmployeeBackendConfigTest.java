@@ -0,0 +1,28 @@
+package com.bright.ems.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class EmployeeBackendConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner().withUserConfiguration(EmployeeBackendConfig.class);
+
+    @Test
+    @DisplayName("Enabling two modes that replace the EmployeeService should fail at startup and name both")
+    void startup_whenTwoExclusiveModesEnabled_shouldFail() {
+        contextRunner.withPropertyValues("ems.write-behind.enabled=true", "ems.sharding.enabled=true").run(context -> {
+            Assertions.assertThat(context).hasFailed();
+            Assertions.assertThat(context.getStartupFailure())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("ems.sharding.enabled and ems.write-behind.enabled cannot be combined");
+        });
+    }
+
+    @Test
+    @DisplayName("A single mode should start")
+    void startup_whenOneModeEnabled_shouldStart() {
+        contextRunner.withPropertyValues("ems.off-heap.enabled=true").run(context -> Assertions.assertThat(context).hasNotFailed());
+    }
+}
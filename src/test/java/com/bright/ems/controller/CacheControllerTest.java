@@ -0,0 +1,43 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.CacheStatsResponseDto;
+import com.bright.ems.service.CacheStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+@WebMvcTest(CacheController.class)
+class CacheControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    @DisplayName("GET /caches/stats should return hit, miss and eviction counters")
+    void getCacheStats_shouldReturnCounters() throws Exception {
+        Mockito.when(cacheStatsService.getCacheStats()).thenReturn(List.of(
+                new CacheStatsResponseDto("employeesByEmail", 9, 1, 0.9, 2, 7)
+        ));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/caches/stats")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("employeesByEmail"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].hitCount").value(9))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].missCount").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].evictionCount").value(2))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
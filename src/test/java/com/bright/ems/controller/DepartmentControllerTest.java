@@ -0,0 +1,43 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.service.DepartmentStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+@WebMvcTest(DepartmentController.class)
+class DepartmentControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DepartmentStatsService departmentStatsService;
+
+    @Test
+    @DisplayName("GET /departments/stats should return headcount per department")
+    void getDepartmentStats_shouldReturnHeadcounts() throws Exception {
+        Mockito.when(departmentStatsService.getDepartmentStats()).thenReturn(List.of(
+                new DepartmentStatsResponseDto("Compro", 12),
+                new DepartmentStatsResponseDto("HR", 3)
+        ));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/departments/stats")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].departmentCode").value("Compro"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].headcount").value(12))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].headcount").value(3))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
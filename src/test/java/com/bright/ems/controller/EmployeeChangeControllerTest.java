@@ -0,0 +1,64 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.EmployeeChangeDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.service.EmployeeChangeFeedService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+
+@WebMvcTest(EmployeeChangeController.class)
+class EmployeeChangeControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeChangeFeedService employeeChangeFeedService;
+
+    @Test
+    @DisplayName("GET /employees/changes should return the changes after the given sequence")
+    void getChanges_shouldReturnChangesSince() throws Exception {
+        Instant changedAt = Instant.parse("2025-01-01T00:00:00Z");
+        Mockito.when(employeeChangeFeedService.getChanges(41L, 100)).thenReturn(List.of(
+                new EmployeeChangeDto(42L, EmployeeChangedEvent.Operation.UPDATED, "john@doe.com", new EmployeeResponseDto("John", "Doe", "HR"), changedAt),
+                new EmployeeChangeDto(43L, EmployeeChangedEvent.Operation.DELETED, "jane@doe.com", null, changedAt)
+        ));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees/changes").param("since", "41")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].sequence").value(42))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].operation").value("UPDATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].employee.departmentCode").value("HR"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].email").value("jane@doe.com"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].employee").isEmpty())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees/changes/stream should resume from Last-Event-ID")
+    void streamChanges_shouldResumeFromLastEventId() throws Exception {
+        Mockito.when(employeeChangeFeedService.subscribe(7L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees/changes/stream")
+                        .param("since", "3")
+                        .header("Last-Event-ID", "7")
+        )
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        Mockito.verify(employeeChangeFeedService).subscribe(7L);
+    }
+}
@@ -1,34 +1,47 @@
 package com.bright.ems.controller;
 
+import com.bright.ems.config.MessageConverterConfig;
 import com.bright.ems.dto.request.EmployeePatchDto;
 import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
 import com.bright.ems.dto.response.EmployeeResponseDto;
 import com.bright.ems.exception.ApiError;
-import com.bright.ems.exception.employee.DuplicateEmailException;
-import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.BulkheadFullException;
+import com.bright.ems.service.EmployeeOutcome;
 import com.bright.ems.service.EmployeeService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import(MessageConverterConfig.class)
 class EmployeeControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -55,7 +68,7 @@ class EmployeeControllerTest {
     @Test
     @DisplayName("POST /employees should create and return employee")
     void createEmployee_shouldReturnEmployee() throws Exception {
-        Mockito.when(employeeService.createEmployee(employeeRequestDto)).thenReturn(Optional.of(employeeResponseDto));
+        Mockito.when(employeeService.tryCreateEmployee(employeeRequestDto)).thenReturn(new EmployeeOutcome.Success(employeeResponseDto));
 
         mockMvc.perform(
                 MockMvcRequestBuilders.post("/api/v1/employees")
@@ -73,17 +86,85 @@ class EmployeeControllerTest {
     @Test
     @DisplayName("POST /employees with existing email should return Bad Request 400")
     void createEmployee_shouldReturnBadRequest_whenEmailAlreadyExists() throws Exception {
-        Mockito.when(employeeService.createEmployee(employeeRequestDto)).thenThrow(new DuplicateEmailException("Employee already exists"));
+        Mockito.when(employeeService.tryCreateEmployee(employeeRequestDto)).thenReturn(new EmployeeOutcome.Duplicate(employeeRequestDto.email()));
         mockMvc.perform(
                 MockMvcRequestBuilders.post("/api/v1/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(employeeRequestDto))
         )
                 .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Employee already exists with email: " + employeeRequestDto.email()))
                 .andDo(MockMvcResultHandlers.print());
     }
 
 
+    @Test
+    @DisplayName("POST /employees/batch should return a result per item")
+    void createEmployees_shouldReturnPerItemResults() throws Exception {
+        var duplicateRequestDto = new EmployeeRequestDto("Jane", "Smith", "jane@smith.com", "HR");
+        Mockito.when(employeeService.createEmployees(List.of(employeeRequestDto, duplicateRequestDto))).thenReturn(List.of(
+                new EmployeeBatchResultDto("john@doe.com", EmployeeBatchResultDto.Status.CREATED, employeeResponseDto, null),
+                new EmployeeBatchResultDto("jane@smith.com", EmployeeBatchResultDto.Status.DUPLICATE, null, "Employee already exists with email: jane@smith.com")
+        ));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/api/v1/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(employeeRequestDto, duplicateRequestDto)))
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].employee.firstName").value("John"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value("DUPLICATE"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("POST /employees/batch should create a large array one chunk at a time")
+    void createEmployees_whenArrayExceedsChunk_shouldCreateInChunks() throws Exception {
+        List<EmployeeRequestDto> employeeRequestDtos = new ArrayList<>(Arrays.asList((EmployeeRequestDto) null));
+        for (int i = 1; i <= EmployeeController.BATCH_CHUNK_SIZE; i++) {
+            employeeRequestDtos.add(new EmployeeRequestDto("John", "Doe", "john" + i + "@doe.com", "Compro"));
+        }
+        Mockito.when(employeeService.createEmployees(Mockito.anyList())).thenAnswer(invocation -> invocation.<List<EmployeeRequestDto>>getArgument(0).stream()
+                .map(dto -> new EmployeeBatchResultDto(dto == null ? null : dto.email(), EmployeeBatchResultDto.Status.CREATED, null, null))
+                .toList());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/api/v1/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeRequestDtos))
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(EmployeeController.BATCH_CHUNK_SIZE + 1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1000].email").value("john1000@doe.com"));
+
+        Mockito.verify(employeeService).createEmployees(employeeRequestDtos.subList(0, EmployeeController.BATCH_CHUNK_SIZE));
+        Mockito.verify(employeeService).createEmployees(employeeRequestDtos.subList(EmployeeController.BATCH_CHUNK_SIZE, employeeRequestDtos.size()));
+    }
+
+    @Test
+    @DisplayName("POST /employees/batch with NDJSON should create every line")
+    void createEmployeesFromNdjson_shouldReturnPerItemResults() throws Exception {
+        var anotherRequestDto = new EmployeeRequestDto("Jane", "Smith", "jane@smith.com", "HR");
+        Mockito.when(employeeService.createEmployees(List.of(employeeRequestDto, anotherRequestDto))).thenReturn(List.of(
+                new EmployeeBatchResultDto("john@doe.com", EmployeeBatchResultDto.Status.CREATED, employeeResponseDto, null),
+                new EmployeeBatchResultDto("jane@smith.com", EmployeeBatchResultDto.Status.CREATED, new EmployeeResponseDto("Jane", "Smith", "HR"), null)
+        ));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/api/v1/employees/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(employeeRequestDto) + "\n" + objectMapper.writeValueAsString(anotherRequestDto) + "\n")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].email").value("jane@smith.com"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value("CREATED"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     @DisplayName("GET /employees should return a list of employees")
     void getEmployees_shouldReturnDtos() throws Exception {
@@ -100,6 +181,104 @@ class EmployeeControllerTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @DisplayName("GET /employees should serialize as Smile or CBOR when the client accepts it")
+    void getEmployees_withBinaryAccept_shouldNegotiateFormat() throws Exception {
+        Mockito.when(employeeService.getAllEmployees()).thenReturn(List.of(employeeResponseDto));
+
+        for (MediaType mediaType : List.of(new MediaType("application", "x-jackson-smile"), MediaType.APPLICATION_CBOR)) {
+            MvcResult mvcResult = mockMvc.perform(
+                    MockMvcRequestBuilders.get("/api/v1/employees").accept(mediaType)
+            )
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.content().contentType(mediaType))
+                    .andReturn();
+            ObjectMapper binaryMapper = new ObjectMapper(mediaType.equals(MediaType.APPLICATION_CBOR) ? new CBORFactory() : new SmileFactory());
+            EmployeeResponseDto[] employeeResponseDtos = binaryMapper.readValue(mvcResult.getResponse().getContentAsByteArray(), EmployeeResponseDto[].class);
+            assertArrayEquals(new EmployeeResponseDto[]{employeeResponseDto}, employeeResponseDtos);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /employees?limit should return a page with the next cursor")
+    void getEmployeesPage_shouldReturnPageWithNextCursor() throws Exception {
+        Mockito.when(employeeService.getEmployees(10L, 1)).thenReturn(new EmployeePageResponseDto(List.of(employeeResponseDto), 11L));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees")
+                        .param("limit", "1")
+                        .param("after", "10")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].firstName").value("John"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value(11))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees?firstName should return matching employees")
+    void getEmployeesByFirstName_shouldReturnDtos() throws Exception {
+        Mockito.when(employeeService.findByFirstName("john")).thenReturn(List.of(employeeResponseDto));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees").param("firstName", "john")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].firstName").value("John"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees?lastName should return matching employees")
+    void getEmployeesByLastName_shouldReturnDtos() throws Exception {
+        Mockito.when(employeeService.findByLastName("doe")).thenReturn(List.of(employeeResponseDto));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees").param("lastName", "doe")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].lastName").value("Doe"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees?departmentCode should return matching employees")
+    void getEmployeesByDepartmentCode_shouldReturnDtos() throws Exception {
+        Mockito.when(employeeService.findByDepartmentCode("compro")).thenReturn(List.of(employeeResponseDto));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees").param("departmentCode", "compro")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].departmentCode").value("Compro"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees/stream should write every employee as a JSON array")
+    @SuppressWarnings("unchecked")
+    void streamEmployees_shouldWriteJsonArray() throws Exception {
+        var anotherEmployeeResponseDto = new EmployeeResponseDto("Jane", "Smith", "HR");
+        Mockito.doAnswer(invocation -> {
+            Consumer<EmployeeResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(employeeResponseDto);
+            consumer.accept(anotherEmployeeResponseDto);
+            return null;
+        }).when(employeeService).streamAllEmployees(Mockito.any(Consumer.class));
+
+        MvcResult mvcResult = mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees/stream")
+        )
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(List.of(employeeResponseDto, anotherEmployeeResponseDto))))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     @DisplayName("PATCH /employees/{email} should update and return employee")
     void updatePartiallyEmployee_shouldReturnEmployee() throws Exception {
@@ -113,7 +292,7 @@ class EmployeeControllerTest {
                 "McIntier",
                 "Medicine"
         );
-        Mockito.when(employeeService.updateEmployeePartially("john@doe.com", employeeRequestPatchDto)).thenReturn(Optional.of(employeePatchResponseDto));
+        Mockito.when(employeeService.tryUpdateEmployeePartially("john@doe.com", employeeRequestPatchDto, null)).thenReturn(new EmployeeOutcome.Success(employeePatchResponseDto));
         mockMvc.perform(
                 MockMvcRequestBuilders.patch("/api/v1/employees/john@doe.com")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -129,7 +308,7 @@ class EmployeeControllerTest {
     @Test
     @DisplayName("PUT /employees/{email} should update and return employee")
     void updateEmployee_shouldReturnEmployee() throws Exception {
-        Mockito.when(employeeService.updateEmployee("john@doe.com", employeeRequestDto)).thenReturn(Optional.of(employeeResponseDto));
+        Mockito.when(employeeService.tryUpdateEmployee("john@doe.com", employeeRequestDto, null)).thenReturn(new EmployeeOutcome.Success(employeeResponseDto));
 
         mockMvc.perform(
                 MockMvcRequestBuilders.put("/api/v1/employees/john@doe.com")
@@ -146,7 +325,7 @@ class EmployeeControllerTest {
     @Test
     @DisplayName("DELETE /employees/{email} should delete and return 204")
     void deleteEmployee_shouldReturnNoContent() throws Exception {
-        Mockito.doNothing().when(employeeService).deleteEmployee("john@doe.com");
+        Mockito.when(employeeService.tryDeleteEmployee("john@doe.com", null)).thenReturn(new EmployeeOutcome.Deleted());
         mockMvc.perform(
                 MockMvcRequestBuilders.delete("/api/v1/employees/john@doe.com")
         )
@@ -155,16 +334,137 @@ class EmployeeControllerTest {
     }
 
     @Test
-    @DisplayName("DELETE /employees/{email} non existing email should throw EmployeeNotFoundException")
-    void deleteNonExistingEmployee_shouldThrowEmployeeNotFoundException() throws Exception {
+    @DisplayName("DELETE /employees/{email} non existing email should return 404")
+    void deleteNonExistingEmployee_shouldReturnNotFound() throws Exception {
         String email = "sam@gmail.com";
-        String errorMessage = "Employee not found with email: " + email;
-        Mockito.doThrow(new EmployeeNotFoundException(errorMessage)).when(employeeService).deleteEmployee(email);
+        Mockito.when(employeeService.tryDeleteEmployee(email, null)).thenReturn(new EmployeeOutcome.NotFound(email));
         mockMvc.perform(
                 MockMvcRequestBuilders.delete("/api/v1/employees/" + email)
         )
         .andExpect(MockMvcResultMatchers.status().isNotFound())
+        .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Employee not found with email: " + email))
+        .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees/{email} should return the employee with its version as ETag")
+    void getEmployee_shouldReturnEmployeeWithETag() throws Exception {
+        Mockito.when(employeeService.findByEmail("john@doe.com")).thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro", 3L)));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/john@doe.com"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").value("John"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version").doesNotExist())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees/{email} with a matching If-None-Match should return 304 without a body")
+    void getEmployee_whenETagMatches_shouldReturnNotModified() throws Exception {
+        Mockito.when(employeeService.findByEmail("john@doe.com")).thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro", 3L)));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/john@doe.com").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees/{email} for an unknown email should return 404")
+    void getEmployee_whenNotFound_shouldReturnNotFound() throws Exception {
+        Mockito.when(employeeService.findByEmail("sam@gmail.com")).thenReturn(Optional.empty());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/sam@gmail.com"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("PUT /employees/{email} with If-Match should pass the expected version and return the new ETag")
+    void updateEmployee_withIfMatch_shouldReturnNewETag() throws Exception {
+        Mockito.when(employeeService.tryUpdateEmployee("john@doe.com", employeeRequestDto, 3L)).thenReturn(new EmployeeOutcome.Success(new EmployeeResponseDto("John", "Doe", "Compro", 4L)));
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/api/v1/employees/john@doe.com")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeRequestDto))
+        )
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""))
         .andDo(MockMvcResultHandlers.print());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("PATCH /employees/{email} with a stale If-Match should return 412")
+    void updatePartiallyEmployee_withStaleIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        var employeePatchDto = new EmployeePatchDto("Jane", null, null);
+        Mockito.when(employeeService.tryUpdateEmployeePartially("john@doe.com", employeePatchDto, 2L)).thenReturn(new EmployeeOutcome.VersionMismatch("john@doe.com", 2L));
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/api/v1/employees/john@doe.com")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeePatchDto))
+        )
+        .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+        .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("PATCH /employees/{email} with If-Match: * on a missing employee should return 412")
+    void updatePartiallyEmployee_withWildcardIfMatchOnMissingEmployee_shouldReturnPreconditionFailed() throws Exception {
+        var employeePatchDto = new EmployeePatchDto("Jane", null, null);
+        Mockito.when(employeeService.tryUpdateEmployeePartially("sam@gmail.com", employeePatchDto, null)).thenReturn(new EmployeeOutcome.NotFound("sam@gmail.com"));
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/api/v1/employees/sam@gmail.com")
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeePatchDto))
+        )
+        .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+        .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("DELETE /employees/{email} with If-Match on a missing employee should return 412, without it 404")
+    void deleteEmployee_withIfMatchOnMissingEmployee_shouldReturnPreconditionFailed() throws Exception {
+        Mockito.when(employeeService.tryDeleteEmployee("sam@gmail.com", 3L)).thenReturn(new EmployeeOutcome.NotFound("sam@gmail.com"));
+        Mockito.when(employeeService.tryDeleteEmployee("sam@gmail.com", null)).thenReturn(new EmployeeOutcome.NotFound("sam@gmail.com"));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/sam@gmail.com").header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/sam@gmail.com"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("DELETE /employees/{email} with a weak If-Match should return 412 without calling the service")
+    void deleteEmployee_withWeakIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/john@doe.com").header(HttpHeaders.IF_MATCH, "W/\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andDo(MockMvcResultHandlers.print());
+        Mockito.verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("GET /employees when the database bulkhead is full should return 503 with Retry-After")
+    void getEmployees_whenBulkheadFull_shouldReturnServiceUnavailable() throws Exception {
+        Mockito.when(employeeService.getAllEmployees()).thenThrow(new BulkheadFullException("Database is saturated"));
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees")
+        )
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees when the bulkhead refuses the transaction's connection should return 503 with Retry-After")
+    void getEmployees_whenTransactionCannotTakeConnection_shouldReturnServiceUnavailable() throws Exception {
+        Mockito.when(employeeService.getAllEmployees()).thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction", new BulkheadFullException("Database is saturated")));
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees")
+        )
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
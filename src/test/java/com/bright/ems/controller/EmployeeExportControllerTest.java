@@ -0,0 +1,85 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.exception.BulkheadFullException;
+import com.bright.ems.service.EmployeeExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+@WebMvcTest(EmployeeExportController.class)
+class EmployeeExportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeExportService employeeExportService;
+
+    @Test
+    @DisplayName("GET /employees/export should stream CSV as an attachment by default")
+    void exportEmployees_shouldStreamCsvByDefault() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("email,firstName,lastName,departmentCode\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeExportService).export(ArgumentMatchers.eq(EmployeeExportService.Format.CSV), ArgumentMatchers.any());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\""))
+                .andExpect(MockMvcResultMatchers.content().string("email,firstName,lastName,departmentCode\n"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("GET /employees/export?format=ndjson should stream NDJSON")
+    void exportEmployees_withNdjsonFormat_shouldStreamNdjson() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/export").param("format", "ndjson"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson"));
+        Mockito.verify(employeeExportService).export(ArgumentMatchers.eq(EmployeeExportService.Format.NDJSON), ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("GET /employees/export with an unknown format should return 400")
+    void exportEmployees_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/export").param("format", "xml"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Invalid value for format: xml"))
+                .andDo(MockMvcResultHandlers.print());
+        Mockito.verifyNoInteractions(employeeExportService);
+    }
+
+    @Test
+    @DisplayName("GET /employees/export should return 503 when too many exports are running")
+    void exportEmployees_whenExportsAreSaturated_shouldReturnServiceUnavailable() throws Exception {
+        Mockito.doThrow(new BulkheadFullException("Too many exports running, at most 2 at a time"))
+                .when(employeeExportService).export(ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Too many exports running, at most 2 at a time"));
+    }
+}
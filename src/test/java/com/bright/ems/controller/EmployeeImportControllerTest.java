@@ -0,0 +1,64 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.EmployeeImportStatusDto;
+import com.bright.ems.exception.ImportFileException;
+import com.bright.ems.service.EmployeeImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+import java.util.Optional;
+
+@WebMvcTest(EmployeeImportController.class)
+class EmployeeImportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeImportService employeeImportService;
+
+    @Test
+    @DisplayName("POST /employees/imports should start the import and return 202 with its status")
+    void startImport_shouldReturnAccepted() throws Exception {
+        Mockito.when(employeeImportService.startImport("roster.csv")).thenReturn(new EmployeeImportStatusDto(
+                "roster.csv", EmployeeImportStatusDto.State.RUNNING, 100, 0, 0, 0, 0, 0, List.of(), null));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"file\":\"roster.csv\"}"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.file").value("roster.csv"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state").value("RUNNING"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("POST /employees/imports with a file outside the import directory should return 400")
+    void startImport_withBadFile_shouldReturnBadRequest() throws Exception {
+        Mockito.when(employeeImportService.startImport("../secret.csv")).thenThrow(new ImportFileException("Import file must be a plain file name: ../secret.csv"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"file\":\"../secret.csv\"}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Import file must be a plain file name: ../secret.csv"));
+    }
+
+    @Test
+    @DisplayName("GET /employees/imports/{file} for an unknown import should return 404")
+    void getImportStatus_whenUnknown_shouldReturnNotFound() throws Exception {
+        Mockito.when(employeeImportService.getImportStatus("roster.csv")).thenReturn(Optional.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/imports/roster.csv"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,41 @@
+package com.bright.ems.controller;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.service.EmployeeSearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+@WebMvcTest(EmployeeSearchController.class)
+class EmployeeSearchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeSearchService employeeSearchService;
+
+    @Test
+    @DisplayName("GET /employees/search should return matching employee summaries")
+    void searchEmployees_shouldReturnSummaries() throws Exception {
+        Mockito.when(employeeSearchService.search("jo", 5)).thenReturn(List.of(
+                new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro")
+        ));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v1/employees/search").param("q", "jo").param("limit", "5")
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value("john@doe.com"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].lastName").value("Doe"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
@@ -0,0 +1,119 @@
+package com.bright.ems.importer;
+
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeImportStatusDto;
+import com.bright.ems.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportJobTest {
+
+    private static final String HEADER = "email,firstName,lastName,departmentCode\n";
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @TempDir
+    private Path directory;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private ImportCheckpointStore checkpointStore;
+
+    @BeforeEach
+    void setUp() {
+        checkpointStore = new ImportCheckpointStore(directory.resolve("checkpoints"), new ObjectMapper());
+        Mockito.lenient().when(employeeService.insertEmployees(ArgumentMatchers.any())).thenAnswer(invocation -> invocation.getArgument(0, List.class).size());
+    }
+
+    @Test
+    @DisplayName("An import should persist valid new rows and count invalid and duplicate ones")
+    void run_shouldPersistValidRowsAndCountRejected() throws IOException {
+        Path file = Files.writeString(directory.resolve("roster.csv"), HEADER
+                + "john@doe.com,John,Doe,Compro\n"
+                + "not-an-email,Jane,Doe,Compro\n"
+                + "short,row\n"
+                + "jane@doe.com,Jane,Doe,MBA\n"
+                + "john@doe.com,Johnny,Doe,Compro\n"
+                + "taken@doe.com,Taken,Doe,Compro\n");
+        // behaves like the table: emails are taken once a batch holding them has been inserted
+        Set<String> table = ConcurrentHashMap.newKeySet();
+        table.add("taken@doe.com");
+        Mockito.doAnswer(invocation -> {
+            List<EmployeeRequestDto> rows = invocation.getArgument(0);
+            rows.forEach(row -> table.add(row.email()));
+            return rows.size();
+        }).when(employeeService).insertEmployees(ArgumentMatchers.any());
+        Mockito.when(employeeService.findExistingEmails(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            List<String> emails = invocation.getArgument(0);
+            return emails.stream().filter(table::contains).collect(Collectors.toSet());
+        });
+
+        EmployeeImportJob job = new EmployeeImportJob(file, employeeService, validator, checkpointStore, 2, 1);
+        job.run();
+
+        EmployeeImportStatusDto status = job.status();
+        assertEquals(EmployeeImportStatusDto.State.COMPLETED, status.state());
+        assertEquals(6, status.rowsRead());
+        assertEquals(2, status.invalid());
+        assertEquals(2, status.duplicates());
+        assertEquals(2, status.created());
+        assertEquals(List.of("parse", "validate", "dedupe", "persist"), status.stages().stream().map(EmployeeImportStatusDto.Stage::name).toList());
+        assertEquals(6, status.stages().getFirst().rows());
+        assertTrue(checkpointStore.load("roster.csv").orElseThrow().completed());
+    }
+
+    @Test
+    @DisplayName("A rerun should resume after the checkpointed offset instead of the start of the file")
+    void run_withCheckpoint_shouldResumeFromOffset() throws IOException {
+        String firstRow = "john@doe.com,John,Doe,Compro\n";
+        Path file = Files.writeString(directory.resolve("roster.csv"), HEADER + firstRow + "jane@doe.com,Jane,Doe,MBA\n");
+        checkpointStore.save(new ImportCheckpoint("roster.csv", Files.size(file), Files.getLastModifiedTime(file).toMillis(),
+                HEADER.length() + firstRow.length(), 1, 0, 0, 1, false));
+        Mockito.when(employeeService.findExistingEmails(ArgumentMatchers.any())).thenReturn(Set.of());
+
+        EmployeeImportJob job = new EmployeeImportJob(file, employeeService, validator, checkpointStore, 10, 1);
+        job.run();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmployeeRequestDto>> inserted = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(employeeService).insertEmployees(inserted.capture());
+        assertEquals(List.of(new EmployeeRequestDto("Jane", "Doe", "jane@doe.com", "MBA")), inserted.getValue());
+        assertEquals(2, job.status().rowsRead());
+        assertEquals(2, job.status().created());
+    }
+
+    @Test
+    @DisplayName("A file without a required column should fail the import without persisting anything")
+    void run_withMissingColumn_shouldFail() throws IOException {
+        Path file = Files.writeString(directory.resolve("roster.csv"), "email,firstName,lastName\njohn@doe.com,John,Doe\n");
+
+        EmployeeImportJob job = new EmployeeImportJob(file, employeeService, validator, checkpointStore, 10, 1);
+        job.run();
+
+        assertEquals(EmployeeImportStatusDto.State.FAILED, job.status().state());
+        assertEquals("Import file has no departmentcode column", job.status().error());
+        Mockito.verify(employeeService, Mockito.never()).insertEmployees(ArgumentMatchers.any());
+    }
+}
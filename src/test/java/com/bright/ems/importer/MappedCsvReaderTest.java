@@ -0,0 +1,55 @@
+package com.bright.ems.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Quoted fields may hold commas, newlines and escaped quotes even across window boundaries")
+    void next_withQuotedFieldsAndTinyWindow_shouldParseRecords() throws IOException {
+        Path file = write("a,b\r\n\"x, \"\"y\"\"\",\"line1\nline2\"\n\nlast,row");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 4)) {
+            assertEquals(List.of("a", "b"), reader.next());
+            assertEquals(List.of("x, \"y\"", "line1\nline2"), reader.next());
+            assertEquals(List.of("last", "row"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Seeking to a recorded position should continue with the record after it")
+    void seek_toRecordedPosition_shouldResumeAtNextRecord() throws IOException {
+        Path file = write("h1,h2\nr1,a\nr2,b\nr3,c\n");
+        long afterFirstRow;
+        try (MappedCsvReader reader = new MappedCsvReader(file, 8)) {
+            reader.next();
+            reader.next();
+            afterFirstRow = reader.position();
+        }
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 8)) {
+            reader.seek(afterFirstRow);
+            assertEquals(List.of("r2", "b"), reader.next());
+            assertEquals(List.of("r3", "c"), reader.next());
+            assertNull(reader.next());
+            assertEquals(reader.size(), reader.position());
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("employees.csv"), content);
+    }
+}
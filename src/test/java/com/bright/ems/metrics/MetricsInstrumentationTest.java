@@ -0,0 +1,65 @@
+package com.bright.ems.metrics;
+
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsInstrumentationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Requests should be timed at service level and counted in rows and statements")
+    void request_shouldRecordServiceRepositoryAndStatementMetrics() throws Exception {
+        EmployeeRequestDto employeeRequestDto = new EmployeeRequestDto("Ada", "Lovelace", "ada@metrics.com", "Math");
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees").param("departmentCode", "math"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertThat(meterRegistry.get("ems.service").tag("method", "findByDepartmentCode").timer().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get(RepositoryRowsAspect.METRIC_NAME).tag("method", "findProjectedByDepartmentCodeIgnoreCase").summary().totalAmount()).isGreaterThanOrEqualTo(1);
+        Assertions.assertThat(meterRegistry.get(StatementCountingFilter.METRIC_NAME).tag("method", "GET").tag("uri", "/api/v1/employees").summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Exceptions handled by GlobalExceptionHandler should be counted by type")
+    void handledException_shouldBeCountedByType() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/nobody@metrics.com"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        Assertions.assertThat(meterRegistry.get("ems.errors").tag("exception", "EmployeeNotFoundException").tag("status", "404").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Hibernate statistics should stay off unless the hibernate-statistics profile is active")
+    void hibernateStatistics_shouldBeOffByDefault() {
+        Assertions.assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled()).isFalse();
+    }
+}
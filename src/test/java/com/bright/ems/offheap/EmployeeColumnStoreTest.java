@@ -0,0 +1,124 @@
+package com.bright.ems.offheap;
+
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeColumnStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private static EmployeeColumnStore storeWith(int employees) {
+        EmployeeColumnStore store = new EmployeeColumnStore(16);
+        for (int i = 0; i < employees; i++) {
+            store.append(i + 1, "employee" + i + "@ems.com", "First" + i, "Last" + i, "D" + (i % 20), i % 3);
+        }
+        return store;
+    }
+
+    @Test
+    @DisplayName("Email and name lookups should survive growing the columns, the indexes and the string buffer, renames and removals")
+    void find_afterGrowthAndRemovals_shouldLocateEveryLiveEmail() {
+        EmployeeColumnStore store = storeWith(10_000);
+        for (int i = 0; i < 10_000; i += 3) {
+            store.remove(store.find("employee" + i + "@ems.com"));
+        }
+        for (int i = 1; i < 10_000; i += 3) {
+            int slot = store.find("employee" + i + "@ems.com");
+            store.update(slot, "Renamed" + i, "Last" + i, "D0", store.version(slot) + 1);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            int slot = store.find("employee" + i + "@ems.com");
+            if (i % 3 == 0) {
+                assertEquals(-1, slot);
+            } else {
+                assertEquals(i + 1, store.id(slot));
+                assertEquals(i % 3 == 1 ? "Renamed" + i : "First" + i, store.firstName(slot));
+            }
+        }
+        assertEquals(6_666, store.liveCount());
+        assertEquals(List.of(5L), matches(store, "RENAMED4", true));
+        assertEquals(List.of(), matches(store, "first4", true));
+        assertEquals(List.of(), matches(store, "last3", false));
+    }
+
+    @Test
+    @DisplayName("Name finders should ignore case, including names outside ASCII")
+    void forEachByName_shouldMatchCaseInsensitively() {
+        EmployeeColumnStore store = new EmployeeColumnStore(16);
+        store.append(1, "emile@ems.com", "Émile", "Zola", "Lit", 0);
+        store.append(2, "emil@ems.com", "Emil", "Nolde", "ART", 0);
+        store.append(3, "emily@ems.com", "EMILY", "Brontë", "lit", 0);
+
+        assertEquals(List.of(1L), matches(store, "émile", true));
+        assertEquals(List.of(2L), matches(store, "EMIL", true));
+        assertEquals(List.of(3L), matches(store, "BRONTË", false));
+        List<Long> lit = new ArrayList<>();
+        store.forEachByDepartmentCode("LIT", slot -> lit.add(store.id(slot)));
+        assertEquals(List.of(1L, 3L), lit);
+    }
+
+    private static List<Long> matches(EmployeeColumnStore store, String name, boolean firstName) {
+        List<Long> ids = new ArrayList<>();
+        if (firstName) {
+            store.forEachByFirstName(name, slot -> ids.add(store.id(slot)));
+        } else {
+            store.forEachByLastName(name, slot -> ids.add(store.id(slot)));
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("A compact copy should hold the live employees only and stay apart from later writes")
+    void compactCopy_shouldBeIndependentOfTheStore() {
+        EmployeeColumnStore store = storeWith(1_000);
+        store.remove(store.find("employee7@ems.com"));
+        store.update(store.find("employee8@ems.com"), "Eight", "Last8", "D8", 3);
+
+        EmployeeColumnStore copy = store.compactCopy();
+        Fingerprint copied = copy.fingerprint();
+        store.update(store.find("employee9@ems.com"), "Nine", "Last9", "D9", 1);
+        store.remove(store.find("employee10@ems.com"));
+
+        assertEquals(999, copy.slotCount());
+        assertEquals(copied, copy.fingerprint());
+        Assertions.assertThat(copied).isNotEqualTo(store.fingerprint());
+        assertEquals(-1, copy.find("employee7@ems.com"));
+        assertEquals(new EmployeeResponseDto("Eight", "Last8", "D8", 3L), copy.toVersionedResponse(copy.find("employee8@ems.com")));
+        assertEquals("First9", copy.firstName(copy.find("employee9@ems.com")));
+        assertEquals(List.of(11L), matches(copy, "FIRST10", true));
+    }
+
+    @Test
+    @DisplayName("A snapshot should read back the live employees only and accept writes afterwards")
+    void snapshot_shouldRoundTripLiveEmployees() throws Exception {
+        EmployeeColumnStore store = storeWith(1_000);
+        store.remove(store.find("employee7@ems.com"));
+        Path file = directory.resolve("employees.snapshot");
+
+        EmployeeSnapshot.write(store, store.fingerprint(), file);
+        EmployeeColumnStore restored = EmployeeSnapshot.read(file);
+
+        assertEquals(store.fingerprint(), EmployeeSnapshot.readFingerprint(file).orElseThrow());
+        assertEquals(store.fingerprint(), restored.fingerprint());
+        assertEquals(999, restored.slotCount());
+        assertEquals(-1, restored.find("employee7@ems.com"));
+        assertEquals(new EmployeeResponseDto("First8", "Last8", "D8", 2L), restored.toVersionedResponse(restored.find("employee8@ems.com")));
+        restored.append(2_000, "new@ems.com", "New", "Hire", "D1", 0);
+        restored.update(restored.find("employee9@ems.com"), "Nine", "Last9", "D9", 1);
+        assertEquals("New", restored.firstName(restored.find("new@ems.com")));
+        assertEquals("Nine", restored.firstName(restored.find("employee9@ems.com")));
+        assertEquals(List.of(11L), matches(restored, "FIRST10", true));
+        Assertions.assertThat(EmployeeSnapshot.readFingerprint(directory.resolve("missing.snapshot"))).isEmpty();
+    }
+}
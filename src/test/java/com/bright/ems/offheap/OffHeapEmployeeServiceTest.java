@@ -0,0 +1,289 @@
+package com.bright.ems.offheap;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.exception.employee.DuplicateEmailException;
+import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.employee.EmployeeVersionMismatchException;
+import com.bright.ems.service.EmployeeOutcome;
+import jakarta.validation.Validation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the EmployeeServiceImplTest scenarios, against a real table since this service owns its JDBC
+class OffHeapEmployeeServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private final ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Path snapshotFile;
+    private OffHeapEmployeeService employeeService;
+    private EmployeeRequestDto employeeRequestDto;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/employees-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        snapshotFile = directory.resolve("employees.snapshot");
+        employeeService = service();
+        employeeRequestDto = new EmployeeRequestDto("John", "Doe", "john@doe.com", "Compro");
+    }
+
+    private OffHeapEmployeeService service() {
+        OffHeapEmployeeService service = new OffHeapEmployeeService(new EmployeeTable(dataSource), snapshotFile,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher);
+        service.load();
+        return service;
+    }
+
+    private void createJohnAndJane() {
+        employeeService.createEmployee(employeeRequestDto);
+        employeeService.createEmployee(new EmployeeRequestDto("Jane", "Smith", "jane@smith.com", "HR"));
+    }
+
+    @Test
+    @DisplayName("Create employee when email does not exist should write the row and return response DTO")
+    void createEmployee_whenEmailDoesNotExist_shouldCreateAndReturnEmployeeResponseDto() {
+        Assertions.assertThat(employeeService.createEmployee(employeeRequestDto)).contains(new EmployeeResponseDto("John", "Doe", "Compro", 0L));
+        assertEquals("Doe", jdbcTemplate.queryForObject("select last_name from employees where email = 'john@doe.com'", String.class));
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.created(new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro")));
+    }
+
+    @Test
+    @DisplayName("The import path should see and insert into the off-heap store, skipping rows taken in the meantime")
+    void importPath_shouldWriteTableAndStore() {
+        createJohnAndJane();
+        List<EmployeeRequestDto> rows = List.of(new EmployeeRequestDto("Ann", "Lee", "ann@lee.com", "HR"), new EmployeeRequestDto("Johnny", "Doe", "john@doe.com", "HR"));
+
+        Assertions.assertThat(employeeService.findExistingEmails(List.of("john@doe.com", "ann@lee.com"))).containsExactly("john@doe.com");
+        assertEquals(1, employeeService.insertEmployees(rows));
+
+        Assertions.assertThat(employeeService.findByEmail("ann@lee.com")).contains(new EmployeeResponseDto("Ann", "Lee", "HR", 0L));
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from employees", Integer.class));
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.created(new EmployeeSummaryDto("ann@lee.com", "Ann", "Lee", "HR")));
+    }
+
+    @Test
+    @DisplayName("Create employee when email exists should throw DuplicateEmailException and tryCreateEmployee should return Duplicate")
+    void createEmployee_whenEmailExists_shouldReportDuplicate() {
+        employeeService.createEmployee(employeeRequestDto);
+        assertThrows(DuplicateEmailException.class, () -> employeeService.createEmployee(employeeRequestDto));
+        Assertions.assertThat(employeeService.tryCreateEmployee(employeeRequestDto)).isEqualTo(new EmployeeOutcome.Duplicate(employeeRequestDto.email()));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from employees", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Create employees in batch should report created, duplicate and invalid items in input order")
+    void createEmployees_shouldReturnPerItemResults() {
+        employeeService.createEmployee(new EmployeeRequestDto("Jane", "Smith", "jane@smith.com", "HR"));
+
+        List<EmployeeBatchResultDto> results = employeeService.createEmployees(List.of(
+                employeeRequestDto,
+                new EmployeeRequestDto("Jane", "Smith", "jane@smith.com", "HR"),
+                new EmployeeRequestDto("Johnny", "Doe", "john@doe.com", "Compro"),
+                new EmployeeRequestDto("", "Doe", "not-an-email", "Compro")));
+
+        Assertions.assertThat(results).extracting(EmployeeBatchResultDto::status).containsExactly(
+                EmployeeBatchResultDto.Status.CREATED,
+                EmployeeBatchResultDto.Status.DUPLICATE,
+                EmployeeBatchResultDto.Status.DUPLICATE,
+                EmployeeBatchResultDto.Status.INVALID
+        );
+        assertEquals(new EmployeeResponseDto("John", "Doe", "Compro", 0L), results.getFirst().employee());
+        Assertions.assertThat(results.getLast().message()).contains("firstName", "email");
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from employees", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Get all, stream all and the case-insensitive finders should answer from the store")
+    void reads_shouldReturnEmployeeResponseDtos() {
+        createJohnAndJane();
+        EmployeeResponseDto john = new EmployeeResponseDto("John", "Doe", "Compro");
+        EmployeeResponseDto jane = new EmployeeResponseDto("Jane", "Smith", "HR");
+
+        Assertions.assertThat(employeeService.getAllEmployees()).containsExactly(john, jane);
+        List<EmployeeResponseDto> streamed = new ArrayList<>();
+        employeeService.streamAllEmployees(streamed::add);
+        Assertions.assertThat(streamed).containsExactly(john, jane);
+        Assertions.assertThat(employeeService.findByFirstName("JOHN")).containsExactly(john);
+        Assertions.assertThat(employeeService.findByLastName("smith")).containsExactly(jane);
+        Assertions.assertThat(employeeService.findByDepartmentCode("compro")).containsExactly(john);
+        Assertions.assertThat(employeeService.findByDepartmentCode("unknown")).isEmpty();
+        Assertions.assertThat(employeeService.findByEmail("john@doe.com")).contains(new EmployeeResponseDto("John", "Doe", "Compro", 0L));
+        Assertions.assertThat(employeeService.findByEmail("nobody@doe.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Get employees page should return the next cursor until the last page")
+    void getEmployees_shouldPageWithCursor() {
+        createJohnAndJane();
+        employeeService.createEmployee(new EmployeeRequestDto("Jim", "Beam", "jim@beam.com", "HR"));
+        employeeService.deleteEmployee("jane@smith.com");
+
+        EmployeePageResponseDto first = employeeService.getEmployees(null, 1);
+        Assertions.assertThat(first.content()).containsExactly(new EmployeeResponseDto("John", "Doe", "Compro", 0L));
+        assertNotNull(first.nextCursor());
+        EmployeePageResponseDto last = employeeService.getEmployees(first.nextCursor(), 2);
+        Assertions.assertThat(last.content()).containsExactly(new EmployeeResponseDto("Jim", "Beam", "HR", 0L));
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Delete employee when exists should delete the row and publish the previous state")
+    void deleteEmployee_whenExists_shouldDelete() {
+        employeeService.createEmployee(employeeRequestDto);
+        employeeService.deleteEmployee(employeeRequestDto.email());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from employees", Integer.class));
+        assertTrue(employeeService.findByEmail(employeeRequestDto.email()).isEmpty());
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(employeeRequestDto.email(), new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro")));
+    }
+
+    @Test
+    @DisplayName("Delete employee when not found should throw exception and tryDeleteEmployee should return NotFound")
+    void deleteEmployee_whenNotFound_shouldThrowException() {
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployee(employeeRequestDto.email()));
+        Assertions.assertThat(employeeService.tryDeleteEmployee(employeeRequestDto.email(), null)).isEqualTo(new EmployeeOutcome.NotFound(employeeRequestDto.email()));
+    }
+
+    @Test
+    @DisplayName("Update and partial update when found should modify the row and bump the version")
+    void updateEmployee_whenFound_shouldReturnEmployeeResponseDto() {
+        employeeService.createEmployee(employeeRequestDto);
+
+        Assertions.assertThat(employeeService.updateEmployee(employeeRequestDto.email(), new EmployeeRequestDto("Johnny", "Doe", "john@doe.com", "HR")))
+                .contains(new EmployeeResponseDto("Johnny", "Doe", "HR", 1L));
+        Assertions.assertThat(employeeService.updateEmployeePartially(employeeRequestDto.email(), new EmployeePatchDto("Bennett", "T", null), 1L))
+                .contains(new EmployeeResponseDto("Bennett", "T", "HR", 2L));
+        assertEquals(2L, jdbcTemplate.queryForObject("select version from employees where email = 'john@doe.com'", Long.class));
+        Assertions.assertThat(employeeService.findByDepartmentCode("hr")).containsExactly(new EmployeeResponseDto("Bennett", "T", "HR"));
+        Assertions.assertThat(employeeService.findByFirstName("john")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Update employee with a stale expected version should throw and not write")
+    void updateEmployee_whenVersionStale_shouldThrowException() {
+        employeeService.createEmployee(employeeRequestDto);
+        assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.updateEmployee(employeeRequestDto.email(), employeeRequestDto, 3L));
+        assertInstanceOf(EmployeeOutcome.VersionMismatch.class, employeeService.tryDeleteEmployee(employeeRequestDto.email(), 3L));
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from employees where email = 'john@doe.com'", Long.class));
+        assertInstanceOf(EmployeeOutcome.NotFound.class, employeeService.tryUpdateEmployeePartially("nobody@doe.com", new EmployeePatchDto("A", null, null), null));
+    }
+
+    @Test
+    @DisplayName("A restart should map the snapshot while it matches the table and reload the table once it does not")
+    void restart_shouldUseSnapshotOnlyWhileCurrent() throws Exception {
+        createJohnAndJane();
+        employeeService.close();
+        assertTrue(Files.exists(snapshotFile));
+
+        assertEquals(new EmployeeTable(dataSource).fingerprint(), EmployeeSnapshot.readFingerprint(snapshotFile).orElseThrow());
+        // the content hash sees a change even without a version bump
+        jdbcTemplate.update("update employees set first_name = 'Unversioned' where email = 'jane@smith.com'");
+        Assertions.assertThat(service().findByEmail("jane@smith.com")).contains(new EmployeeResponseDto("Unversioned", "Smith", "HR", 0L));
+        jdbcTemplate.update("update employees set first_name = 'Table', version = version + 1 where email = 'jane@smith.com'");
+        Assertions.assertThat(service().findByEmail("jane@smith.com")).contains(new EmployeeResponseDto("Table", "Smith", "HR", 1L));
+    }
+
+    @Test
+    @DisplayName("The table and the store should fingerprint the same rows alike, null fields included")
+    void fingerprint_shouldMatchBetweenTableAndStore() throws Exception {
+        createJohnAndJane();
+        jdbcTemplate.update("insert into employees (id, email, first_name, last_name, department_code, version) values (next value for employees_seq, 'ünïcode@ems.com', 'Zoë', null, null, null)");
+        service().close();
+
+        assertEquals(new EmployeeTable(dataSource).fingerprint(), EmployeeSnapshot.readFingerprint(snapshotFile).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A snapshot should reload the table after changes that keep the count and the sums of ids and versions")
+    void snapshot_whenSumsCollide_shouldStillReload() {
+        createJohnAndJane();
+        employeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto("Johnny", null, null));
+        employeeService.snapshot();
+
+        // the versions trade places, so the count and both sums stay what they were
+        jdbcTemplate.update("update employees set version = 0 where email = 'john@doe.com'");
+        jdbcTemplate.update("update employees set version = 1 where email = 'jane@smith.com'");
+        employeeService.snapshot();
+
+        Assertions.assertThat(employeeService.findByEmail("john@doe.com")).contains(new EmployeeResponseDto("Johnny", "Doe", "Compro", 0L));
+        Assertions.assertThat(employeeService.findByEmail("jane@smith.com")).contains(new EmployeeResponseDto("Jane", "Smith", "HR", 1L));
+    }
+
+    @Test
+    @DisplayName("Writes should go ahead while a snapshot is fingerprinting the table")
+    void snapshot_shouldNotHoldWritersOff() throws Exception {
+        AtomicReference<CountDownLatch> gate = new AtomicReference<>();
+        CountDownLatch fingerprinting = new CountDownLatch(1);
+        EmployeeTable gatedTable = new EmployeeTable(dataSource) {
+            @Override
+            Fingerprint fingerprint() {
+                CountDownLatch release = gate.get();
+                if (release != null) {
+                    fingerprinting.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.fingerprint();
+            }
+        };
+        OffHeapEmployeeService service = new OffHeapEmployeeService(gatedTable, snapshotFile, Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher);
+        service.load();
+        CountDownLatch release = new CountDownLatch(1);
+        gate.set(release);
+
+        CompletableFuture<Void> snapshot = CompletableFuture.runAsync(service::snapshot);
+        assertTrue(fingerprinting.await(5, TimeUnit.SECONDS));
+        CompletableFuture.supplyAsync(() -> service.createEmployee(employeeRequestDto)).get(5, TimeUnit.SECONDS);
+        release.countDown();
+        snapshot.get(5, TimeUnit.SECONDS);
+
+        assertEquals(new EmployeeTable(dataSource).fingerprint(), EmployeeSnapshot.readFingerprint(snapshotFile).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A write that finds the row changed outside the store should refresh it and retry")
+    void write_whenTableChangedAroundStore_shouldRefreshAndRetry() {
+        employeeService.createEmployee(employeeRequestDto);
+        jdbcTemplate.update("update employees set version = version + 1 where email = 'john@doe.com'");
+        jdbcTemplate.update("insert into employees (id, email, first_name, last_name, department_code, version) values (next value for employees_seq, 'jane@smith.com', 'Jane', 'Smith', 'HR', 0)");
+
+        Assertions.assertThat(employeeService.updateEmployeePartially(employeeRequestDto.email(), new EmployeePatchDto("Johnny", null, null)))
+                .contains(new EmployeeResponseDto("Johnny", "Doe", "Compro", 2L));
+        assertInstanceOf(EmployeeOutcome.Duplicate.class, employeeService.tryCreateEmployee(new EmployeeRequestDto("Jane", "Smith", "jane@smith.com", "HR")));
+        Assertions.assertThat(employeeService.findByEmail("jane@smith.com")).isPresent();
+    }
+}
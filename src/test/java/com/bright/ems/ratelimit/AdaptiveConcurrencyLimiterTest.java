@@ -0,0 +1,121 @@
+package com.bright.ems.ratelimit;
+
+import com.bright.ems.exception.ConcurrencyLimitExceededException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Callers beyond the limit should be shed once the queueing delay expires")
+    void acquire_whenAtLimit_shouldThrowAfterMaxQueueDelay() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 10, Duration.ofMillis(20));
+        limiter.acquire();
+
+        long started = System.nanoTime();
+        assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+        Assertions.assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+
+        limiter.release(BASELINE);
+        limiter.acquire();
+    }
+
+    @Test
+    @DisplayName("The limit should grow by one after a limit's worth of healthy completions")
+    void release_whenLatencyNearBaseline_shouldIncreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10, Duration.ZERO);
+
+        completeAll(limiter, 2, BASELINE);
+
+        Assertions.assertThat(limiter.limit()).isEqualTo(3);
+        Assertions.assertThat(limiter.availablePermits()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("The limit should shrink in proportion to the latency above the baseline and never go below one")
+    void release_whenLatencyInflated_shouldDecreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 10, Duration.ZERO);
+        completeAll(limiter, 10, BASELINE);
+
+        // three samples lift the smoothed time to about 1.53 times the baseline, so the limit drops by a third
+        completeAll(limiter, 3, BASELINE * 10);
+        Assertions.assertThat(limiter.limit()).isEqualTo(6);
+        Assertions.assertThat(limiter.availablePermits()).isEqualTo(6);
+
+        for (int i = 0; i < 100; i++) {
+            completeAll(limiter, 1, BASELINE * 10);
+        }
+        Assertions.assertThat(limiter.limit()).isEqualTo(AdaptiveConcurrencyLimiter.MIN_LIMIT);
+        Assertions.assertThat(limiter.availablePermits()).isEqualTo(AdaptiveConcurrencyLimiter.MIN_LIMIT);
+    }
+
+    @Test
+    @DisplayName("A mix of fast and slow endpoints should keep the limit near the concurrency the server sustains")
+    void release_whenFastAndSlowRequestsMix_shouldSettleNearTrueConcurrency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 200, Duration.ZERO);
+        Random random = new Random(42);
+
+        double averageLimit = simulate(limiter, 20, () -> random.nextBoolean() ? BASELINE : BASELINE * 8);
+
+        Assertions.assertThat(averageLimit).isBetween(20 * 0.75, 20 * 1.5);
+    }
+
+    @Test
+    @DisplayName("A limit that starts far above what the server sustains should come down to it")
+    void release_whenStartingAboveTrueConcurrency_shouldSettleNearIt() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(200, 200, Duration.ZERO);
+
+        double averageLimit = simulate(limiter, 20, () -> BASELINE);
+
+        Assertions.assertThat(averageLimit).isBetween(20 * 0.75, 20 * 1.5);
+    }
+
+    @Test
+    @DisplayName("Releasing without a sample should free the permit and leave the limit alone")
+    void releaseWithoutSample_shouldNotAdjustLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10, Duration.ZERO);
+        completeAll(limiter, 1, BASELINE * 100);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.releaseWithoutSample();
+        }
+
+        Assertions.assertThat(limiter.limit()).isEqualTo(2);
+        Assertions.assertThat(limiter.availablePermits()).isEqualTo(2);
+    }
+
+    // a closed loop at the limit: beyond the capacity every request waits for its share of the server;
+    // returns the average limit over the second half of the run
+    private static double simulate(AdaptiveConcurrencyLimiter limiter, int capacity, LongSupplier serviceTime) {
+        long limitSum = 0;
+        int measured = 0;
+        for (int i = 0; i < 50_000; i++) {
+            completeAll(limiter, 1, (long) (serviceTime.getAsLong() * Math.max(1.0, (double) limiter.limit() / capacity)));
+            if (i >= 25_000) {
+                limitSum += limiter.limit();
+                measured++;
+            }
+        }
+        return (double) limitSum / measured;
+    }
+
+    private static void completeAll(AdaptiveConcurrencyLimiter limiter, int count, long rttNanos) {
+        for (int i = 0; i < count; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < count; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.bright.ems.ratelimit;
+
+import com.bright.ems.exception.RateLimitExceededException;
+import com.bright.ems.service.EmployeeOutcome;
+import com.bright.ems.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "ems.rate-limit.enabled=true",
+        "ems.rate-limit.reads.client-rate=1",
+        "ems.rate-limit.reads.client-burst=2",
+        "ems.rate-limit.writes.initial-concurrency=1",
+        "ems.rate-limit.writes.max-concurrency=1",
+        "ems.rate-limit.writes.max-queue-delay=20ms"
+})
+@AutoConfigureMockMvc
+class RateLimitInterceptorTest {
+
+    @MockitoBean
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("A client over its read budget should get 429 with Retry-After, however it rotates X-Client-Id, while other clients and its writes are admitted")
+    void getEmployees_whenClientBudgetExhausted_shouldReturnTooManyRequests() throws Exception {
+        Mockito.when(employeeService.getAllEmployees()).thenReturn(List.of());
+        Mockito.when(employeeService.tryDeleteEmployee("a@ems.com", null)).thenReturn(new EmployeeOutcome.Deleted());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees").with(remoteAddress("10.0.0.1")).header("X-Client-Id", "noisy-" + i))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees").with(remoteAddress("10.0.0.1")).header("X-Client-Id", "noisy-2"))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.statusCode").value(429));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees").with(remoteAddress("10.0.0.2")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{email}", "a@ems.com").with(remoteAddress("10.0.0.1")))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("A configured client header set by a trusted proxy should tell apart clients behind one address")
+    void preHandle_whenClientHeaderTrusted_shouldBudgetPerHeader() {
+        RateLimitProperties.Budget budget = new RateLimitProperties.Budget(1000, 1000, 1, 1, 10, 10, Duration.ofMillis(50));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(new RateLimitProperties(true, "X-Client-Id", 100, budget, budget));
+
+        assertTrue(interceptor.preHandle(proxiedRead("a"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(proxiedRead("b"), new MockHttpServletResponse(), null));
+        assertThrows(RateLimitExceededException.class, () -> interceptor.preHandle(proxiedRead("a"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("A write queued past the concurrency limit should be shed with 503 and the permit returned afterwards")
+    void deleteEmployee_whenConcurrencyLimitReached_shouldReturnServiceUnavailable() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(employeeService.tryDeleteEmployee("slow@ems.com", null)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new EmployeeOutcome.Deleted();
+        });
+        Mockito.when(employeeService.tryDeleteEmployee("b@ems.com", null)).thenReturn(new EmployeeOutcome.Deleted());
+
+        CompletableFuture<?> blocked = CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{email}", "slow@ems.com"))
+                        .andExpect(MockMvcResultMatchers.status().isNoContent());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{email}", "b@ems.com"))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{email}", "b@ems.com"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static MockHttpServletRequest proxiedRead(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees");
+        request.setRemoteAddr("10.0.0.9");
+        request.addHeader("X-Client-Id", client);
+        return request;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bright.ems.ratelimit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("A full bucket should admit a burst and then report the wait for the next token")
+    void tryAcquire_whenBurstExhausted_shouldReturnWait() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        Assertions.assertThat(bucket.tryAcquire()).isZero();
+        Assertions.assertThat(bucket.tryAcquire()).isZero();
+        Assertions.assertThat(bucket.tryAcquire()).isZero();
+        Assertions.assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("Tokens should refill at the configured rate without exceeding the burst")
+    void tryAcquire_afterIdle_shouldRefillUpToBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        Assertions.assertThat(bucket.tryAcquire()).isZero();
+        Assertions.assertThat(bucket.tryAcquire()).isPositive();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        Assertions.assertThat(bucket.tryAcquire()).isZero();
+        Assertions.assertThat(bucket.tryAcquire()).isZero();
+        Assertions.assertThat(bucket.tryAcquire()).isPositive();
+    }
+}
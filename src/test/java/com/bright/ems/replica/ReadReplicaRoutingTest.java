@@ -0,0 +1,116 @@
+package com.bright.ems.replica;
+
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the replica is a second H2 database that never receives the primary's writes, i.e. one with unbounded lag
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ems-primary;DB_CLOSE_DELAY=-1",
+        "ems.read-replicas.enabled=true",
+        "ems.read-replicas.replicas[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "ems.read-replicas.replicas[0].username=sa",
+        "ems.read-replicas.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:ems-replica;DB_CLOSE_DELAY=-1";
+
+    private static final DriverManagerDataSource REPLICA = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/employees-schema.sql")).execute(REPLICA);
+    }
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replica = new JdbcTemplate(REPLICA);
+        replica.update("delete from employees");
+        replica.update("insert into employees (id, email, first_name, last_name, department_code, normalized_first_name, normalized_last_name, normalized_department_code, version)"
+                + " values (1, 'replica@ems.com', 'Rita', 'Replica', 'Compro', 'rita', 'replica', 'compro', 0)");
+        employeeRepository.deleteAllInBatch();
+        cacheManager.getCache("employeesByEmail").clear();
+    }
+
+    @Test
+    @DisplayName("Finder methods should read from the replica while writes and other queries use the primary")
+    void finders_shouldReadFromReplica() {
+        employeeService.createEmployee(new EmployeeRequestDto("Pat", "Primary", "primary@ems.com", "Compro"));
+
+        assertTrue(employeeService.findByEmail("replica@ems.com").isPresent());
+        assertTrue(employeeService.findByEmail("primary@ems.com").isEmpty());
+        assertEquals(1, employeeService.getAllEmployees().size());
+        assertEquals("Rita", employeeService.findByDepartmentCode("compro").getFirst().firstName());
+        assertTrue(employeeRepository.findByEmail("primary@ems.com").isPresent());
+    }
+
+    @Test
+    @DisplayName("A client that just wrote should read from the primary until its read-your-writes window ends")
+    void readAfterWrite_withCookie_shouldReadFromPrimary() throws Exception {
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Pat\",\"lastName\":\"Primary\",\"email\":\"primary@ems.com\",\"departmentCode\":\"Compro\"}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.cookie().exists("ems-read-your-writes"))
+                .andReturn();
+        Cookie cookie = created.getResponse().getCookie("ems-read-your-writes");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/primary@ems.com").cookie(cookie))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").value("Pat"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/primary@ems.com"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/primary@ems.com")
+                        .cookie(new Cookie("ems-read-your-writes", Long.toString(Long.MAX_VALUE))))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("A read-your-writes cookie the server did not sign should not pin the client to the primary")
+    void read_withForgedCookie_shouldReadFromReplica() throws Exception {
+        employeeService.createEmployee(new EmployeeRequestDto("Fay", "Forged", "forged@ems.com", "Compro"));
+        String until = Long.toString(System.currentTimeMillis() + 30_000);
+        MvcResult written = mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/nobody@ems.com")).andReturn();
+        String signature = written.getResponse().getCookie("ems-read-your-writes").getValue().split("\\.")[1];
+
+        for (String forged : new String[]{until, until + "." + signature, until + ".forged"}) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/forged@ems.com")
+                            .cookie(new Cookie("ems-read-your-writes", forged)))
+                    .andExpect(MockMvcResultMatchers.status().isNotFound());
+        }
+    }
+}
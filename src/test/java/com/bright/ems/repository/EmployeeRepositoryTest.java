@@ -1,5 +1,7 @@
 package com.bright.ems.repository;
 
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
 import com.bright.ems.model.Employee;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
@@ -10,10 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -132,4 +136,170 @@ class EmployeeRepositoryTest {
         Employee updatedEmployee = updatedOptional.get();
         assertEquals("Sec", updatedEmployee.getDepartmentCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test for keyset pagination by id")
+    void givenEmployees_whenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+        Employee employee1 = Employee.builder()
+                .firstName("John")
+                .lastName("Smith")
+                .email("john.smith@gmail.com")
+                .departmentCode("Compro")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Smith")
+                .email("jane.smith@gmail.com")
+                .departmentCode("Compro")
+                .build();
+        Employee employee3 = Employee.builder()
+                .firstName("Bob")
+                .lastName("Smith")
+                .email("bob.smith@gmail.com")
+                .departmentCode("Sec")
+                .build();
+        employeeRepository.saveAllAndFlush(Arrays.asList(employee1, employee2, employee3));
+        List<Employee> firstPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2));
+        Assertions.assertThat(firstPage).containsExactly(employee1, employee2);
+        List<Employee> secondPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(firstPage.getLast().getId(), Limit.of(2));
+        Assertions.assertThat(secondPage).containsExactly(employee3);
+    }
+
+    @Test
+    @DisplayName("Test for finding which emails already exist in one query")
+    void givenEmployee_whenFindExistingEmails_thenReturnOnlyStoredEmails() {
+        employeeRepository.saveAndFlush(employee);
+        Set<String> existingEmails = employeeRepository.findExistingEmails(List.of("john.smith@gmail.com", "jane.smith@gmail.com"));
+        Assertions.assertThat(existingEmails).containsExactly("john.smith@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Test for case-insensitive lookups through the normalized columns")
+    void givenEmployee_whenFindByNameIgnoringCase_thenReturnEmployee() {
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        Assertions.assertThat(savedEmployee.getNormalizedFirstName()).isEqualTo("john");
+        Assertions.assertThat(savedEmployee.getNormalizedDepartmentCode()).isEqualTo("compro");
+        Assertions.assertThat(employeeRepository.findByFirstNameIgnoreCase("JOHN")).containsExactly(savedEmployee);
+        Assertions.assertThat(employeeRepository.findByLastNameIgnoreCase("sMITH")).containsExactly(savedEmployee);
+        Assertions.assertThat(employeeRepository.findByDepartmentCodeIgnoreCase("COMPRO")).containsExactly(savedEmployee);
+    }
+
+    @Test
+    @DisplayName("Test for keeping the normalized columns in sync on update")
+    void givenExistingEmployee_whenRename_thenNormalizedColumnUpdated() {
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        savedEmployee.setFirstName("Johnny");
+        employeeRepository.saveAndFlush(savedEmployee);
+        Assertions.assertThat(employeeRepository.findByFirstNameIgnoreCase("johnny")).containsExactly(savedEmployee);
+        Assertions.assertThat(employeeRepository.findByFirstNameIgnoreCase("john")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test that name and department lookups use an index instead of a table scan")
+    void whenExplainNormalizedLookups_thenIndexIsUsed() {
+        Assertions.assertThat(explain("SELECT * FROM employees WHERE normalized_first_name = 'john'"))
+                .containsIgnoringCase("idx_employees_normalized_first_name");
+        Assertions.assertThat(explain("SELECT * FROM employees WHERE normalized_last_name = 'smith'"))
+                .containsIgnoringCase("idx_employees_normalized_last_name");
+        Assertions.assertThat(explain("SELECT * FROM employees WHERE normalized_department_code = 'compro'"))
+                .containsIgnoringCase("idx_employees_normalized_department_code");
+    }
+
+    private String explain(String sql) {
+        return entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult().toString();
+    }
+
+    @Test
+    @DisplayName("Test for projected reads straight into response DTOs")
+    void givenEmployee_whenFindProjected_thenReturnResponseDtos() {
+        employeeRepository.saveAndFlush(employee);
+        EmployeeResponseDto expected = new EmployeeResponseDto("John", "Smith", "Compro");
+        Assertions.assertThat(employeeRepository.findAllProjectedBy()).containsExactly(expected);
+        Assertions.assertThat(employeeRepository.findProjectedByEmail("john.smith@gmail.com")).contains(new EmployeeResponseDto("John", "Smith", "Compro", 0L));
+        Assertions.assertThat(employeeRepository.findProjectedByFirstNameIgnoreCase("JOHN")).containsExactly(expected);
+        Assertions.assertThat(employeeRepository.findProjectedByLastNameIgnoreCase("smith")).containsExactly(expected);
+        Assertions.assertThat(employeeRepository.findProjectedByDepartmentCodeIgnoreCase("compro")).containsExactly(expected);
+        try (var employeeResponseDtos = employeeRepository.streamAllProjectedBy()) {
+            Assertions.assertThat(employeeResponseDtos).containsExactly(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Test for patching only the given columns in one update statement")
+    void givenEmployee_whenPatchByEmail_thenOnlyGivenColumnsChange() {
+        employeeRepository.saveAndFlush(employee);
+        int updated = employeeRepository.patchByEmail(employee.getEmail(), "Johnny", null, null);
+        entityManager.clear();
+        assertEquals(1, updated);
+        Employee patched = employeeRepository.findByEmail(employee.getEmail()).orElseThrow();
+        Assertions.assertThat(patched.getFirstName()).isEqualTo("Johnny");
+        Assertions.assertThat(patched.getNormalizedFirstName()).isEqualTo("johnny");
+        Assertions.assertThat(patched.getLastName()).isEqualTo("Smith");
+        assertEquals(0, employeeRepository.patchByEmail("nobody@gmail.com", "Johnny", null, null));
+    }
+
+    @Test
+    @DisplayName("Test for a version-guarded patch that returns the previous row from the same statement")
+    void givenEmployee_whenPatchByEmailReturningPrevious_thenReturnRowBeforeUpdate() {
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        Long version = savedEmployee.getVersion();
+        Assertions.assertThat(employeeRepository.patchByEmailReturningPrevious(employee.getEmail(), null, null, "HR", version))
+                .contains(new EmployeeResponseDto("John", "Smith", "Compro", version));
+        assertTrue(employeeRepository.patchByEmailReturningPrevious(employee.getEmail(), "Jack", null, null, version).isEmpty());
+        assertTrue(employeeRepository.patchByEmailReturningPrevious("nobody@gmail.com", "Jack", null, null, null).isEmpty());
+        entityManager.clear();
+        Employee patched = employeeRepository.findByEmail(employee.getEmail()).orElseThrow();
+        Assertions.assertThat(patched.getDepartmentCode()).isEqualTo("HR");
+        Assertions.assertThat(patched.getNormalizedDepartmentCode()).isEqualTo("hr");
+        Assertions.assertThat(patched.getFirstName()).isEqualTo("John");
+        assertEquals(version + 1, patched.getVersion());
+    }
+
+    @Test
+    @DisplayName("Test for a version-guarded delete that returns the deleted row from the same statement")
+    void givenEmployee_whenDeleteByEmailReturningPrevious_thenReturnDeletedRow() {
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        Long version = savedEmployee.getVersion();
+        assertTrue(employeeRepository.deleteByEmailReturningPrevious(employee.getEmail(), version + 1).isEmpty());
+        Assertions.assertThat(employeeRepository.deleteByEmailReturningPrevious(employee.getEmail(), version))
+                .contains(new EmployeeResponseDto("John", "Smith", "Compro", version));
+        assertTrue(employeeRepository.deleteByEmailReturningPrevious(employee.getEmail(), null).isEmpty());
+        entityManager.clear();
+        assertTrue(employeeRepository.findByEmail(employee.getEmail()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test for deleting by email in one bulk statement")
+    void givenEmployee_whenBulkDeleteByEmail_thenReturnDeletedCount() {
+        employeeRepository.saveAndFlush(employee);
+        assertEquals(1, employeeRepository.bulkDeleteByEmail(employee.getEmail()));
+        assertEquals(0, employeeRepository.bulkDeleteByEmail(employee.getEmail()));
+        entityManager.clear();
+        assertTrue(employeeRepository.findByEmail(employee.getEmail()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test for version-guarded patch and delete statements")
+    void givenEmployee_whenPatchWithVersion_thenOnlyCurrentVersionMatches() {
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        Long version = savedEmployee.getVersion();
+        assertEquals(1, employeeRepository.patchByEmail(employee.getEmail(), "Johnny", null, null, version));
+        assertEquals(0, employeeRepository.patchByEmail(employee.getEmail(), "Jack", null, null, version));
+        entityManager.clear();
+        assertEquals(version + 1, employeeRepository.findProjectedByEmail(employee.getEmail()).orElseThrow().version());
+        assertEquals(0, employeeRepository.bulkDeleteByEmail(employee.getEmail(), version));
+        assertEquals(1, employeeRepository.bulkDeleteByEmail(employee.getEmail(), version + 1));
+    }
+
+    @Test
+    @DisplayName("Test for counting employees per department in one grouped query")
+    void givenEmployees_whenCountByDepartmentCode_thenReturnHeadcounts() {
+        employeeRepository.saveAndFlush(employee);
+        employeeRepository.saveAndFlush(Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").departmentCode("Compro").build());
+        employeeRepository.saveAndFlush(Employee.builder().firstName("Sam").lastName("Lee").email("sam.lee@gmail.com").departmentCode("HR").build());
+        Assertions.assertThat(employeeRepository.countByDepartmentCode()).containsExactlyInAnyOrder(
+                new DepartmentStatsResponseDto("Compro", 2),
+                new DepartmentStatsResponseDto("HR", 1)
+        );
+    }
+}
@@ -0,0 +1,76 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.service.EmployeeScanSource;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentStatsServiceImplTest {
+
+    @Mock
+    private EmployeeScanSource employeeScanSource;
+
+    @InjectMocks
+    private DepartmentStatsServiceImpl departmentStatsService;
+
+    private final EmployeeSummaryDto john = new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro");
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(employeeScanSource.countByDepartmentCode()).thenReturn(List.of(
+                new DepartmentStatsResponseDto("Compro", 2),
+                new DepartmentStatsResponseDto("HR", 1)
+        ));
+        departmentStatsService.reconcile();
+    }
+
+    @Test
+    @DisplayName("Creates, moves and deletes should adjust the counters without querying")
+    void onEmployeeChanged_shouldAdjustCounters() {
+        departmentStatsService.onEmployeeChanged(EmployeeChangedEvent.created(new EmployeeSummaryDto("ada@x.com", "Ada", "L", "Math")));
+        departmentStatsService.onEmployeeChanged(EmployeeChangedEvent.updated(john, new EmployeeSummaryDto("john@doe.com", "John", "Doe", "HR")));
+        departmentStatsService.onEmployeeChanged(EmployeeChangedEvent.deleted("jane@x.com", new EmployeeSummaryDto("jane@x.com", "Jane", "S", "Compro")));
+
+        Assertions.assertThat(departmentStatsService.getDepartmentStats()).containsExactly(
+                new DepartmentStatsResponseDto("HR", 2),
+                new DepartmentStatsResponseDto("Math", 1)
+        );
+        Mockito.verify(employeeScanSource, Mockito.times(1)).countByDepartmentCode();
+    }
+
+    @Test
+    @DisplayName("A write committed while the reconcile query runs should survive the swap")
+    void reconcile_shouldApplyChangesMadeDuringTheQuery() {
+        Mockito.when(employeeScanSource.countByDepartmentCode()).thenAnswer(invocation -> {
+            departmentStatsService.onEmployeeChanged(EmployeeChangedEvent.updated(john, new EmployeeSummaryDto("john@doe.com", "John", "Doe", "HR")));
+            return List.of(
+                    new DepartmentStatsResponseDto("Compro", 2),
+                    new DepartmentStatsResponseDto("HR", 1)
+            );
+        });
+
+        departmentStatsService.reconcile();
+
+        Assertions.assertThat(departmentStatsService.getDepartmentStats()).containsExactly(
+                new DepartmentStatsResponseDto("Compro", 1),
+                new DepartmentStatsResponseDto("HR", 2)
+        );
+        departmentStatsService.onEmployeeChanged(EmployeeChangedEvent.deleted("jane@x.com", new EmployeeSummaryDto("jane@x.com", "Jane", "S", "HR")));
+        Assertions.assertThat(departmentStatsService.getDepartmentStats()).containsExactly(
+                new DepartmentStatsResponseDto("Compro", 1),
+                new DepartmentStatsResponseDto("HR", 1)
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeChangeDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.service.EmployeeChangeFeedService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+class EmployeeChangeFeedOrderingTest {
+
+    @Autowired
+    private EmployeeChangeFeedService employeeChangeFeedService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("A write that commits while an earlier one is still open should neither wait for it nor be skipped past it")
+    void getChanges_whenWritersCommitOutOfOrder_shouldNotSkipTheEarlierChange() throws Exception {
+        long since = lastSequence();
+        CountDownLatch firstPublished = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            applicationEventPublisher.publishEvent(EmployeeChangedEvent.created(new EmployeeSummaryDto("first@feed.com", "First", "Writer", "Feed")));
+            firstPublished.countDown();
+            await(releaseFirst);
+        }));
+        Assertions.assertThat(firstPublished.await(5, TimeUnit.SECONDS)).isTrue();
+        // positions are only taken at commit, so the second writer does not queue behind the open first one
+        transactionTemplate.executeWithoutResult(status ->
+                applicationEventPublisher.publishEvent(EmployeeChangedEvent.created(new EmployeeSummaryDto("second@feed.com", "Second", "Writer", "Feed"))));
+
+        List<EmployeeChangeDto> whileFirstIsOpen = employeeChangeFeedService.getChanges(since, 10);
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(whileFirstIsOpen).extracting(EmployeeChangeDto::email).containsExactly("second@feed.com");
+        // a reader that already moved past the second change still sees the first, which committed later
+        List<EmployeeChangeDto> afterFirstCommits = employeeChangeFeedService.getChanges(whileFirstIsOpen.getLast().sequence(), 10);
+        Assertions.assertThat(afterFirstCommits).extracting(EmployeeChangeDto::email).containsExactly("first@feed.com");
+        Assertions.assertThat(afterFirstCommits.getFirst().sequence()).isEqualTo(whileFirstIsOpen.getLast().sequence() + 1);
+    }
+
+    private long lastSequence() {
+        List<EmployeeChangeDto> changes = employeeChangeFeedService.getChanges(0L, EmployeeChangeFeedServiceImpl.MAX_PAGE_SIZE);
+        return changes.isEmpty() ? 0L : changes.getLast().sequence();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
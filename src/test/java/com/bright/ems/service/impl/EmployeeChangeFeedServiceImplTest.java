@@ -0,0 +1,130 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeChangeDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.model.EmployeeChange;
+import com.bright.ems.model.EmployeeChangePosition;
+import com.bright.ems.repository.EmployeeChangePositionRepository;
+import com.bright.ems.repository.EmployeeChangeRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangeFeedServiceImplTest {
+
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Mock
+    private EmployeeChangePositionRepository employeeChangePositionRepository;
+
+    @InjectMocks
+    private EmployeeChangeFeedServiceImpl employeeChangeFeedService;
+
+    @Captor
+    private ArgumentCaptor<List<EmployeeChange>> changesCaptor;
+
+    @Test
+    @DisplayName("An event outside a transaction should append a change row with the new state at the next position")
+    void onEmployeeChanged_shouldAppendChange() {
+        EmployeeChangePosition position = new EmployeeChangePosition(EmployeeChangePosition.ID, 41L);
+        Mockito.when(employeeChangePositionRepository.findByIdForUpdate(EmployeeChangePosition.ID)).thenReturn(Optional.of(position));
+        Mockito.when(employeeChangeRepository.saveAll(ArgumentMatchers.<List<EmployeeChange>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        employeeChangeFeedService.onEmployeeChanged(EmployeeChangedEvent.updated(null, new EmployeeSummaryDto("john@doe.com", "John", "Doe", "HR")));
+
+        Mockito.verify(employeeChangeRepository).saveAll(changesCaptor.capture());
+        Assertions.assertThat(changesCaptor.getValue())
+                .extracting(EmployeeChange::getId, EmployeeChange::getOperation, EmployeeChange::getEmail, EmployeeChange::getDepartmentCode)
+                .containsExactly(Assertions.tuple(42L, EmployeeChangedEvent.Operation.UPDATED, "john@doe.com", "HR"));
+        Assertions.assertThat(position.getPosition()).isEqualTo(42L);
+        Assertions.assertThat(changesCaptor.getValue().getFirst().getChangedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("The events of one transaction should reserve one range and be saved together before it commits")
+    void onEmployeeChanged_inTransaction_shouldAppendOnceBeforeCommit() {
+        EmployeeChangePosition position = new EmployeeChangePosition(EmployeeChangePosition.ID, 41L);
+        Mockito.when(employeeChangePositionRepository.findByIdForUpdate(EmployeeChangePosition.ID)).thenReturn(Optional.of(position));
+        Mockito.when(employeeChangeRepository.saveAll(ArgumentMatchers.<List<EmployeeChange>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (String email : List.of("a@doe.com", "b@doe.com", "c@doe.com")) {
+                employeeChangeFeedService.onEmployeeChanged(EmployeeChangedEvent.created(new EmployeeSummaryDto(email, "A", "Doe", "HR")));
+            }
+            Mockito.verifyNoInteractions(employeeChangePositionRepository);
+
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verify(employeeChangePositionRepository).findByIdForUpdate(EmployeeChangePosition.ID);
+        Mockito.verify(employeeChangeRepository).saveAll(changesCaptor.capture());
+        Assertions.assertThat(changesCaptor.getValue()).extracting(EmployeeChange::getId, EmployeeChange::getEmail).containsExactly(
+                Assertions.tuple(42L, "a@doe.com"),
+                Assertions.tuple(43L, "b@doe.com"),
+                Assertions.tuple(44L, "c@doe.com"));
+        Assertions.assertThat(position.getPosition()).isEqualTo(44L);
+        Assertions.assertThat(TransactionSynchronizationManager.hasResource(employeeChangeFeedService)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Subscribing far behind should replay the backlog page by page until it is drained")
+    void subscribe_whenBacklogExceedsPage_shouldReplayEveryPage() {
+        Instant changedAt = Instant.parse("2025-01-01T00:00:00Z");
+        int pageSize = EmployeeChangeFeedServiceImpl.MAX_PAGE_SIZE;
+        List<EmployeeChange> firstPage = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new EmployeeChange(id, EmployeeChangedEvent.Operation.CREATED, id + "@doe.com", "John", "Doe", "HR", changedAt))
+                .toList();
+        List<EmployeeChange> secondPage = LongStream.rangeClosed(pageSize + 1L, pageSize + 5L)
+                .mapToObj(id -> new EmployeeChange(id, EmployeeChangedEvent.Operation.CREATED, id + "@doe.com", "John", "Doe", "HR", changedAt))
+                .toList();
+        Mockito.when(employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(pageSize))).thenReturn(firstPage);
+        Mockito.when(employeeChangeRepository.findByIdGreaterThanOrderByIdAsc((long) pageSize, Limit.of(pageSize))).thenReturn(secondPage);
+
+        employeeChangeFeedService.subscribe(0L);
+
+        Mockito.verify(employeeChangeRepository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(pageSize));
+        Mockito.verify(employeeChangeRepository).findByIdGreaterThanOrderByIdAsc((long) pageSize, Limit.of(pageSize));
+        Mockito.verifyNoMoreInteractions(employeeChangeRepository);
+    }
+
+    @Test
+    @DisplayName("getChanges should clamp the limit and drop the employee of deletions")
+    void getChanges_shouldMapRows() {
+        Instant changedAt = Instant.parse("2025-01-01T00:00:00Z");
+        Mockito.when(employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(EmployeeChangeFeedServiceImpl.MAX_PAGE_SIZE))).thenReturn(List.of(
+                new EmployeeChange(1L, EmployeeChangedEvent.Operation.CREATED, "john@doe.com", "John", "Doe", "Compro", changedAt),
+                new EmployeeChange(2L, EmployeeChangedEvent.Operation.DELETED, "john@doe.com", null, null, null, changedAt)
+        ));
+
+        List<EmployeeChangeDto> employeeChangeDtos = employeeChangeFeedService.getChanges(null, 1_000_000);
+
+        Assertions.assertThat(employeeChangeDtos).containsExactly(
+                new EmployeeChangeDto(1L, EmployeeChangedEvent.Operation.CREATED, "john@doe.com", new EmployeeResponseDto("John", "Doe", "Compro"), changedAt),
+                new EmployeeChangeDto(2L, EmployeeChangedEvent.Operation.DELETED, "john@doe.com", null, changedAt)
+        );
+    }
+}
@@ -0,0 +1,165 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.exception.BulkheadFullException;
+import com.bright.ems.model.Employee;
+import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// the workers scan in their own transactions, so the rows must be committed
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeExportServiceImplTest {
+
+    private static final int ROWS = 50;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EmployeeExportServiceImpl employeeExportService;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>(IntStream.range(0, ROWS - 1)
+                .mapToObj(i -> new Employee("First" + i, "Last" + i, "employee" + i + "@ems.com", "D" + (i % 5)))
+                .toList());
+        employees.add(new Employee("Jo, \"JJ\"", "Doe", "jo@ems.com", "HR"));
+        employeeRepository.saveAll(employees);
+
+        employeeExportService = new EmployeeExportServiceImpl(new EmployeeScanSourceImpl(employeeRepository, transactionManager), objectMapper);
+        ReflectionTestUtils.setField(employeeExportService, "parallelism", 3);
+        ReflectionTestUtils.setField(employeeExportService, "rangeSize", 7L);
+        ReflectionTestUtils.setField(employeeExportService, "chunkRows", 4);
+        ReflectionTestUtils.setField(employeeExportService, "maxConcurrent", 1);
+        employeeExportService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeExportService.stop();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("CSV export should write the header and every employee once, quoting fields that need it")
+    void export_asCsv_shouldWriteEveryEmployeeOnce() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        employeeExportService.export(EmployeeExportService.Format.CSV, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertThat(lines.getFirst()).isEqualTo("email,firstName,lastName,departmentCode");
+        Assertions.assertThat(lines.subList(1, lines.size()))
+                .hasSize(ROWS)
+                .doesNotHaveDuplicates()
+                .contains("employee7@ems.com,First7,Last7,D2", "jo@ems.com,\"Jo, \"\"JJ\"\"\",Doe,HR");
+    }
+
+    @Test
+    @DisplayName("NDJSON export should write one JSON object per employee")
+    void export_asNdjson_shouldWriteOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        employeeExportService.export(EmployeeExportService.Format.NDJSON, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertThat(lines).hasSize(ROWS);
+        List<String> emails = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            emails.add(row.get("email").asText());
+        }
+        Assertions.assertThat(emails).doesNotHaveDuplicates().contains("jo@ems.com", "employee48@ems.com");
+    }
+
+    @Test
+    @DisplayName("A client that disconnects should end the export with the write failure")
+    void export_whenClientDisconnects_shouldThrow() {
+        OutputStream brokenClient = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                written += len;
+                if (written > 200) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+        IOException e = assertThrows(IOException.class, () -> employeeExportService.export(EmployeeExportService.Format.CSV, brokenClient));
+        Assertions.assertThat(e).hasMessage("Broken pipe");
+    }
+
+    @Test
+    @DisplayName("An export beyond the concurrency cap should be turned away before writing anything")
+    void export_whenAtMaxConcurrent_shouldThrowBulkheadFull() throws Exception {
+        CountDownLatch firstWriting = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        OutputStream slowClient = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                firstWriting.countDown();
+                try {
+                    releaseFirst.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                employeeExportService.export(EmployeeExportService.Format.CSV, slowClient);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Assertions.assertThat(firstWriting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThrows(BulkheadFullException.class, () -> employeeExportService.export(EmployeeExportService.Format.CSV, outputStream));
+        Assertions.assertThat(outputStream.size()).isZero();
+
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        employeeExportService.export(EmployeeExportService.Format.CSV, outputStream);
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8).lines()).hasSize(ROWS + 1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
+import com.bright.ems.service.EmployeeScanSource;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchServiceImplTest {
+
+    @Mock
+    private EmployeeScanSource employeeScanSource;
+
+    @InjectMocks
+    private EmployeeSearchServiceImpl employeeSearchService;
+
+    private final EmployeeSummaryDto john = new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro");
+    private final EmployeeSummaryDto jane = new EmployeeSummaryDto("jane@smith.com", "Jane", "Smith", "HR");
+    private final EmployeeSummaryDto joan = new EmployeeSummaryDto("joan@doe.com", "Joan", "Doe", "HR");
+
+    @BeforeEach
+    void setUp() {
+        Mockito.doAnswer(invocation -> {
+            Consumer<EmployeeSummaryDto> consumer = invocation.getArgument(0);
+            Stream.of(john, jane, joan).forEach(consumer);
+            return null;
+        }).when(employeeScanSource).forEachSummary(Mockito.any());
+        employeeSearchService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Search should match a case-insensitive prefix of first name, last name or email")
+    void search_byPrefix_shouldReturnMatches() {
+        Assertions.assertThat(employeeSearchService.search("JO", 10)).containsExactlyInAnyOrder(john, joan);
+        Assertions.assertThat(employeeSearchService.search("smi", 10)).containsExactly(jane);
+        Assertions.assertThat(employeeSearchService.search("jane@", 10)).containsExactly(jane);
+        Assertions.assertThat(employeeSearchService.search("x", 10)).isEmpty();
+        Assertions.assertThat(employeeSearchService.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Search with several words should require every word to match some field")
+    void search_withSeveralWords_shouldMatchAll() {
+        Assertions.assertThat(employeeSearchService.search("doe jo", 10)).containsExactlyInAnyOrder(john, joan);
+        Assertions.assertThat(employeeSearchService.search("joa doe", 10)).containsExactly(joan);
+    }
+
+    @Test
+    @DisplayName("Search should return each employee once and at most limit results")
+    void search_shouldDeduplicateAndLimit() {
+        // "jo" matches john and joan on both first name and email
+        Assertions.assertThat(employeeSearchService.search("j", 2)).hasSize(2).doesNotHaveDuplicates();
+        Assertions.assertThat(employeeSearchService.search("jo", 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Updates and deletes should replace and remove the indexed terms")
+    void onEmployeeChanged_shouldKeepIndexInSync() {
+        EmployeeSummaryDto renamed = new EmployeeSummaryDto("john@doe.com", "Johnny", "Walker", "Compro");
+        employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.updated(null, renamed));
+        Assertions.assertThat(employeeSearchService.search("walk", 10)).containsExactly(renamed);
+        Assertions.assertThat(employeeSearchService.search("doe", 10)).containsExactly(joan);
+        Assertions.assertThat(employeeSearchService.search("johnny", 10)).containsExactly(renamed);
+
+        employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.deleted("joan@doe.com", null));
+        Assertions.assertThat(employeeSearchService.search("joa", 10)).isEmpty();
+
+        EmployeeSummaryDto ada = new EmployeeSummaryDto("ada@lovelace.com", "Ada", "Lovelace", "Math");
+        employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.created(ada));
+        Assertions.assertThat(employeeSearchService.search("love", 10)).containsExactly(ada);
+    }
+
+    @Test
+    @DisplayName("A rebuild should keep serving the old index and not undo changes committed while it scans")
+    void rebuild_whenWritesArriveDuringScan_shouldKeepThem() {
+        EmployeeSummaryDto renamed = new EmployeeSummaryDto("john@doe.com", "Johnny", "Walker", "Compro");
+        Mockito.doAnswer(invocation -> {
+            Consumer<EmployeeSummaryDto> consumer = invocation.getArgument(0);
+            // the scan read its rows before these writes committed
+            Stream.of(john, jane, joan).forEach(consumer);
+            employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.updated(null, renamed));
+            employeeSearchService.onEmployeeChanged(EmployeeChangedEvent.deleted("joan@doe.com", null));
+            Assertions.assertThat(employeeSearchService.search("jane", 10)).containsExactly(jane);
+            return null;
+        }).when(employeeScanSource).forEachSummary(Mockito.any());
+
+        employeeSearchService.rebuild();
+
+        Assertions.assertThat(employeeSearchService.search("walk", 10)).containsExactly(renamed);
+        Assertions.assertThat(employeeSearchService.search("doe", 10)).isEmpty();
+        Assertions.assertThat(employeeSearchService.search("j", 10)).containsExactlyInAnyOrder(renamed, jane);
+    }
+}
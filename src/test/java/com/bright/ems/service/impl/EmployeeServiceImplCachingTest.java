@@ -0,0 +1,117 @@
+package com.bright.ems.service.impl;
+
+import com.bright.ems.config.CacheConfig;
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.model.Employee;
+import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+class EmployeeServiceImplCachingTest {
+
+    @MockitoBean
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL).clear();
+        employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@doe.com")
+                .departmentCode("Compro")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Repeated find by email should be served from the cache")
+    void findByEmail_whenCalledTwice_shouldHitRepositoryOnce() {
+        Mockito.when(employeeRepository.findProjectedByEmail("john@doe.com")).thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro")));
+        employeeService.findByEmail("john@doe.com");
+        Optional<EmployeeResponseDto> employeeResponseDto = employeeService.findByEmail("john@doe.com");
+        Assertions.assertThat(employeeResponseDto).contains(new EmployeeResponseDto("John", "Doe", "Compro"));
+        Mockito.verify(employeeRepository, Mockito.times(1)).findProjectedByEmail("john@doe.com");
+    }
+
+    @Test
+    @DisplayName("Missing employees should not be cached")
+    void findByEmail_whenMissing_shouldNotCacheEmptyResult() {
+        Mockito.when(employeeRepository.findProjectedByEmail("john@doe.com")).thenReturn(Optional.empty());
+        employeeService.findByEmail("john@doe.com");
+        employeeService.findByEmail("john@doe.com");
+        Mockito.verify(employeeRepository, Mockito.times(2)).findProjectedByEmail("john@doe.com");
+    }
+
+    @Test
+    @DisplayName("Partial update should evict the cached employee")
+    void updateEmployeePartially_shouldEvictCachedEmployee() {
+        Mockito.when(employeeRepository.findByEmail("john@doe.com")).thenReturn(Optional.of(employee));
+        Mockito.when(employeeRepository.findProjectedByEmail("john@doe.com"))
+                .thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro")))
+                .thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "HR")));
+        employeeService.findByEmail("john@doe.com");
+        employeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        Optional<EmployeeResponseDto> employeeResponseDto = employeeService.findByEmail("john@doe.com");
+        Assertions.assertThat(employeeResponseDto).contains(new EmployeeResponseDto("John", "Doe", "HR"));
+        Mockito.verify(employeeRepository, Mockito.times(2)).findProjectedByEmail("john@doe.com");
+    }
+
+    @Test
+    @DisplayName("Delete should evict the cached employee")
+    void deleteEmployee_shouldEvictCachedEmployee() {
+        Mockito.when(employeeRepository.findByEmail("john@doe.com")).thenReturn(Optional.of(employee));
+        Mockito.when(employeeRepository.findProjectedByEmail("john@doe.com"))
+                .thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro")))
+                .thenReturn(Optional.empty());
+        employeeService.findByEmail("john@doe.com");
+        employeeService.deleteEmployee("john@doe.com");
+        Assertions.assertThat(employeeService.findByEmail("john@doe.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A read that loaded the old row before a concurrent update committed should not put it back into the cache")
+    void findByEmail_whenUpdateCommitsDuringLoad_shouldNotCacheOldRow() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        Mockito.when(employeeRepository.findByEmail("john@doe.com")).thenReturn(Optional.of(employee));
+        Mockito.when(employeeRepository.findProjectedByEmail("john@doe.com"))
+                .thenAnswer(invocation -> {
+                    loaded.countDown();
+                    updated.await(5, TimeUnit.SECONDS);
+                    return Optional.of(new EmployeeResponseDto("John", "Doe", "Compro"));
+                })
+                .thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "HR")));
+
+        CompletableFuture<Optional<EmployeeResponseDto>> read = CompletableFuture.supplyAsync(() -> employeeService.findByEmail("john@doe.com"));
+        loaded.await(5, TimeUnit.SECONDS);
+        employeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        updated.countDown();
+
+        Assertions.assertThat(read.get(5, TimeUnit.SECONDS)).contains(new EmployeeResponseDto("John", "Doe", "Compro"));
+        Assertions.assertThat(employeeService.findByEmail("john@doe.com")).contains(new EmployeeResponseDto("John", "Doe", "HR"));
+        Mockito.verify(employeeRepository, Mockito.times(2)).findProjectedByEmail("john@doe.com");
+    }
+}
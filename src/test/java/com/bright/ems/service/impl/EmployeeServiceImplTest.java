@@ -2,12 +2,20 @@ package com.bright.ems.service.impl;
 
 import com.bright.ems.dto.request.EmployeePatchDto;
 import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
 import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.dto.response.EmployeeSummaryDto;
+import com.bright.ems.event.EmployeeChangedEvent;
 import com.bright.ems.exception.employee.DuplicateEmailException;
 import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.exception.employee.EmployeeVersionMismatchException;
 import com.bright.ems.model.Employee;
 import com.bright.ems.repository.EmployeeRepository;
+import com.bright.ems.service.EmployeeOutcome;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.assertj.core.api.Assertions;
 import org.hibernate.action.internal.EntityActionVetoException;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,9 +26,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +45,12 @@ class EmployeeServiceImplTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -63,6 +84,7 @@ class EmployeeServiceImplTest {
         Optional<EmployeeResponseDto> employeeResponseDto = employeeService.createEmployee(employeeRequestDto);
         assertTrue(employeeResponseDto.isPresent());
         Assertions.assertThat(employeeResponseDto.get()).isEqualTo(mapToEmployeeResponseDto(employee));
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.created(new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro")));
     }
 
     @Test
@@ -72,10 +94,84 @@ class EmployeeServiceImplTest {
         assertThrows(DuplicateEmailException.class, () -> employeeService.createEmployee(employeeRequestDto));
     }
 
+    @Test
+    @DisplayName("tryCreateEmployee when email exists should return Duplicate without saving")
+    void tryCreateEmployee_whenEmailExists_shouldReturnDuplicate() {
+        Mockito.when(employeeRepository.findByEmail(employeeRequestDto.email())).thenReturn(Optional.of(employee));
+        Assertions.assertThat(employeeService.tryCreateEmployee(employeeRequestDto)).isEqualTo(new EmployeeOutcome.Duplicate(employeeRequestDto.email()));
+        Mockito.verify(employeeRepository, Mockito.never()).save(Mockito.any(Employee.class));
+    }
+
+    @Test
+    @DisplayName("tryDeleteEmployee when email does not exist should return NotFound")
+    void tryDeleteEmployee_whenNotFound_shouldReturnNotFound() {
+        Mockito.when(employeeRepository.findByEmail(employeeRequestDto.email())).thenReturn(Optional.empty());
+        Assertions.assertThat(employeeService.tryDeleteEmployee(employeeRequestDto.email(), null)).isEqualTo(new EmployeeOutcome.NotFound(employeeRequestDto.email()));
+        Mockito.verify(employeeRepository, Mockito.never()).deleteByEmail(Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("Domain exceptions should not capture a stack trace")
+    void domainExceptions_shouldBeStackless() {
+        Assertions.assertThat(new EmployeeNotFoundException("a@ems.com").getStackTrace()).isEmpty();
+        Assertions.assertThat(new DuplicateEmailException("a@ems.com").getStackTrace()).isEmpty();
+        Assertions.assertThat(new EmployeeVersionMismatchException("a@ems.com", 1L).getStackTrace()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Domain exceptions thrown from an outcome should carry the same message as the outcome")
+    void orElseThrow_shouldThrowWithTheOutcomeMessage() {
+        EmployeeOutcome.NotFound notFound = new EmployeeOutcome.NotFound("a@ems.com");
+        EmployeeOutcome.Duplicate duplicate = new EmployeeOutcome.Duplicate("a@ems.com");
+
+        Assertions.assertThatThrownBy(notFound::orElseThrow).isInstanceOf(EmployeeNotFoundException.class).hasMessage(notFound.message());
+        Assertions.assertThatThrownBy(duplicate::orElseThrow).isInstanceOf(DuplicateEmailException.class).hasMessage("Employee already exists with email: a@ems.com");
+    }
+
+    @Test
+    @DisplayName("Create employees in batch should report created, duplicate and invalid items in input order")
+    void createEmployees_shouldReturnPerItemResults() {
+        EmployeeRequestDto existing = new EmployeeRequestDto("Jane", "Smith", "jane@smith.com", "HR");
+        EmployeeRequestDto repeated = new EmployeeRequestDto("Johnny", "Doe", "john@doe.com", "Compro");
+        EmployeeRequestDto invalid = new EmployeeRequestDto("", "Doe", "not-an-email", "Compro");
+        Validator realValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        Mockito.when(validator.validate(Mockito.any(EmployeeRequestDto.class))).thenAnswer(invocation -> realValidator.validate(invocation.getArgument(0)));
+        Mockito.when(employeeRepository.findExistingEmails(Mockito.anyCollection())).thenReturn(Set.of("jane@smith.com"));
+        Mockito.when(employeeRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<EmployeeBatchResultDto> results = employeeService.createEmployees(List.of(employeeRequestDto, existing, repeated, invalid));
+
+        Assertions.assertThat(results).extracting(EmployeeBatchResultDto::status).containsExactly(
+                EmployeeBatchResultDto.Status.CREATED,
+                EmployeeBatchResultDto.Status.DUPLICATE,
+                EmployeeBatchResultDto.Status.DUPLICATE,
+                EmployeeBatchResultDto.Status.INVALID
+        );
+        Assertions.assertThat(results.getFirst().employee()).isEqualTo(mapToEmployeeResponseDto(employee));
+        Assertions.assertThat(results.getLast().message()).contains("firstName", "email");
+        Mockito.verify(employeeRepository, Mockito.times(1)).findExistingEmails(List.of("john@doe.com", "jane@smith.com", "john@doe.com"));
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("Create employees in batch should report a null item as invalid instead of failing the batch")
+    void createEmployees_whenItemIsNull_shouldReportInvalid() {
+        Mockito.when(employeeRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<EmployeeBatchResultDto> results = employeeService.createEmployees(Arrays.asList(null, employeeRequestDto));
+
+        Assertions.assertThat(results).extracting(EmployeeBatchResultDto::status).containsExactly(
+                EmployeeBatchResultDto.Status.INVALID,
+                EmployeeBatchResultDto.Status.CREATED
+        );
+        Assertions.assertThat(results.getFirst().message()).contains("must not be null");
+        Mockito.verify(validator, Mockito.times(1)).validate(employeeRequestDto);
+    }
+
     @Test
     @DisplayName("Get all employees should return a list of DTOs")
     void getAllEmployees_shouldReturnEmployeeResponseDtos() {
-        Mockito.when(employeeRepository.findAll()).thenReturn(List.of(employee, anotherEmployee));
+        Mockito.when(employeeRepository.findAllProjectedBy()).thenReturn(List.of(mapToEmployeeResponseDto(employee), mapToEmployeeResponseDto(anotherEmployee)));
         List<EmployeeResponseDto> employeeResponseDtos = employeeService.getAllEmployees();
         Assertions.assertThat(employeeResponseDtos.size()).isEqualTo(2);
         Assertions.assertThat(employeeResponseDtos).containsExactly(mapToEmployeeResponseDto(employee), mapToEmployeeResponseDto(anotherEmployee));
@@ -83,10 +179,50 @@ class EmployeeServiceImplTest {
 //        Assertions.assertThat(employeeResponseDtos.get(1)).isEqualTo(mapToEmployeeResponseDto(anotherEmployee));
     }
 
+    @Test
+    @DisplayName("Get employees page should fetch one extra row and return the next cursor")
+    void getEmployees_whenMoreRowsExist_shouldReturnNextCursor() {
+        employee.setId(1L);
+        anotherEmployee.setId(2L);
+        Mockito.when(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(employee, anotherEmployee));
+        EmployeePageResponseDto employeePageResponseDto = employeeService.getEmployees(null, 1);
+        Assertions.assertThat(employeePageResponseDto.content()).containsExactly(mapToEmployeeResponseDto(employee));
+        Assertions.assertThat(employeePageResponseDto.nextCursor()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Get employees page on the last page should return no cursor")
+    void getEmployees_whenLastPage_shouldReturnNullCursor() {
+        anotherEmployee.setId(2L);
+        Mockito.when(employeeRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(3))).thenReturn(List.of(anotherEmployee));
+        EmployeePageResponseDto employeePageResponseDto = employeeService.getEmployees(1L, 2);
+        Assertions.assertThat(employeePageResponseDto.content()).containsExactly(mapToEmployeeResponseDto(anotherEmployee));
+        Assertions.assertThat(employeePageResponseDto.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Stream all employees should read page after page and hand every employee to the consumer")
+    void streamAllEmployees_shouldConsumeEachEmployee() {
+        employee.setId(1L);
+        anotherEmployee.setId(2L);
+        List<Employee> fullPage = new ArrayList<>();
+        for (int i = 0; i < EmployeeServiceImpl.STREAM_PAGE_SIZE - 1; i++) {
+            fullPage.add(employee);
+        }
+        fullPage.add(anotherEmployee);
+        Mockito.when(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(EmployeeServiceImpl.STREAM_PAGE_SIZE))).thenReturn(fullPage);
+        Mockito.when(employeeRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(EmployeeServiceImpl.STREAM_PAGE_SIZE))).thenReturn(List.of());
+        List<EmployeeResponseDto> employeeResponseDtos = new ArrayList<>();
+        employeeService.streamAllEmployees(employeeResponseDtos::add);
+        Assertions.assertThat(employeeResponseDtos).hasSize(EmployeeServiceImpl.STREAM_PAGE_SIZE)
+                .endsWith(new EmployeeResponseDto(anotherEmployee.getFirstName(), anotherEmployee.getLastName(), anotherEmployee.getDepartmentCode()));
+        Mockito.verify(employeeRepository, Mockito.times(2)).findByIdGreaterThanOrderByIdAsc(Mockito.anyLong(), Mockito.any(Limit.class));
+    }
+
     @Test
     @DisplayName("Find by email when exists should return dto")
     void findByEmail_whenExists_shouldReturnEmployeeResponseDto() {
-        Mockito.when(employeeRepository.findByEmail(employeeRequestDto.email())).thenReturn(Optional.of(employee));
+        Mockito.when(employeeRepository.findProjectedByEmail(employeeRequestDto.email())).thenReturn(Optional.of(mapToEmployeeResponseDto(employee)));
         Optional<EmployeeResponseDto> employeeResponseDto = employeeService.findByEmail(employeeRequestDto.email());
         Assertions.assertThat(employeeResponseDto).isPresent();
         Assertions.assertThat(employeeResponseDto.get()).isEqualTo(mapToEmployeeResponseDto(employee));
@@ -98,6 +234,7 @@ class EmployeeServiceImplTest {
         Mockito.when(employeeRepository.findByEmail(employeeRequestDto.email())).thenReturn(Optional.of(employee));
         employeeService.deleteEmployee(employeeRequestDto.email());
         Mockito.verify(employeeRepository, Mockito.times(1)).deleteByEmail(employeeRequestDto.email());
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(employeeRequestDto.email(), new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro")));
         Mockito.verify(employeeRepository).findByEmail(employeeRequestDto.email());
     }
 
@@ -112,7 +249,7 @@ class EmployeeServiceImplTest {
     @Test
     @DisplayName("Find employees by first name should return matching Dtos")
     void findEmployees_byFirstName_shouldReturnEmployeeResponseDtos() {
-        Mockito.when(employeeRepository.findByFirstNameIgnoreCase(employeeRequestDto.firstName())).thenReturn(List.of(employee));
+        Mockito.when(employeeRepository.findProjectedByFirstNameIgnoreCase(employeeRequestDto.firstName())).thenReturn(List.of(mapToEmployeeResponseDto(employee)));
         List<EmployeeResponseDto> employeeResponseDtos = employeeService.findByFirstName(employeeRequestDto.firstName());
         Assertions.assertThat(employeeResponseDtos.size()).isEqualTo(1);
         Assertions.assertThat(employeeResponseDtos).containsExactly(mapToEmployeeResponseDto(employee));
@@ -122,7 +259,7 @@ class EmployeeServiceImplTest {
     @Test
     @DisplayName("Find employees by last name should return matching Dtos")
     void findEmployees_byLastName_shouldReturnEmployeeResponseDtos() {
-        Mockito.when(employeeRepository.findByLastNameIgnoreCase(employeeRequestDto.lastName())).thenReturn(List.of(employee));
+        Mockito.when(employeeRepository.findProjectedByLastNameIgnoreCase(employeeRequestDto.lastName())).thenReturn(List.of(mapToEmployeeResponseDto(employee)));
         List<EmployeeResponseDto> employeeResponseDtos = employeeService.findByLastName(employeeRequestDto.lastName());
         Assertions.assertThat(employeeResponseDtos.size()).isEqualTo(1);
         Assertions.assertThat(employeeResponseDtos).containsExactly(mapToEmployeeResponseDto(employee));
@@ -132,7 +269,7 @@ class EmployeeServiceImplTest {
     @Test
     @DisplayName("Find employees by department code should return matching DTOs")
     void findEmployees_byDepartmentCode_shouldReturnEmployeeResponseDtos() {
-        Mockito.when(employeeRepository.findByDepartmentCodeIgnoreCase(employeeRequestDto.departmentCode())).thenReturn(List.of(employee));
+        Mockito.when(employeeRepository.findProjectedByDepartmentCodeIgnoreCase(employeeRequestDto.departmentCode())).thenReturn(List.of(mapToEmployeeResponseDto(employee)));
         List<EmployeeResponseDto> employeeResponseDtos = employeeService.findByDepartmentCode(employeeRequestDto.departmentCode());
         Assertions.assertThat(employeeResponseDtos.size()).isEqualTo(1);
         Assertions.assertThat(employeeResponseDtos).containsExactly(mapToEmployeeResponseDto(employee));
@@ -164,6 +301,90 @@ class EmployeeServiceImplTest {
         Assertions.assertThat(employeeResponseDto.get().departmentCode()).isEqualTo("Compro");
     }
 
+    @Test
+    @DisplayName("Batched partial updates should load all rows in one query and skip missing emails")
+    void updateEmployeesPartially_shouldPatchExistingEmployees() {
+        Map<String, EmployeePatchDto> patches = Map.of(
+                "john@doe.com", new EmployeePatchDto(null, null, "HR"),
+                "gone@doe.com", new EmployeePatchDto("Gone", null, null)
+        );
+        Mockito.when(employeeRepository.findByEmailIn(patches.keySet())).thenReturn(List.of(employee));
+
+        int updated = employeeService.updateEmployeesPartially(patches);
+
+        assertEquals(1, updated);
+        Assertions.assertThat(employee.getDepartmentCode()).isEqualTo("HR");
+        Assertions.assertThat(employee.getFirstName()).isEqualTo("John");
+        Mockito.verify(employeeRepository).flush();
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.updated(
+                new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro"),
+                new EmployeeSummaryDto("john@doe.com", "John", "Doe", "HR")));
+    }
+
+    @Test
+    @DisplayName("Delete employee in single-statement mode should issue one delete and publish the row it returned")
+    void deleteEmployee_singleStatement_shouldBulkDelete() {
+        ReflectionTestUtils.setField(employeeService, "singleStatementMutations", true);
+        Mockito.when(employeeRepository.deleteByEmailReturningPrevious(employeeRequestDto.email(), null)).thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro", 2L)));
+        employeeService.deleteEmployee(employeeRequestDto.email());
+        Mockito.verify(employeeRepository).deleteByEmailReturningPrevious(employeeRequestDto.email(), null);
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(employeeRequestDto.email(), new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro")));
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("Delete employee in single-statement mode should throw when there is no row to delete")
+    void deleteEmployee_singleStatement_whenNotFound_shouldThrowException() {
+        ReflectionTestUtils.setField(employeeService, "singleStatementMutations", true);
+        Mockito.when(employeeRepository.deleteByEmailReturningPrevious(employeeRequestDto.email(), null)).thenReturn(Optional.empty());
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployee(employeeRequestDto.email()));
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(Mockito.anyString());
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Partial patch in single-statement mode should merge the returned previous row and publish its department")
+    void updatePartially_singleStatement_shouldPublishPreviousDepartment() {
+        ReflectionTestUtils.setField(employeeService, "singleStatementMutations", true);
+        Mockito.when(employeeRepository.patchByEmailReturningPrevious(employeeRequestDto.email(), null, null, "HR", null)).thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro", 2L)));
+        Optional<EmployeeResponseDto> employeeResponseDto = employeeService.updateEmployeePartially(employeeRequestDto.email(), new EmployeePatchDto(null, null, "HR"));
+        Assertions.assertThat(employeeResponseDto).contains(new EmployeeResponseDto("John", "Doe", "HR", 3L));
+        Mockito.verify(eventPublisher).publishEvent(EmployeeChangedEvent.updated(
+                new EmployeeSummaryDto("john@doe.com", "John", "Doe", "Compro"),
+                new EmployeeSummaryDto("john@doe.com", "John", "Doe", "HR")));
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(Mockito.anyString());
+        Mockito.verify(employeeRepository, Mockito.never()).flush();
+    }
+
+    @Test
+    @DisplayName("Partial patch in single-statement mode should throw when there is no row to update")
+    void updatePartially_singleStatement_whenNotFound_shouldThrowException() {
+        ReflectionTestUtils.setField(employeeService, "singleStatementMutations", true);
+        Mockito.when(employeeRepository.patchByEmailReturningPrevious(employeeRequestDto.email(), "Bennett", null, null, null)).thenReturn(Optional.empty());
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.updateEmployeePartially(employeeRequestDto.email(), new EmployeePatchDto("Bennett", null, null)));
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(Mockito.anyString());
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Update employee with a stale expected version should throw and not save")
+    void updateEmployee_whenVersionStale_shouldThrowException() {
+        employee.setVersion(4L);
+        Mockito.when(employeeRepository.findByEmail(employeeRequestDto.email())).thenReturn(Optional.of(employee));
+        assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.updateEmployee(employeeRequestDto.email(), employeeRequestDto, 3L));
+        Mockito.verify(employeeRepository, Mockito.never()).save(Mockito.any(Employee.class));
+    }
+
+    @Test
+    @DisplayName("Delete employee in single-statement mode with a stale version should throw when the guarded delete matches nothing")
+    void deleteEmployee_singleStatement_whenVersionStale_shouldThrowException() {
+        ReflectionTestUtils.setField(employeeService, "singleStatementMutations", true);
+        Mockito.when(employeeRepository.deleteByEmailReturningPrevious(employeeRequestDto.email(), 3L)).thenReturn(Optional.empty());
+        assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.deleteEmployee(employeeRequestDto.email(), 3L));
+        Mockito.verify(employeeRepository, Mockito.never()).findByEmail(Mockito.anyString());
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
     private EmployeeResponseDto mapToEmployeeResponseDto(Employee employee) {
         return new EmployeeResponseDto(
                 employee.getFirstName(),
@@ -0,0 +1,43 @@
+package com.bright.ems.shard;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    @DisplayName("Virtual nodes should spread emails evenly over the shards")
+    void shardFor_shouldSpreadKeysEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 512);
+        int[] counts = new int[4];
+        IntStream.range(0, KEYS).forEach(i -> counts[ring.shardFor("employee" + i + "@ems.com")]++);
+
+        for (int count : counts) {
+            Assertions.assertThat(count).isBetween(KEYS / 4 * 90 / 100, KEYS / 4 * 110 / 100);
+        }
+    }
+
+    @Test
+    @DisplayName("Adding a shard should only move the keys it takes over, about 1/(N+1) of them")
+    void shardFor_afterAddingShard_shouldMoveOnlyKeysToNewShard() {
+        ConsistentHashRing three = new ConsistentHashRing(3, 512);
+        ConsistentHashRing four = new ConsistentHashRing(4, 512);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String email = "employee" + i + "@ems.com";
+            int before = three.shardFor(email);
+            int after = four.shardFor(email);
+            if (before != after) {
+                Assertions.assertThat(after).isEqualTo(3);
+                moved++;
+            }
+        }
+
+        Assertions.assertThat(moved).isBetween(KEYS * 20 / 100, KEYS * 30 / 100);
+    }
+}
@@ -0,0 +1,172 @@
+package com.bright.ems.shard;
+
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.request.EmployeeRequestDto;
+import com.bright.ems.dto.response.DepartmentStatsResponseDto;
+import com.bright.ems.dto.response.EmployeeBatchResultDto;
+import com.bright.ems.dto.response.EmployeePageResponseDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.service.EmployeeOutcome;
+import jakarta.validation.Validation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedEmployeeServiceTest {
+
+    private static final int VIRTUAL_NODES = 512;
+
+    private final String database = UUID.randomUUID().toString();
+    private final List<EmployeeShard> shards = new ArrayList<>();
+    private ShardedEmployeeService shardedEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        shardedEmployeeService = service(3);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        shardedEmployeeService.close();
+    }
+
+    @Test
+    @DisplayName("An employee should live on exactly one shard and be read, updated and deleted there")
+    void pointOperations_shouldUseOwningShard() {
+        shardedEmployeeService.createEmployee(new EmployeeRequestDto("John", "Doe", "john@doe.com", "Compro"));
+
+        assertEquals(1, shards.stream().filter(shard -> shard.findByEmail("john@doe.com").isPresent()).count());
+        assertTrue(shardedEmployeeService.shardFor("john@doe.com").findByEmail("john@doe.com").isPresent());
+        assertEquals(new EmployeeResponseDto("John", "Doe", "Compro", 0L), shardedEmployeeService.findByEmail("john@doe.com").orElseThrow());
+        assertInstanceOf(EmployeeOutcome.Duplicate.class, shardedEmployeeService.tryCreateEmployee(new EmployeeRequestDto("Jane", "Doe", "john@doe.com", "MBA")));
+
+        assertEquals(new EmployeeResponseDto("Johnny", "Doe", "Compro", 1L),
+                shardedEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto("Johnny", null, null), 0L).orElseThrow());
+        assertInstanceOf(EmployeeOutcome.VersionMismatch.class, shardedEmployeeService.tryDeleteEmployee("john@doe.com", 0L));
+        assertInstanceOf(EmployeeOutcome.Deleted.class, shardedEmployeeService.tryDeleteEmployee("john@doe.com", 1L));
+        assertTrue(shardedEmployeeService.findByEmail("john@doe.com").isEmpty());
+        assertInstanceOf(EmployeeOutcome.NotFound.class, shardedEmployeeService.tryUpdateEmployee("john@doe.com", new EmployeeRequestDto("J", "D", "john@doe.com", "X"), null));
+    }
+
+    @Test
+    @DisplayName("Batch creates should spread over the shards and list queries should gather from all of them")
+    void scatterGather_shouldMergeAllShards() {
+        List<EmployeeRequestDto> requests = new ArrayList<>(IntStream.range(0, 300)
+                .mapToObj(i -> new EmployeeRequestDto("First" + i, "Last" + i, "employee" + i + "@ems.com", "D" + (i % 3)))
+                .toList());
+        requests.add(new EmployeeRequestDto("Dup", "Licate", "employee7@ems.com", "D1"));
+        requests.add(new EmployeeRequestDto("", "Invalid", "invalid@ems.com", "D1"));
+
+        List<EmployeeBatchResultDto> results = shardedEmployeeService.createEmployees(requests);
+
+        assertEquals(300, results.stream().filter(result -> result.status() == EmployeeBatchResultDto.Status.CREATED).count());
+        assertEquals(EmployeeBatchResultDto.Status.DUPLICATE, results.get(300).status());
+        assertEquals(EmployeeBatchResultDto.Status.INVALID, results.get(301).status());
+        shards.forEach(shard -> Assertions.assertThat(shard.findAll()).hasSizeBetween(50, 150));
+        assertEquals(300, shardedEmployeeService.getAllEmployees().size());
+        assertEquals(100, shardedEmployeeService.findByDepartmentCode("d1").size());
+        assertEquals(List.of(new EmployeeResponseDto("First42", "Last42", "D0")), shardedEmployeeService.findByFirstName("FIRST42"));
+    }
+
+    @Test
+    @DisplayName("The import path should find taken emails and insert rows on the shard that owns each email")
+    void importPath_shouldUseOwningShards() {
+        shardedEmployeeService.createEmployee(new EmployeeRequestDto("John", "Doe", "john@doe.com", "Compro"));
+        List<EmployeeRequestDto> rows = IntStream.range(0, 30)
+                .mapToObj(i -> new EmployeeRequestDto("First" + i, "Last" + i, "employee" + i + "@ems.com", "D1"))
+                .toList();
+
+        assertEquals(Set.of("john@doe.com"), shardedEmployeeService.findExistingEmails(List.of("john@doe.com", "employee0@ems.com")));
+        assertEquals(30, shardedEmployeeService.insertEmployees(rows));
+
+        rows.forEach(row -> assertTrue(shardedEmployeeService.shardFor(row.email()).findByEmail(row.email()).isPresent()));
+        assertEquals(30, shardedEmployeeService.findExistingEmails(rows.stream().map(EmployeeRequestDto::email).toList()).size());
+        assertEquals(31, shardedEmployeeService.getAllEmployees().size());
+    }
+
+    @Test
+    @DisplayName("As the scan source, headcounts should sum over the shards and scans should see every shard's rows")
+    void scanSource_shouldCoverEveryShard() {
+        shardedEmployeeService.createEmployees(IntStream.range(0, 90)
+                .mapToObj(i -> new EmployeeRequestDto("First" + i, "Last" + i, "employee" + i + "@ems.com", "D" + (i % 2)))
+                .toList());
+
+        Assertions.assertThat(shardedEmployeeService.countByDepartmentCode()).containsExactlyInAnyOrder(
+                new DepartmentStatsResponseDto("D0", 45),
+                new DepartmentStatsResponseDto("D1", 45));
+        List<String> emails = new ArrayList<>();
+        shardedEmployeeService.forEachSummary(employee -> emails.add(employee.email()));
+        Assertions.assertThat(emails).hasSize(90).doesNotHaveDuplicates();
+        Assertions.assertThat(shardedEmployeeService.partitions()).hasSize(3);
+        EmployeeShard shard = shards.getFirst();
+        long minId = shard.findMinId().orElseThrow();
+        long scanned = shard.scan(minId, minId + 1, Stream::count);
+        assertEquals(1, scanned);
+    }
+
+    @Test
+    @DisplayName("Keyset pages should walk every shard's rows exactly once")
+    void getEmployees_shouldPageAcrossShards() {
+        shardedEmployeeService.createEmployees(IntStream.range(0, 95)
+                .mapToObj(i -> new EmployeeRequestDto("First" + i, "Last" + i, "employee" + i + "@ems.com", "D"))
+                .toList());
+
+        List<String> firstNames = new ArrayList<>();
+        Long cursor = null;
+        do {
+            EmployeePageResponseDto page = shardedEmployeeService.getEmployees(cursor, 10);
+            page.content().forEach(employee -> firstNames.add(employee.firstName()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        Assertions.assertThat(firstNames).hasSize(95).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Rebalancing onto a fourth shard should move only the rows the new ring assigns elsewhere")
+    void rebalance_toMoreShards_shouldMoveMisplacedRows() throws Exception {
+        shardedEmployeeService.createEmployees(IntStream.range(0, 1000)
+                .mapToObj(i -> new EmployeeRequestDto("First" + i, "Last" + i, "employee" + i + "@ems.com", "D"))
+                .toList());
+        shardedEmployeeService.updateEmployeePartially("employee1@ems.com", new EmployeePatchDto(null, null, "HR"));
+        shards.add(shard(3));
+
+        ShardRebalancer.Result result = new ShardRebalancer(shards, new ConsistentHashRing(4, VIRTUAL_NODES), 100).rebalance();
+
+        Assertions.assertThat(result.moved()).isBetween(150L, 350L);
+        assertEquals(result.moved(), shards.get(3).findAll().size());
+        assertEquals(0, new ShardRebalancer(shards, new ConsistentHashRing(4, VIRTUAL_NODES), 100).rebalance().moved());
+        try (ShardedEmployeeService fourShards = new ShardedEmployeeService(shards, new ConsistentHashRing(4, VIRTUAL_NODES),
+                Validation.buildDefaultValidatorFactory().getValidator(), Mockito.mock(ApplicationEventPublisher.class))) {
+            IntStream.range(0, 1000).forEach(i -> assertTrue(fourShards.findByEmail("employee" + i + "@ems.com").isPresent()));
+            assertEquals(new EmployeeResponseDto("First1", "Last1", "HR", 1L), fourShards.findByEmail("employee1@ems.com").orElseThrow());
+            assertEquals(1000, fourShards.getAllEmployees().size());
+        }
+    }
+
+    private ShardedEmployeeService service(int shardCount) {
+        IntStream.range(0, shardCount).forEach(i -> shards.add(shard(i)));
+        return new ShardedEmployeeService(shards, new ConsistentHashRing(shardCount, VIRTUAL_NODES),
+                Validation.buildDefaultValidatorFactory().getValidator(), Mockito.mock(ApplicationEventPublisher.class));
+    }
+
+    private EmployeeShard shard(int index) {
+        EmployeeShard shard = new EmployeeShard(index, new DriverManagerDataSource("jdbc:h2:mem:" + database + "-" + index + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        shard.initializeSchema();
+        return shard;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bright.ems.warmup;
+
+import com.bright.ems.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "ems.warm-up.iterations=3",
+        "ems.rate-limit.enabled=true",
+        "ems.rate-limit.reads.client-rate=1",
+        "ems.rate-limit.reads.client-burst=1"
+})
+@ActiveProfiles("prod")
+class ApplicationWarmUpTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ApplicationWarmUp applicationWarmUp;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("The prod profile should validate the SQL schema and warm up without leaving data behind")
+    void warmUp_shouldLeaveNoRows() {
+        assertNotNull(applicationWarmUp);
+        assertTrue(employeeRepository.findByEmailIn(List.of("employee0@warm-up.invalid", "employee2@warm-up.invalid")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Warm-up requests should bypass the rate limiter and stay out of the request and error metrics")
+    void warmUp_shouldLeaveNoRateLimitOrMetricTrace() {
+        // with a one-token read burst, rate-limited warm-up reads would have been counted as 429s
+        Assertions.assertThat(meterRegistry.find("ems.errors").counters()).isEmpty();
+        Assertions.assertThat(meterRegistry.find("http.server.requests").tag("uri", "/api/v1/employees/{email}").timers()).isEmpty();
+        Assertions.assertThat(meterRegistry.find("ems.http.statements").summaries()).isEmpty();
+    }
+}
@@ -0,0 +1,263 @@
+package com.bright.ems.writebehind;
+
+import com.bright.ems.config.CacheConfig;
+import com.bright.ems.dto.request.EmployeePatchDto;
+import com.bright.ems.dto.response.EmployeeResponseDto;
+import com.bright.ems.exception.employee.EmployeeNotFoundException;
+import com.bright.ems.service.impl.EmployeeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindEmployeeServiceTest {
+
+    @Mock
+    private EmployeeServiceImpl delegate;
+
+    @TempDir
+    private Path logDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES_BY_EMAIL);
+    private PatchLog patchLog;
+    private WriteBehindEmployeeService writeBehindEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        patchLog = new PatchLog(logDirectory, true, objectMapper);
+        writeBehindEmployeeService = newService(patchLog, 100);
+        Mockito.lenient().when(delegate.findByEmail("john@doe.com")).thenReturn(Optional.of(new EmployeeResponseDto("John", "Doe", "Compro", 0L)));
+    }
+
+    @Test
+    @DisplayName("Patches should be coalesced per email and visible to findByEmail before they are flushed")
+    void updateEmployeePartially_shouldCoalesceAndOverlayReads() {
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        Optional<EmployeeResponseDto> employeeResponseDto = writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto("Johnny", null, null));
+
+        assertEquals(Optional.of(new EmployeeResponseDto("Johnny", "Doe", "HR")), employeeResponseDto);
+        assertEquals(employeeResponseDto, writeBehindEmployeeService.findByEmail("john@doe.com"));
+        assertEquals(1, writeBehindEmployeeService.pendingCount());
+        Mockito.verify(delegate, Mockito.never()).updateEmployeesPartially(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("A flush should apply the coalesced patch once and drop the applied log segments")
+    void flush_shouldApplyCoalescedPatchesAndTruncateLog() throws IOException {
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto("Johnny", null, "Math"));
+
+        writeBehindEmployeeService.flush();
+
+        Mockito.verify(delegate).updateEmployeesPartially(Map.of("john@doe.com", new EmployeePatchDto("Johnny", null, "Math")));
+        assertEquals(0, writeBehindEmployeeService.pendingCount());
+        Assertions.assertThat(patchLog.replay()).isEmpty();
+        try (Stream<Path> segments = Files.list(logDirectory)) {
+            assertEquals(1, segments.count());
+        }
+    }
+
+    @Test
+    @DisplayName("A failed flush should rethrow, keep the patches pending and in the log and report the service down")
+    void flush_whenDatabaseFails_shouldKeepPatchesPending() {
+        Mockito.when(delegate.updateEmployeesPartially(ArgumentMatchers.any())).thenThrow(new CannotCreateTransactionException("database down"));
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+
+        assertThrows(CannotCreateTransactionException.class, writeBehindEmployeeService::flush);
+
+        assertEquals(1, writeBehindEmployeeService.pendingCount());
+        assertEquals(1, patchLog.replay().size());
+        assertEquals("HR", writeBehindEmployeeService.findByEmail("john@doe.com").orElseThrow().departmentCode());
+        assertEquals(Status.DOWN, new WriteBehindHealthIndicator(writeBehindEmployeeService).health().getStatus());
+    }
+
+    @Test
+    @DisplayName("A failed chunk should re-queue only itself and the chunks after it, not the committed ones")
+    void flush_whenLaterChunkFails_shouldRequeueOnlyUncommittedChunks() {
+        WriteBehindEmployeeService chunked = newService(patchLog, 100, 1, 10);
+        Mockito.when(delegate.findByEmail("jane@doe.com")).thenReturn(Optional.of(new EmployeeResponseDto("Jane", "Doe", "Compro", 0L)));
+        Mockito.when(delegate.updateEmployeesPartially(ArgumentMatchers.any())).thenReturn(1).thenThrow(new DataAccessResourceFailureException("database down")).thenReturn(1);
+        chunked.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        chunked.updateEmployeePartially("jane@doe.com", new EmployeePatchDto(null, null, "Math"));
+
+        assertThrows(DataAccessResourceFailureException.class, chunked::flush);
+        assertEquals(1, chunked.pendingCount());
+        chunked.flush();
+
+        ArgumentCaptor<Map<String, EmployeePatchDto>> chunks = ArgumentCaptor.captor();
+        Mockito.verify(delegate, Mockito.times(3)).updateEmployeesPartially(chunks.capture());
+        Assertions.assertThat(chunks.getAllValues().get(2)).isEqualTo(chunks.getAllValues().get(1));
+        Assertions.assertThat(chunks.getAllValues().get(0)).isNotEqualTo(chunks.getAllValues().get(1));
+        assertEquals(0, chunked.pendingCount());
+        assertEquals(0, chunked.consecutiveFailures());
+        Assertions.assertThat(patchLog.replay()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A rejected chunk should be applied row by row, holding back only the rejected patch and keeping it across a restart")
+    void flush_whenChunkRejected_shouldHoldBackOnlyTheRejectedPatch() {
+        Mockito.when(delegate.findByEmail("jane@doe.com")).thenReturn(Optional.of(new EmployeeResponseDto("Jane", "Doe", "Compro", 0L)));
+        Mockito.when(delegate.updateEmployeesPartially(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Map<String, EmployeePatchDto> chunk = invocation.getArgument(0);
+            if (chunk.containsKey("john@doe.com")) {
+                throw new DataIntegrityViolationException("constraint violated");
+            }
+            return chunk.size();
+        });
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        writeBehindEmployeeService.updateEmployeePartially("jane@doe.com", new EmployeePatchDto(null, null, "Math"));
+
+        writeBehindEmployeeService.flush();
+
+        Mockito.verify(delegate).updateEmployeesPartially(Map.of("jane@doe.com", new EmployeePatchDto(null, null, "Math")));
+        assertEquals(0, writeBehindEmployeeService.pendingCount());
+        assertEquals(1, writeBehindEmployeeService.heldBackCount());
+        assertEquals("HR", writeBehindEmployeeService.findByEmail("john@doe.com").orElseThrow().departmentCode());
+        Assertions.assertThat(patchLog.replay()).isEmpty();
+        Assertions.assertThat(patchLog.replayHeldBack()).containsExactly(new PatchLog.Entry("john@doe.com", new EmployeePatchDto(null, null, "HR")));
+
+        WriteBehindEmployeeService restarted = newService(new PatchLog(logDirectory, true, objectMapper), 100);
+        restarted.recover();
+        assertEquals("HR", restarted.findByEmail("john@doe.com").orElseThrow().departmentCode());
+    }
+
+    @Test
+    @DisplayName("A held-back patch should be retried, reported after maxAttempts, never dropped, and released once it applies")
+    void flush_whenPatchKeepsBeingRejected_shouldKeepRetryingIt() {
+        WriteBehindEmployeeService capped = newService(patchLog, 100, 500, 2, Duration.ZERO);
+        WriteBehindHealthIndicator healthIndicator = new WriteBehindHealthIndicator(capped);
+        Mockito.when(delegate.updateEmployeesPartially(ArgumentMatchers.any()))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"))
+                .thenReturn(1);
+        capped.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+
+        capped.flush();
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        capped.flush();
+        assertEquals(1, capped.stuckCount());
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+
+        capped.flush();
+        assertEquals(0, capped.heldBackCount());
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        Assertions.assertThat(patchLog.replayHeldBack()).isEmpty();
+        Mockito.verify(delegate, Mockito.times(5)).updateEmployeesPartially(Map.of("john@doe.com", new EmployeePatchDto(null, null, "HR")));
+    }
+
+    @Test
+    @DisplayName("A held-back patch should wait out its backoff, and newer patches for its email should wait with it")
+    void flush_whenHeldBackPatchNotDue_shouldNotRetryIt() {
+        WriteBehindEmployeeService backingOff = newService(patchLog, 100, 500, 10, Duration.ofMinutes(1));
+        Mockito.when(delegate.updateEmployeesPartially(ArgumentMatchers.any())).thenThrow(new DataIntegrityViolationException("constraint violated"));
+        backingOff.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        backingOff.flush();
+        backingOff.updateEmployeePartially("john@doe.com", new EmployeePatchDto("Johnny", null, null));
+
+        backingOff.flush();
+
+        Mockito.verify(delegate, Mockito.times(2)).updateEmployeesPartially(ArgumentMatchers.any());
+        assertEquals(0, backingOff.pendingCount());
+        Assertions.assertThat(patchLog.replayHeldBack()).containsExactly(new PatchLog.Entry("john@doe.com", new EmployeePatchDto("Johnny", null, "HR")));
+        assertEquals(Optional.of(new EmployeeResponseDto("Johnny", "Doe", "HR")), backingOff.findByEmail("john@doe.com"));
+    }
+
+    @Test
+    @DisplayName("findByEmail should keep the pending patch when a flush commits it during the read")
+    void findByEmail_whenFlushCommitsDuringRead_shouldStillOverlayPatch() {
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        // the row was read before the flush committed, the flush then clears pending and inFlight
+        Mockito.when(delegate.findByEmail("john@doe.com")).thenAnswer(invocation -> {
+            writeBehindEmployeeService.flush();
+            return Optional.of(new EmployeeResponseDto("John", "Doe", "Compro", 0L));
+        });
+
+        assertEquals("HR", writeBehindEmployeeService.findByEmail("john@doe.com").orElseThrow().departmentCode());
+        assertEquals(0, writeBehindEmployeeService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Patches acknowledged before a crash should be pending again after restart")
+    void recover_shouldReplayUnflushedPatches() {
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto("Johnny", null, null));
+
+        WriteBehindEmployeeService restarted = newService(new PatchLog(logDirectory, true, objectMapper), 100);
+        restarted.recover();
+
+        assertEquals(Optional.of(new EmployeeResponseDto("Johnny", "Doe", "HR")), restarted.findByEmail("john@doe.com"));
+        restarted.flush();
+        Mockito.verify(delegate).updateEmployeesPartially(Map.of("john@doe.com", new EmployeePatchDto("Johnny", null, "HR")));
+    }
+
+    @Test
+    @DisplayName("Reaching the pending limit should flush inline")
+    void updateEmployeePartially_whenPendingLimitReached_shouldFlush() {
+        WriteBehindEmployeeService bounded = newService(patchLog, 1);
+
+        bounded.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+
+        Mockito.verify(delegate).updateEmployeesPartially(Map.of("john@doe.com", new EmployeePatchDto(null, null, "HR")));
+        assertEquals(0, bounded.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Patching an unknown email should fail without logging the patch")
+    void updateEmployeePartially_whenNotFound_shouldThrowException() {
+        Mockito.when(delegate.findByEmail("nobody@doe.com")).thenReturn(Optional.empty());
+
+        assertThrows(EmployeeNotFoundException.class, () -> writeBehindEmployeeService.updateEmployeePartially("nobody@doe.com", new EmployeePatchDto("X", null, null)));
+        Assertions.assertThat(patchLog.replay()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Collection reads should drain pending patches first")
+    void getAllEmployees_shouldFlushFirst() {
+        writeBehindEmployeeService.updateEmployeePartially("john@doe.com", new EmployeePatchDto(null, null, "HR"));
+
+        writeBehindEmployeeService.getAllEmployees();
+
+        var inOrder = Mockito.inOrder(delegate);
+        inOrder.verify(delegate).updateEmployeesPartially(ArgumentMatchers.any());
+        inOrder.verify(delegate).getAllEmployees();
+    }
+
+    private WriteBehindEmployeeService newService(PatchLog patchLog, int maxPending) {
+        return newService(patchLog, maxPending, 500, 10);
+    }
+
+    private WriteBehindEmployeeService newService(PatchLog patchLog, int maxPending, int batchSize, int maxAttempts) {
+        return newService(patchLog, maxPending, batchSize, maxAttempts, Duration.ofMillis(200));
+    }
+
+    private WriteBehindEmployeeService newService(PatchLog patchLog, int maxPending, int batchSize, int maxAttempts, Duration flushInterval) {
+        return new WriteBehindEmployeeService(delegate, patchLog, cacheManager, maxPending, batchSize, maxAttempts, flushInterval);
+    }
+}